@@ -0,0 +1,44 @@
+#!/bin/bash
+
+# Recipe Manager Import Benchmark
+# Compares the bulk COPY import endpoint with one POST /api/recipes call per recipe.
+# Usage: ./scripts/benchmark-import.sh [recipe-count]
+echo "======================================"
+echo "Recipe Manager Import Benchmark"
+echo "======================================"
+echo ""
+
+BASE_URL="http://localhost:8080/api/recipes"
+COUNT=${1:-10000}
+DATA_FILE=$(mktemp)
+trap 'rm -f "$DATA_FILE"' EXIT
+
+echo "Generating $COUNT recipes..."
+for i in $(seq 1 "$COUNT"); do
+  echo "{\"name\":\"Benchmark Recipe $i\",\"vegetarian\":$([ $((i % 2)) -eq 0 ] && echo true || echo false),\"servings\":$((i % 8 + 1)),\"instructions\":\"Mix everything and bake in oven for $((i % 60)) minutes.\",\"ingredients\":[\"ingredient $((i % 500))\",\"ingredient $((i % 37))\",\"salt\"]}"
+done > "$DATA_FILE"
+echo ""
+
+echo "1. Bulk import (POST $BASE_URL/import)"
+echo "--------------------------------------"
+START=$(date +%s.%N)
+curl -s -X POST "$BASE_URL/import" \
+  -H "Content-Type: application/x-ndjson" \
+  --data-binary "@$DATA_FILE" | jq '{totalRows, importedRows, batches: (.batches | length), rejected: (.rejectedRows | length)}'
+END=$(date +%s.%N)
+BULK_SECONDS=$(echo "$END - $START" | bc)
+echo "Bulk import: $COUNT recipes in ${BULK_SECONDS}s ($(echo "$COUNT / $BULK_SECONDS" | bc) recipes/s)"
+echo ""
+
+echo "2. Per-row import (POST $BASE_URL)"
+echo "--------------------------------------"
+START=$(date +%s.%N)
+while IFS= read -r line; do
+  curl -s -o /dev/null -X POST "$BASE_URL" -H "Content-Type: application/json" -d "$line"
+done < "$DATA_FILE"
+END=$(date +%s.%N)
+ROW_SECONDS=$(echo "$END - $START" | bc)
+echo "Per-row import: $COUNT recipes in ${ROW_SECONDS}s ($(echo "$COUNT / $ROW_SECONDS" | bc) recipes/s)"
+echo ""
+
+echo "Speed-up: $(echo "scale=1; $ROW_SECONDS / $BULK_SECONDS" | bc)x"
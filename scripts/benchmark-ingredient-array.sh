@@ -0,0 +1,75 @@
+#!/bin/bash
+
+# Recipe Manager Ingredient Array Benchmark
+# Loads a synthetic dataset into a scratch schema and compares the query plans and timings of the
+# ingredient filters as RecipeSpecification builds them (one correlated EXISTS per ingredient on
+# recipe_ingredients) with the containment checks on the ingredient_terms array from
+# V5__recipe_ingredient_terms.sql.
+# Usage: ./scripts/benchmark-ingredient-array.sh [recipe-count]
+# Connection settings are taken from the standard PG* environment variables.
+echo "======================================"
+echo "Recipe Manager Ingredient Array Benchmark"
+echo "======================================"
+echo ""
+
+COUNT=${1:-1000000}
+SCHEMA=ingredient_array_benchmark
+PSQL="psql -X -q -v ON_ERROR_STOP=1"
+
+explain() {
+  $PSQL -c "SET search_path TO $SCHEMA; EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) $1" \
+    | grep -E "Scan|Join|Execution Time"
+}
+
+echo "Generating $COUNT recipes in schema $SCHEMA..."
+$PSQL <<SQL
+DROP SCHEMA IF EXISTS $SCHEMA CASCADE;
+CREATE SCHEMA $SCHEMA;
+SET search_path TO $SCHEMA, public;
+CREATE TABLE recipes (id BIGINT PRIMARY KEY, name TEXT NOT NULL, vegetarian BOOLEAN NOT NULL,
+                      servings INTEGER NOT NULL, instructions TEXT NOT NULL,
+                      ingredient_terms TEXT[] NOT NULL DEFAULT '{}');
+CREATE TABLE recipe_ingredients (recipe_id BIGINT NOT NULL REFERENCES recipes(id) ON DELETE CASCADE,
+                                 ingredient TEXT NOT NULL, PRIMARY KEY (recipe_id, ingredient));
+INSERT INTO recipes (id, name, vegetarian, servings, instructions)
+SELECT i, 'Recipe ' || i, i % 2 = 0, i % 8 + 1, 'Step ' || i
+FROM generate_series(1, $COUNT) AS i;
+INSERT INTO recipe_ingredients
+SELECT i, 'ingredient ' || (i % 5000) FROM generate_series(1, $COUNT) AS i
+UNION ALL
+SELECT i, 'salt' FROM generate_series(1, $COUNT) AS i
+UNION ALL
+SELECT i, 'saffron' FROM generate_series(1, $COUNT, 1000) AS i
+UNION ALL
+SELECT i, 'basil' FROM generate_series(1, $COUNT, 2000) AS i;
+UPDATE recipes r SET ingredient_terms = t.terms
+FROM (SELECT recipe_id, array_agg(DISTINCT lower(trim(ingredient))) AS terms
+      FROM recipe_ingredients GROUP BY recipe_id) t
+WHERE t.recipe_id = r.id;
+CREATE INDEX ON recipe_ingredients (recipe_id);
+CREATE INDEX ON recipes USING gin (ingredient_terms);
+ANALYZE recipes;
+ANALYZE recipe_ingredients;
+SQL
+echo ""
+
+echo "1. includeIngredients=saffron,salt&excludeIngredients=basil (EXISTS per ingredient)"
+echo "--------------------------------------"
+explain "SELECT r.id FROM recipes r
+         WHERE EXISTS (SELECT 1 FROM recipe_ingredients ri
+                       WHERE ri.recipe_id = r.id AND lower(ri.ingredient) LIKE '%saffron%')
+           AND EXISTS (SELECT 1 FROM recipe_ingredients ri
+                       WHERE ri.recipe_id = r.id AND lower(ri.ingredient) LIKE '%salt%')
+           AND NOT EXISTS (SELECT 1 FROM recipe_ingredients ri
+                           WHERE ri.recipe_id = r.id AND lower(ri.ingredient) LIKE '%basil%')"
+echo ""
+
+echo "2. Same filters with ingredientMatch=EXACT (array containment)"
+echo "--------------------------------------"
+explain "SELECT r.id FROM recipes r
+         WHERE r.ingredient_terms @> ARRAY['saffron', 'salt']
+           AND NOT r.ingredient_terms && ARRAY['basil']"
+echo ""
+
+$PSQL -c "DROP SCHEMA $SCHEMA CASCADE"
+echo "Done. Expect joins over recipe_ingredients in (1) and a single 'Bitmap Index Scan' in (2)."
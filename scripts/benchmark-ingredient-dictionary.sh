@@ -0,0 +1,73 @@
+#!/bin/bash
+
+# Recipe Manager Ingredient Dictionary Benchmark
+# Loads the same synthetic ingredients into the name-per-row recipe_ingredients layout and the
+# dictionary layout from V6__ingredient_dictionary.sql, then compares table and index sizes and
+# the plan of an ingredient filter resolved to dictionary ids.
+# Usage: ./scripts/benchmark-ingredient-dictionary.sh [recipe-count]
+# Connection settings are taken from the standard PG* environment variables.
+echo "======================================"
+echo "Recipe Manager Ingredient Dictionary Benchmark"
+echo "======================================"
+echo ""
+
+COUNT=${1:-1000000}
+SCHEMA=ingredient_dictionary_benchmark
+PSQL="psql -X -q -v ON_ERROR_STOP=1"
+
+echo "Generating $COUNT recipes in schema $SCHEMA..."
+$PSQL <<SQL
+DROP SCHEMA IF EXISTS $SCHEMA CASCADE;
+CREATE SCHEMA $SCHEMA;
+SET search_path TO $SCHEMA, public;
+CREATE TABLE recipes (id BIGINT PRIMARY KEY, name TEXT NOT NULL);
+CREATE TABLE recipe_ingredients (recipe_id BIGINT NOT NULL REFERENCES recipes(id) ON DELETE CASCADE,
+                                 ingredient TEXT NOT NULL, PRIMARY KEY (recipe_id, ingredient));
+CREATE TABLE ingredients (id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                          name TEXT NOT NULL UNIQUE);
+CREATE TABLE recipe_ingredient_ids (recipe_id BIGINT NOT NULL REFERENCES recipes(id) ON DELETE CASCADE,
+                                    ingredient_id INTEGER NOT NULL REFERENCES ingredients(id),
+                                    PRIMARY KEY (recipe_id, ingredient_id));
+INSERT INTO recipes SELECT i, 'Recipe ' || i FROM generate_series(1, $COUNT) AS i;
+INSERT INTO recipe_ingredients
+SELECT i, (ARRAY['tomato sauce', 'extra virgin olive oil', 'freshly ground black pepper',
+                 'garlic cloves', 'fresh flat-leaf parsley'])[n % 5 + 1] || ' ' || ((i + n) % 500)
+FROM generate_series(1, $COUNT) AS i, generate_series(1, 6) AS n;
+INSERT INTO ingredients (name) SELECT DISTINCT ingredient FROM recipe_ingredients;
+INSERT INTO recipe_ingredient_ids
+SELECT ri.recipe_id, i.id FROM recipe_ingredients ri JOIN ingredients i ON i.name = ri.ingredient;
+CREATE INDEX ON recipe_ingredient_ids (ingredient_id);
+VACUUM ANALYZE recipe_ingredients;
+VACUUM ANALYZE recipe_ingredient_ids;
+VACUUM ANALYZE ingredients;
+SQL
+echo ""
+
+echo "1. Storage"
+echo "--------------------------------------"
+$PSQL -c "SELECT relname AS table_name,
+                 pg_size_pretty(pg_table_size(oid)) AS heap,
+                 pg_size_pretty(pg_indexes_size(oid)) AS indexes
+          FROM pg_class
+          WHERE relnamespace = '$SCHEMA'::regnamespace
+            AND relname IN ('recipe_ingredients', 'recipe_ingredient_ids', 'ingredients')
+          ORDER BY relname"
+echo ""
+
+echo "2. includeIngredients=olive oil 7 (name LIKE on every row vs. resolved ids)"
+echo "--------------------------------------"
+$PSQL -c "SET search_path TO $SCHEMA; EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+          SELECT r.id FROM recipes r
+          WHERE EXISTS (SELECT 1 FROM recipe_ingredients ri
+                        WHERE ri.recipe_id = r.id AND lower(ri.ingredient) LIKE '%olive oil 7%')" \
+  | grep -E "Scan|Join|Execution Time"
+$PSQL -c "SET search_path TO $SCHEMA; EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+          SELECT r.id FROM recipes r
+          WHERE EXISTS (SELECT 1 FROM recipe_ingredient_ids ri
+                        WHERE ri.recipe_id = r.id AND ri.ingredient_id = ANY (ARRAY(
+                          SELECT id FROM ingredients WHERE lower(name) LIKE '%olive oil 7%')))" \
+  | grep -E "Scan|Join|Execution Time"
+echo ""
+
+$PSQL -c "DROP SCHEMA $SCHEMA CASCADE"
+echo "Done. Expect recipe_ingredient_ids plus ingredients to be a fraction of recipe_ingredients."
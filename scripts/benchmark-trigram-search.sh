@@ -0,0 +1,77 @@
+#!/bin/bash
+
+# Recipe Manager Trigram Search Benchmark
+# Loads a synthetic dataset into a scratch schema and compares the query plans and timings of the
+# substring filters with and without the pg_trgm GIN indexes from V3__trigram_indexes.sql.
+# Usage: ./scripts/benchmark-trigram-search.sh [recipe-count]
+# Connection settings are taken from the standard PG* environment variables.
+echo "======================================"
+echo "Recipe Manager Trigram Search Benchmark"
+echo "======================================"
+echo ""
+
+COUNT=${1:-1000000}
+SCHEMA=trgm_benchmark
+PSQL="psql -X -q -v ON_ERROR_STOP=1"
+
+explain() {
+  $PSQL -c "SET search_path TO $SCHEMA; EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) $1" \
+    | grep -E "Scan|Execution Time"
+}
+
+run_queries() {
+  echo "searchText=braise (instructions):"
+  explain "SELECT r.id FROM recipes r WHERE lower(r.instructions) LIKE '%braise%' ESCAPE '\\'"
+  echo ""
+  echo "includeIngredients=saffron (ingredients):"
+  explain "SELECT DISTINCT r.id FROM recipes r JOIN recipe_ingredients ri ON ri.recipe_id = r.id
+           WHERE lower(ri.ingredient) LIKE '%saffron%' ESCAPE '\\'"
+  echo ""
+}
+
+echo "Generating $COUNT recipes in schema $SCHEMA..."
+$PSQL <<SQL
+DROP SCHEMA IF EXISTS $SCHEMA CASCADE;
+CREATE SCHEMA $SCHEMA;
+SET search_path TO $SCHEMA, public;
+CREATE EXTENSION IF NOT EXISTS pg_trgm SCHEMA public;
+CREATE TABLE recipes (id BIGINT PRIMARY KEY, name TEXT NOT NULL, vegetarian BOOLEAN NOT NULL,
+                      servings INTEGER NOT NULL, instructions TEXT NOT NULL);
+CREATE TABLE recipe_ingredients (recipe_id BIGINT NOT NULL REFERENCES recipes(id) ON DELETE CASCADE,
+                                 ingredient TEXT NOT NULL, PRIMARY KEY (recipe_id, ingredient));
+INSERT INTO recipes
+SELECT i, 'Recipe ' || i, i % 2 = 0, i % 8 + 1,
+       'Step ' || i || ': ' || (ARRAY['bake','boil','fry','grill','roast','steam'])[i % 6 + 1]
+         || ' for ' || (i % 60) || ' minutes' || CASE WHEN i % 1000 = 0 THEN ', then braise' ELSE '' END
+FROM generate_series(1, $COUNT) AS i;
+INSERT INTO recipe_ingredients
+SELECT i, 'ingredient ' || (i % 5000) FROM generate_series(1, $COUNT) AS i
+UNION ALL
+SELECT i, 'salt' FROM generate_series(1, $COUNT) AS i
+UNION ALL
+SELECT i, 'saffron threads' FROM generate_series(1, $COUNT, 1000) AS i;
+ANALYZE recipes;
+ANALYZE recipe_ingredients;
+SQL
+echo ""
+
+echo "1. Without trigram indexes"
+echo "--------------------------------------"
+run_queries
+
+echo "Creating trigram indexes..."
+$PSQL <<SQL
+SET search_path TO $SCHEMA, public;
+CREATE INDEX ON recipes USING gin (lower(instructions) gin_trgm_ops);
+CREATE INDEX ON recipe_ingredients USING gin (lower(ingredient) gin_trgm_ops);
+ANALYZE recipes;
+ANALYZE recipe_ingredients;
+SQL
+echo ""
+
+echo "2. With trigram indexes"
+echo "--------------------------------------"
+run_queries
+
+$PSQL -c "DROP SCHEMA $SCHEMA CASCADE"
+echo "Done. Expect 'Seq Scan' in (1) and 'Bitmap Index Scan' in (2)."
@@ -0,0 +1,75 @@
+package org.amoscoats.recipemanager.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.amoscoats.recipemanager.dto.RecipeRequest;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.entity.Recipe;
+
+/** Deterministic synthetic recipes shared by the benchmarks. */
+final class BenchmarkData {
+
+  /** Ingredient vocabulary; recipes draw from it so ingredient filters have realistic hit rates. */
+  static final List<String> INGREDIENTS =
+      List.of(
+          "potatoes", "onions", "garlic", "tomato sauce", "pasta", "rice", "salmon", "chicken",
+          "beef", "tofu", "olive oil", "butter", "cream", "cheese", "basil", "oregano", "thyme",
+          "salt", "pepper", "lemon", "carrots", "celery", "mushrooms", "spinach", "eggs", "flour",
+          "sugar", "milk", "broth", "chili");
+
+  private static final List<String> METHODS =
+      List.of("bake in oven", "boil", "fry in pan", "grill", "roast", "steam", "simmer");
+
+  private BenchmarkData() {}
+
+  static RecipeRequest request(Random random, int index, int ingredientCount) {
+    Set<String> ingredients = new HashSet<>();
+    while (ingredients.size() < ingredientCount) {
+      String base = INGREDIENTS.get(random.nextInt(INGREDIENTS.size()));
+      // Beyond the vocabulary size, make names unique so large ingredient counts are reachable
+      String name = ingredientCount > INGREDIENTS.size() ? base + " " + ingredients.size() : base;
+      ingredients.add(name);
+    }
+    return new RecipeRequest(
+        "Benchmark Recipe " + index,
+        random.nextBoolean(),
+        1 + random.nextInt(8),
+        "Prepare everything, then "
+            + METHODS.get(random.nextInt(METHODS.size()))
+            + " for "
+            + (5 + random.nextInt(60))
+            + " minutes and serve.",
+        ingredients);
+  }
+
+  static Recipe recipe(Random random, long id, int ingredientCount) {
+    RecipeRequest request = request(random, (int) id, ingredientCount);
+    Recipe recipe = new Recipe();
+    recipe.setId(id);
+    recipe.setName(request.getName());
+    recipe.setVegetarian(request.getVegetarian());
+    recipe.setServings(request.getServings());
+    recipe.setInstructions(request.getInstructions());
+    recipe.setIngredients(new HashSet<>(request.getIngredients()));
+    return recipe;
+  }
+
+  static List<RecipeResponse> responses(Random random, int count, int ingredientCount) {
+    List<RecipeResponse> responses = new ArrayList<>(count);
+    for (int i = 1; i <= count; i++) {
+      RecipeRequest request = request(random, i, ingredientCount);
+      RecipeResponse response = new RecipeResponse();
+      response.setId((long) i);
+      response.setName(request.getName());
+      response.setVegetarian(request.getVegetarian());
+      response.setServings(request.getServings());
+      response.setInstructions(request.getInstructions());
+      response.setIngredients(request.getIngredients());
+      responses.add(response);
+    }
+    return responses;
+  }
+}
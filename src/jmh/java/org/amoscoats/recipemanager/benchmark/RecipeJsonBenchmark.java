@@ -0,0 +1,45 @@
+package org.amoscoats.recipemanager.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+/** Cost of serializing recipe listings as returned by {@code GET /api/recipes}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeJsonBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int recipeCount;
+
+  private List<RecipeResponse> recipes;
+  private JsonMapper jsonMapper;
+
+  @Setup
+  public void setUp() {
+    recipes = BenchmarkData.responses(new Random(42), recipeCount, 6);
+    jsonMapper = JsonMapper.builder().build();
+  }
+
+  @Benchmark
+  public byte[] serializeList() {
+    return jsonMapper.writeValueAsBytes(recipes);
+  }
+}
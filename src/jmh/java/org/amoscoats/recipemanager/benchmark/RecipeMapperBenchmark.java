@@ -0,0 +1,54 @@
+package org.amoscoats.recipemanager.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.amoscoats.recipemanager.dto.RecipeRequest;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.mapper.RecipeMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Cost of the MapStruct conversions done for every recipe read and written. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeMapperBenchmark {
+
+  @Param({"3", "10", "50"})
+  public int ingredientCount;
+
+  private final RecipeMapper recipeMapper = Mappers.getMapper(RecipeMapper.class);
+  private Recipe recipe;
+  private RecipeRequest request;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    recipe = BenchmarkData.recipe(random, 1L, ingredientCount);
+    request = BenchmarkData.request(random, 2, ingredientCount);
+  }
+
+  @Benchmark
+  public RecipeResponse toResponse() {
+    return recipeMapper.toResponse(recipe);
+  }
+
+  @Benchmark
+  public Recipe toEntity() {
+    return recipeMapper.toEntity(request);
+  }
+}
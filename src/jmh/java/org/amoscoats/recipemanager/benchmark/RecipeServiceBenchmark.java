@@ -0,0 +1,163 @@
+package org.amoscoats.recipemanager.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.amoscoats.recipemanager.RecipeManagerApplication;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.dto.RecipeField;
+import org.amoscoats.recipemanager.dto.RecipePage;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.index.IngredientDictionary;
+import org.amoscoats.recipemanager.repository.RecipeRepository;
+import org.amoscoats.recipemanager.service.RecipeService;
+import org.amoscoats.recipemanager.specification.RecipeSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * {@link RecipeService} read paths and {@link RecipeSpecification} predicate construction against
+ * the embedded H2 database of the {@code test} profile, seeded with {@code datasetSize} recipes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeServiceBenchmark {
+
+  private static final int SEED_BATCH_SIZE = 1000;
+
+  /** Fields shown by list views, which leave out instructions and ingredients. */
+  private static final Set<RecipeField> LIST_VIEW_FIELDS =
+      RecipeField.parse(List.of("name", "vegetarian", "servings"));
+
+  @Param({"1000", "10000"})
+  public int datasetSize;
+
+  private ConfigurableApplicationContext context;
+  private RecipeService recipeService;
+  private EntityManager entityManager;
+  private Long hotRecipeId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(RecipeManagerApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .properties("logging.level.root=warn", "logging.level.org.amoscoats=warn")
+            .run();
+    recipeService = context.getBean(RecipeService.class);
+    entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+
+    RecipeRepository recipeRepository = context.getBean(RecipeRepository.class);
+    IngredientDictionary ingredientDictionary = context.getBean(IngredientDictionary.class);
+    Random random = new Random(42);
+    List<Recipe> batch = new ArrayList<>(SEED_BATCH_SIZE);
+    for (int i = 1; i <= datasetSize; i++) {
+      Recipe recipe = BenchmarkData.recipe(random, i, 3 + random.nextInt(6));
+      recipe.setId(null);
+      ingredientDictionary.register(recipe.getIngredients());
+      batch.add(recipe);
+      if (batch.size() == SEED_BATCH_SIZE || i == datasetSize) {
+        recipeRepository.saveAll(batch);
+        batch.clear();
+      }
+    }
+    hotRecipeId = recipeRepository.findAll().get(0).getId();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManager.close();
+    context.close();
+  }
+
+  @Benchmark
+  public List<RecipeResponse> filterVegetarian() {
+    return recipeService.filterRecipes(true, null, null, null, null, IngredientMatch.CONTAINS);
+  }
+
+  @Benchmark
+  public List<RecipeResponse> filterIngredientsAndText() {
+    return recipeService.filterRecipes(
+        null, 4, Set.of("garlic"), Set.of("salmon", "chicken"), "oven", IngredientMatch.CONTAINS);
+  }
+
+  @Benchmark
+  public List<RecipeResponse> filterIngredientsContains() {
+    return recipeService.filterRecipes(
+        null, null, Set.of("garlic", "onions"), Set.of("salmon"), null, IngredientMatch.CONTAINS);
+  }
+
+  @Benchmark
+  public List<RecipeResponse> filterIngredientsExact() {
+    return recipeService.filterRecipes(
+        null, null, Set.of("garlic", "onions"), Set.of("salmon"), null, IngredientMatch.EXACT);
+  }
+
+  @Benchmark
+  public RecipePage firstPage() {
+    return recipeService.findRecipesPage(
+        true, null, Set.of("garlic"), null, null, IngredientMatch.CONTAINS, null, 20);
+  }
+
+  @Benchmark
+  public RecipePage firstPageListView() {
+    return recipeService.findRecipesProjected(
+        true,
+        null,
+        Set.of("garlic"),
+        null,
+        null,
+        IngredientMatch.CONTAINS,
+        LIST_VIEW_FIELDS,
+        null,
+        20);
+  }
+
+  @Benchmark
+  public RecipeResponse getRecipeByIdCached() {
+    return recipeService.getRecipeById(hotRecipeId);
+  }
+
+  @Benchmark
+  public Predicate buildFilterPredicate() {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Recipe> query = criteriaBuilder.createQuery(Recipe.class);
+    Root<Recipe> root = query.from(Recipe.class);
+    return RecipeSpecification.filterRecipes(
+            true,
+            4,
+            Set.of("garlic", "onions"),
+            Set.of("salmon"),
+            "oven",
+            IngredientMatch.CONTAINS)
+        .toPredicate(root, query, criteriaBuilder);
+  }
+}
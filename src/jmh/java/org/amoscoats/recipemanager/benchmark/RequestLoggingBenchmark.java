@@ -0,0 +1,137 @@
+package org.amoscoats.recipemanager.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.amoscoats.recipemanager.controller.RecipeController;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.logging.AccessLogFilter;
+import org.amoscoats.recipemanager.logging.AccessLogProperties;
+import org.amoscoats.recipemanager.service.RecipeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Logging cost of one filtered {@code GET /api/recipes} request on the request thread, with the
+ * per-call INFO logging of the controller and service ({@code perCallInfo}) and with the sampled
+ * access log ({@code sampledAccessLog}). Events are written to a discarding stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+  private static final String ROUTE = "/api/recipes";
+
+  /** Whether events are written on the request thread or handed to an asynchronous appender. */
+  @Param({"SYNC", "ASYNC"})
+  public String appender;
+
+  private final Logger controllerLog = LoggerFactory.getLogger(RecipeController.class);
+  private final Logger serviceLog = LoggerFactory.getLogger(RecipeService.class);
+
+  private final Set<String> includeIngredients = Set.of("tomato", "basil", "garlic");
+  private final Set<String> excludeIngredients = Set.of("salmon");
+
+  private LoggerContext loggerContext;
+  private AccessLogFilter accessLogFilter;
+  private MockHttpServletRequest request;
+
+  @Setup
+  public void setUp() {
+    loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    loggerContext.reset();
+
+    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(loggerContext);
+    encoder.setPattern("%d{ISO8601} %5level [%thread] %logger{36} : %msg %kvp%n");
+    encoder.start();
+    OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+    output.setContext(loggerContext);
+    output.setEncoder(encoder);
+    output.setOutputStream(OutputStream.nullOutputStream());
+    output.start();
+
+    Appender<ILoggingEvent> root = output;
+    if ("ASYNC".equals(appender)) {
+      AsyncAppender async = new AsyncAppender();
+      async.setContext(loggerContext);
+      async.setQueueSize(8192);
+      async.setNeverBlock(true);
+      async.addAppender(output);
+      async.start();
+      root = async;
+    }
+    ch.qos.logback.classic.Logger rootLogger =
+        loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+    rootLogger.setLevel(Level.INFO);
+    rootLogger.addAppender(root);
+
+    accessLogFilter =
+        new AccessLogFilter(
+            new AccessLogProperties(
+                true, 1.0, Map.of("GET " + ROUTE, 0.1), Duration.ofSeconds(1)));
+    request = new MockHttpServletRequest("GET", ROUTE);
+  }
+
+  @TearDown
+  public void tearDown() {
+    loggerContext.stop();
+  }
+
+  @Benchmark
+  public void perCallInfo() {
+    controllerLog.info(
+        "Filtering recipes with criteria - vegetarian: {}, servings: {}, includeIngredients: {},"
+            + " excludeIngredients: {}, searchText: {}, ingredientMatch: {}",
+        true,
+        4,
+        includeIngredients,
+        excludeIngredients,
+        "oven",
+        IngredientMatch.CONTAINS);
+    serviceLog.info(
+        "Filtering recipes with criteria - vegetarian: {}, servings: {}, includeIngredients: {},"
+            + " excludeIngredients: {}, searchText: {}, ingredientMatch: {}",
+        true,
+        4,
+        includeIngredients,
+        excludeIngredients,
+        "oven",
+        IngredientMatch.CONTAINS);
+    serviceLog.info("Found {} recipes matching filter criteria", 25);
+    controllerLog.info("Found {} recipes matching the filter criteria", 25);
+  }
+
+  @Benchmark
+  public void sampledAccessLog() {
+    serviceLog.debug("Filtering recipes by {}", includeIngredients);
+    serviceLog.debug("Found {} recipes matching filter criteria", 25);
+    accessLogFilter.record("GET", ROUTE, request, 200, 1_500_000);
+  }
+}
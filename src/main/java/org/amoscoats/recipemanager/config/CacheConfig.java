@@ -0,0 +1,54 @@
+package org.amoscoats.recipemanager.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the in-process recipe caches.
+ *
+ * <p>No caching annotations are used: {@code RecipeService} reads the {@value #RECIPES_CACHE}
+ * cache directly and stores what it loads through {@code RecipeCacheListener}, which also applies
+ * committed writes to it. The manager is still a Spring {@link CacheManager} so the caches are
+ * listed by {@code /actuator/caches} and published as {@code cache.*} metrics.
+ */
+@Slf4j
+@Configuration
+public class CacheConfig {
+
+  /** Cache of {@code RecipeResponse} by recipe id. */
+  public static final String RECIPES_CACHE = "recipes";
+
+  /**
+   * Creates the Caffeine cache manager. Caches are declared up front so their hit, miss and
+   * eviction statistics are bound to the {@code cache.*} metrics at startup.
+   *
+   * @param maximumSize maximum number of cached recipes
+   * @param expireAfterWrite time after which a cached recipe is reloaded
+   * @return configured cache manager
+   */
+  @Bean
+  public CacheManager cacheManager(
+      @Value("${recipe.cache.recipes.maximum-size:10000}") long maximumSize,
+      @Value("${recipe.cache.recipes.expire-after-write:10m}") Duration expireAfterWrite) {
+    log.info(
+        "Initializing recipe cache with maximum size {} and expiry {}",
+        maximumSize,
+        expireAfterWrite);
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    cacheManager.setCaffeine(
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats());
+    cacheManager.setCacheNames(List.of(RECIPES_CACHE));
+    cacheManager.setAllowNullValues(false);
+    return cacheManager;
+  }
+}
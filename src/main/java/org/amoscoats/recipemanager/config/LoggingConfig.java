@@ -0,0 +1,44 @@
+package org.amoscoats.recipemanager.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.logging.AccessLogFilter;
+import org.amoscoats.recipemanager.logging.AccessLogProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration for request logging.
+ *
+ * <p>Each API request is logged once by {@link AccessLogFilter}; controllers and services log
+ * per-request details at debug level only. Events are written through the asynchronous appender
+ * declared in {@code logback-spring.xml}.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class LoggingConfig {
+
+  /**
+   * Registers the access log filter for the API endpoints.
+   *
+   * @param properties sampling settings
+   * @return filter registration ordered ahead of the other filters so it times the whole request,
+   *     disabled if {@code recipe.access-log.enabled} is false
+   */
+  @Bean
+  public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AccessLogProperties properties) {
+    log.info(
+        "Initializing access log with default sample rate {} and {} endpoint rates",
+        properties.defaultSampleRate(),
+        properties.sampleRates().size());
+    FilterRegistrationBean<AccessLogFilter> registration =
+        new FilterRegistrationBean<>(new AccessLogFilter(properties));
+    registration.addUrlPatterns("/api/*");
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+    registration.setEnabled(properties.enabled());
+    return registration;
+  }
+}
@@ -0,0 +1,121 @@
+package org.amoscoats.recipemanager.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import javax.sql.DataSource;
+import org.amoscoats.recipemanager.metrics.JdbcStatementRecorder;
+import org.amoscoats.recipemanager.metrics.RecipeRepositoryMetrics;
+import org.amoscoats.recipemanager.metrics.RecipeServiceMetrics;
+import org.amoscoats.recipemanager.metrics.RequestStatisticsInterceptor;
+import org.amoscoats.recipemanager.metrics.SlowQueryLog;
+import org.amoscoats.recipemanager.service.RecipeService;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration for the recipe service and repository metrics and the per-request SQL statistics
+ * of the {@code hibernate} actuator endpoint.
+ *
+ * <p>The service timing advice is ordered ahead of the transaction advice, so the timings include
+ * opening and committing the transaction; cache hits, which {@link RecipeService} answers itself,
+ * are timed like any other call. The static infrastructure beans resolve their dependencies on
+ * first use, so declaring them does not initialize the meter registry or the slow query log early.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+  /**
+   * Times every public {@link RecipeService} method.
+   *
+   * @param meterRegistry registry the meters are registered with
+   * @return advisor applying {@link RecipeServiceMetrics}
+   */
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  public static Advisor recipeServiceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+    StaticMethodMatcherPointcut pointcut =
+        new StaticMethodMatcherPointcut() {
+          @Override
+          public boolean matches(Method method, Class<?> targetClass) {
+            return method.getDeclaringClass() == RecipeService.class
+                && Modifier.isPublic(method.getModifiers());
+          }
+        };
+    DefaultPointcutAdvisor advisor =
+        new DefaultPointcutAdvisor(
+            pointcut, new RecipeServiceMetrics(SingletonSupplier.of(meterRegistry::getObject)));
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return advisor;
+  }
+
+  /**
+   * Registers {@link RecipeRepositoryMetrics} with every Spring Data repository.
+   *
+   * @param meterRegistry registry the timers are registered with
+   * @return post processor customizing the repository factories
+   */
+  @Bean
+  public static BeanPostProcessor recipeRepositoryMetricsPostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    RecipeRepositoryMetrics listener =
+        new RecipeRepositoryMetrics(SingletonSupplier.of(meterRegistry::getObject));
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+          factoryBean.addRepositoryFactoryCustomizer(
+              factory -> factory.addInvocationListener(listener));
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Wraps the data source so statements are counted per request and slow ones are logged.
+   *
+   * @param slowQueryLog log receiving slow executions
+   * @return post processor wrapping every {@link DataSource}
+   */
+  @Bean
+  public static BeanPostProcessor jdbcStatementRecorderPostProcessor(
+      ObjectProvider<SlowQueryLog> slowQueryLog) {
+    JdbcStatementRecorder recorder =
+        new JdbcStatementRecorder(SingletonSupplier.of(slowQueryLog::getObject));
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? recorder.wrap(dataSource) : bean;
+      }
+    };
+  }
+
+  /**
+   * Registers the request statistics interceptor for the API endpoints.
+   *
+   * @param interceptor interceptor totalling statistics per request type
+   * @return MVC configurer adding the interceptor
+   */
+  @Bean
+  public WebMvcConfigurer requestStatisticsConfigurer(RequestStatisticsInterceptor interceptor) {
+    return new WebMvcConfigurer() {
+      @Override
+      public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+      }
+    };
+  }
+}
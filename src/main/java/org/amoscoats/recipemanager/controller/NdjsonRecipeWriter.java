@@ -0,0 +1,42 @@
+package org.amoscoats.recipemanager.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Writes recipes to an output stream as newline-delimited JSON.
+ *
+ * <p>The stream is flushed after the first record so clients receive data before the export
+ * query has finished, and periodically afterwards to keep the connection moving.
+ */
+class NdjsonRecipeWriter implements Consumer<RecipeResponse> {
+
+  private static final int FLUSH_INTERVAL = 1000;
+
+  private final OutputStream outputStream;
+  private final ObjectMapper objectMapper;
+  private long written;
+
+  NdjsonRecipeWriter(OutputStream outputStream, ObjectMapper objectMapper) {
+    this.outputStream = outputStream;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void accept(RecipeResponse recipe) {
+    try {
+      outputStream.write(objectMapper.writeValueAsBytes(recipe));
+      outputStream.write('\n');
+      written++;
+      if (written == 1 || written % FLUSH_INTERVAL == 0) {
+        outputStream.flush();
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to write recipe " + recipe.getId(), ex);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package org.amoscoats.recipemanager.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.dto.RecipeBulkRequest;
+import org.amoscoats.recipemanager.dto.RecipeBulkResponse;
+import org.amoscoats.recipemanager.service.RecipeBulkService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** REST controller for bulk recipe mutations. */
+@Slf4j
+@RestController
+@RequestMapping("/api/recipes/bulk")
+@RequiredArgsConstructor
+@Tag(name = "Recipe Bulk Operations", description = "APIs for applying many recipe changes at once")
+public class RecipeBulkController {
+
+  private final RecipeBulkService recipeBulkService;
+
+  /**
+   * Apply an ordered list of creates, updates and deletes POST /api/recipes/bulk.
+   *
+   * @param request operations and failure mode
+   * @return outcome of every operation
+   */
+  @Operation(
+      summary = "Apply many recipe operations",
+      description =
+          "Applies creates, updates and deletes in order, in chunked transactions. In"
+              + " ALL_OR_NOTHING mode any failed operation rolls back the whole request; in"
+              + " BEST_EFFORT mode failed operations are skipped. The outcome of every operation"
+              + " is reported with an HTTP style status")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Request processed",
+            content = @Content(schema = @Schema(implementation = RecipeBulkResponse.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "No operations or too many operations",
+            content = @Content)
+      })
+  @PostMapping
+  public ResponseEntity<RecipeBulkResponse> applyOperations(
+      @Parameter(description = "Operations to apply", required = true) @Valid @RequestBody
+          RecipeBulkRequest request) {
+    log.info(
+        "Received {} recipe operations in {} mode",
+        request.getOperations().size(),
+        request.getMode());
+    RecipeBulkResponse response = recipeBulkService.apply(request);
+    return ResponseEntity.ok(response);
+  }
+}
@@ -12,20 +12,32 @@ import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.dto.RecipeBatch;
+import org.amoscoats.recipemanager.dto.RecipeField;
+import org.amoscoats.recipemanager.dto.RecipePage;
+import org.amoscoats.recipemanager.dto.RecipePatchRequest;
 import org.amoscoats.recipemanager.dto.RecipeRequest;
 import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.dto.SearchMode;
 import org.amoscoats.recipemanager.service.RecipeService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 /** REST controller for recipe management operations. */
 @Slf4j
@@ -35,7 +47,17 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Recipe Management", description = "APIs for managing favorite recipes")
 public class RecipeController {
 
+  /** Response header carrying the cursor of the next page in paginated listings. */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  /** Response header carrying the number of recipes removed by a bulk delete. */
+  public static final String DELETED_COUNT_HEADER = "X-Deleted-Count";
+
+  /** Media type of JSON Merge Patch documents (RFC 7396). */
+  public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
   private final RecipeService recipeService;
+  private final ObjectMapper objectMapper;
 
   /**
    * Create a new recipe POST /api/recipes.
@@ -63,11 +85,10 @@ public class RecipeController {
   public ResponseEntity<RecipeResponse> createRecipe(
       @Parameter(description = "Recipe details to create", required = true) @Valid @RequestBody
           RecipeRequest request) {
-    log.info("Creating new recipe with name: {}", request.getName());
-    log.debug("Recipe details: {}", request);
     RecipeResponse response = recipeService.createRecipe(request);
-    log.info("Successfully created recipe with id: {}", response.getId());
-    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .eTag(RecipeEntityTags.of(response.getVersion()))
+        .body(response);
   }
 
   /**
@@ -75,11 +96,14 @@ public class RecipeController {
    *
    * @param id recipe ID
    * @param request updated recipe details
+   * @param ifMatch entity tag the client last saw, to update only if the recipe is unchanged
    * @return updated recipe response
    */
   @Operation(
       summary = "Update an existing recipe",
-      description = "Updates all fields of an existing recipe identified by its ID")
+      description =
+          "Updates all fields of an existing recipe identified by its ID. With If-Match, the"
+              + " update only happens if the recipe still has that ETag")
   @ApiResponses(
       value = {
         @ApiResponse(
@@ -93,60 +117,236 @@ public class RecipeController {
         @ApiResponse(
             responseCode = "404",
             description = "Recipe not found",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Recipe changed since the If-Match ETag",
             content = @Content)
       })
   @PutMapping("/{id}")
   public ResponseEntity<RecipeResponse> updateRecipe(
       @Parameter(description = "Recipe ID", required = true, example = "1") @PathVariable Long id,
       @Parameter(description = "Updated recipe details", required = true) @Valid @RequestBody
-          RecipeRequest request) {
-    log.info("Updating recipe with id: {}", id);
-    log.debug("Updated recipe details: {}", request);
-    RecipeResponse response = recipeService.updateRecipe(id, request);
-    log.info("Successfully updated recipe with id: {}", id);
-    return ResponseEntity.ok(response);
+          RecipeRequest request,
+      @Parameter(description = "Update only if the recipe still has this ETag", example = "\"3\"")
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          String ifMatch) {
+    RecipeResponse response =
+        recipeService.updateRecipe(id, request, RecipeEntityTags.requiredVersion(ifMatch));
+    return ResponseEntity.ok().eTag(RecipeEntityTags.of(response.getVersion())).body(response);
+  }
+
+  /**
+   * Partially update a recipe PATCH /api/recipes/{id}.
+   *
+   * @param id recipe ID
+   * @param patch JSON merge patch with the fields to change
+   * @param ifMatch entity tag the client last saw, to patch only if the recipe is unchanged
+   * @return updated recipe response
+   */
+  @Operation(
+      summary = "Partially update a recipe",
+      description =
+          "Applies a JSON Merge Patch (RFC 7396) to an existing recipe. Omitted fields are left"
+              + " unchanged; a provided ingredients list replaces the current one. Fields cannot"
+              + " be removed, so null members are rejected. With If-Match, the patch only applies"
+              + " if the recipe still has that ETag")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Recipe updated successfully",
+            content = @Content(schema = @Schema(implementation = RecipeResponse.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input data",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Recipe not found",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Recipe changed since the If-Match ETag",
+            content = @Content)
+      })
+  @PatchMapping(
+      value = "/{id}",
+      consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<RecipeResponse> patchRecipe(
+      @Parameter(description = "Recipe ID", required = true, example = "1") @PathVariable Long id,
+      @Parameter(description = "Fields to change", required = true) @Valid @RequestBody
+          RecipePatchRequest patch,
+      @Parameter(description = "Patch only if the recipe still has this ETag", example = "\"3\"")
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          String ifMatch) {
+    RecipeResponse response =
+        recipeService.patchRecipe(id, patch, RecipeEntityTags.requiredVersion(ifMatch));
+    return ResponseEntity.ok().eTag(RecipeEntityTags.of(response.getVersion())).body(response);
   }
 
   /**
    * Delete a recipe DELETE /api/recipes/{id}.
    *
    * @param id recipe ID to delete
+   * @param ifMatch entity tag the client last saw, to delete only if the recipe is unchanged
    * @return no content response
    */
-  @Operation(summary = "Delete a recipe", description = "Deletes a recipe identified by its ID")
+  @Operation(
+      summary = "Delete a recipe",
+      description =
+          "Deletes a recipe identified by its ID. With If-Match, the recipe is only deleted if it"
+              + " still has that ETag")
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "204", description = "Recipe deleted successfully"),
         @ApiResponse(
             responseCode = "404",
             description = "Recipe not found",
+            content = @Content),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Recipe changed since the If-Match ETag",
             content = @Content)
       })
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> deleteRecipe(
       @Parameter(description = "Recipe ID to delete", required = true, example = "1")
-          @PathVariable Long id) {
-    log.info("Deleting recipe with id: {}", id);
-    recipeService.deleteRecipe(id);
-    log.info("Successfully deleted recipe with id: {}", id);
+          @PathVariable Long id,
+      @Parameter(description = "Delete only if the recipe still has this ETag", example = "\"3\"")
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          String ifMatch) {
+    recipeService.deleteRecipe(id, RecipeEntityTags.requiredVersion(ifMatch));
     return ResponseEntity.noContent().build();
   }
 
+  /**
+   * Delete several recipes DELETE /api/recipes?ids=.
+   *
+   * @param ids recipe IDs to delete
+   * @return no content response carrying the number of deleted recipes
+   */
+  @Operation(
+      summary = "Delete several recipes",
+      description =
+          "Deletes the recipes with the given IDs in a single statement. Unknown IDs are ignored;"
+              + " the number of deleted recipes is returned in the "
+              + DELETED_COUNT_HEADER
+              + " header")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "204", description = "Recipes deleted"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Too many IDs",
+            content = @Content)
+      })
+  @DeleteMapping(params = "ids")
+  public ResponseEntity<Void> deleteRecipes(
+      @Parameter(
+              description =
+                  "Recipe IDs to delete, at most " + RecipeService.MAX_BULK_DELETE_SIZE,
+              required = true,
+              example = "1,2,3")
+          @RequestParam
+          Set<Long> ids) {
+    int deleted = recipeService.deleteRecipes(ids);
+    return ResponseEntity.noContent()
+        .header(DELETED_COUNT_HEADER, String.valueOf(deleted))
+        .build();
+  }
+
+  /**
+   * Export recipes as newline-delimited JSON GET /api/recipes/export.
+   *
+   * <p>Accepts the same filters as {@link #getRecipes}. Recipes are streamed from a database
+   * cursor as they are read, so memory use is constant and the first line is sent before the
+   * query has finished.
+   *
+   * @param vegetarian filter by vegetarian status
+   * @param servings filter by number of servings
+   * @param includeIngredients include recipes with these ingredients
+   * @param excludeIngredients exclude recipes with these ingredients
+   * @param searchText search text within instructions
+   * @param ingredientMatch how ingredient filters are matched
+   * @return streaming NDJSON response body
+   */
+  @Operation(
+      summary = "Export recipes as NDJSON",
+      description =
+          "Streams all recipes matching the optional filters as newline-delimited JSON, one"
+              + " recipe per line, ordered by ID")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Recipes streamed successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE))
+      })
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportRecipes(
+      @Parameter(description = "Filter by vegetarian status", example = "true")
+          @RequestParam(required = false)
+          Boolean vegetarian,
+      @Parameter(description = "Filter by number of servings", example = "4")
+          @RequestParam(required = false)
+          Integer servings,
+      @Parameter(
+              description = "Include recipes with these ingredients (comma-separated)",
+              example = "potatoes,onions")
+          @RequestParam(required = false)
+          Set<String> includeIngredients,
+      @Parameter(
+              description = "Exclude recipes with these ingredients (comma-separated)",
+              example = "salmon,chicken")
+          @RequestParam(required = false)
+          Set<String> excludeIngredients,
+      @Parameter(description = "Search text within cooking instructions", example = "oven")
+          @RequestParam(required = false)
+          String searchText,
+      @Parameter(
+              description = "How ingredient filters are matched: substring or whole name",
+              example = "EXACT")
+          @RequestParam(defaultValue = "CONTAINS")
+          IngredientMatch ingredientMatch) {
+    StreamingResponseBody body =
+        outputStream ->
+            recipeService.exportRecipes(
+                vegetarian,
+                servings,
+                includeIngredients,
+                excludeIngredients,
+                searchText,
+                ingredientMatch,
+                new NdjsonRecipeWriter(outputStream, objectMapper));
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
   /**
    * Get a single recipe by ID GET /api/recipes/{id}.
    *
+   * <p>The response carries the recipe version as a strong ETag. A request whose {@code
+   * If-None-Match} names the current version is answered with 304 Not Modified and no body.
+   *
    * @param id recipe ID
-   * @return recipe response
+   * @param ifNoneMatch entity tags of the versions the client already holds
+   * @return recipe response, or not modified
    */
   @Operation(
       summary = "Get a recipe by ID",
-      description = "Retrieves a single recipe by its unique identifier")
+      description =
+          "Retrieves a single recipe by its unique identifier. Returns 304 Not Modified if"
+              + " If-None-Match names the current ETag")
   @ApiResponses(
       value = {
         @ApiResponse(
             responseCode = "200",
             description = "Recipe found",
             content = @Content(schema = @Schema(implementation = RecipeResponse.class))),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Recipe unchanged since the If-None-Match ETag",
+            content = @Content),
         @ApiResponse(
             responseCode = "404",
             description = "Recipe not found",
@@ -154,11 +354,57 @@ public class RecipeController {
       })
   @GetMapping("/{id}")
   public ResponseEntity<RecipeResponse> getRecipeById(
-      @Parameter(description = "Recipe ID", required = true, example = "1") @PathVariable Long id) {
-    log.info("Fetching recipe with id: {}", id);
+      @Parameter(description = "Recipe ID", required = true, example = "1") @PathVariable Long id,
+      @Parameter(description = "ETags of the versions the client holds", example = "\"3\"")
+          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+          String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+      // Decided from the version alone: cached recipes need no query and uncached ones only read
+      // the version column, so an unchanged recipe is never loaded or mapped
+      long version = recipeService.getRecipeVersion(id);
+      if (RecipeEntityTags.noneMatchHit(ifNoneMatch, version)) {
+        log.debug("Recipe {} not modified since version {}", id, version);
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(RecipeEntityTags.of(version))
+            .build();
+      }
+    }
     RecipeResponse response = recipeService.getRecipeById(id);
-    log.debug("Retrieved recipe: {}", response);
-    return ResponseEntity.ok(response);
+    return ResponseEntity.ok().eTag(RecipeEntityTags.of(response.getVersion())).body(response);
+  }
+
+  /**
+   * Get several recipes by ID POST /api/recipes/batch-get.
+   *
+   * @param ids recipe IDs to fetch
+   * @return the recipes found in request order and the IDs that do not exist
+   */
+  @Operation(
+      summary = "Get several recipes by ID",
+      description =
+          "Fetches the recipes with the given IDs in one call. Recipes are returned in request"
+              + " order; IDs without a recipe are listed in missingIds instead of failing the"
+              + " request")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Recipes retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RecipeBatch.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Too many IDs",
+            content = @Content)
+      })
+  @PostMapping("/batch-get")
+  public ResponseEntity<RecipeBatch> getRecipesByIds(
+      @Parameter(
+              description = "Recipe IDs to fetch, at most " + RecipeService.MAX_BATCH_GET_SIZE,
+              required = true)
+          @RequestBody
+          List<Long> ids) {
+    RecipeBatch batch = recipeService.getRecipesByIds(ids);
+    return ResponseEntity.ok(batch);
   }
 
   /**
@@ -173,11 +419,31 @@ public class RecipeController {
    * /api/recipes?servings=4&amp;includeIngredients=potatoes (recipes for 4 with potatoes) - GET
    * /api/recipes?excludeIngredients=salmon&amp;searchText=oven (no salmon, mentions oven)
    *
+   * <p>Supplying {@code limit} or {@code cursor} switches to cursor pagination: recipes are
+   * ordered by id, at most {@code limit} are returned and the cursor of the next page is sent in
+   * the {@value #NEXT_CURSOR_HEADER} response header.
+   *
+   * <p>With {@code searchMode=FULL_TEXT}, {@code searchText} is a web search style query over the
+   * name, ingredients and instructions (PostgreSQL only). Results are ordered by relevance and
+   * always paginated.
+   *
+   * <p>With {@code ingredientMatch=EXACT}, ingredient filters match whole ingredient names (case
+   * and surrounding whitespace ignored) instead of substrings.
+   *
+   * <p>{@code fields} limits the response to the listed fields (the id is always included). The
+   * database query then selects only those columns and skips the ingredient fetch unless
+   * ingredients are listed; results are ordered by id.
+   *
    * @param vegetarian filter by vegetarian status
    * @param servings filter by number of servings
    * @param includeIngredients include recipes with these ingredients
    * @param excludeIngredients exclude recipes with these ingredients
    * @param searchText search text within instructions
+   * @param searchMode how searchText is matched
+   * @param ingredientMatch how ingredient filters are matched
+   * @param cursor opaque cursor of the page to fetch
+   * @param limit maximum number of recipes per page
+   * @param fields response fields to include
    * @return list of recipe responses
    */
   @Operation(
@@ -191,7 +457,11 @@ public class RecipeController {
         @ApiResponse(
             responseCode = "200",
             description = "Recipes retrieved successfully",
-            content = @Content(schema = @Schema(implementation = RecipeResponse.class)))
+            content = @Content(schema = @Schema(implementation = RecipeResponse.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor, limit, search mode or field",
+            content = @Content)
       })
   @GetMapping
   public ResponseEntity<List<RecipeResponse>> getRecipes(
@@ -213,32 +483,112 @@ public class RecipeController {
           Set<String> excludeIngredients,
       @Parameter(description = "Search text within cooking instructions", example = "oven")
           @RequestParam(required = false)
-          String searchText) {
+          String searchText,
+      @Parameter(description = "How searchText is matched", example = "FULL_TEXT")
+          @RequestParam(defaultValue = "SUBSTRING")
+          SearchMode searchMode,
+      @Parameter(
+              description = "How ingredient filters are matched: substring or whole name",
+              example = "EXACT")
+          @RequestParam(defaultValue = "CONTAINS")
+          IngredientMatch ingredientMatch,
+      @Parameter(description = "Opaque cursor returned in the X-Next-Cursor header")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Maximum number of recipes per page", example = "20")
+          @RequestParam(required = false)
+          Integer limit,
+      @Parameter(
+              description =
+                  "Response fields to include (comma-separated); the id is always included",
+              example = "name,vegetarian,servings")
+          @RequestParam(required = false)
+          Set<String> fields) {
+    Set<RecipeField> selectedFields =
+        fields == null || fields.isEmpty() ? null : RecipeField.parse(fields);
+    if (selectedFields != null && searchMode != SearchMode.FULL_TEXT) {
+      RecipePage page =
+          recipeService.findRecipesProjected(
+              vegetarian,
+              servings,
+              includeIngredients,
+              excludeIngredients,
+              searchText,
+              ingredientMatch,
+              selectedFields,
+              cursor,
+              limit);
+      return pageResponse(page.recipes(), page.nextCursor());
+    }
+
+    if (searchMode == SearchMode.FULL_TEXT || cursor != null || limit != null) {
+      RecipePage page =
+          searchMode == SearchMode.FULL_TEXT
+              ? recipeService.searchRecipesPage(
+                  vegetarian,
+                  servings,
+                  includeIngredients,
+                  excludeIngredients,
+                  searchText,
+                  ingredientMatch,
+                  cursor,
+                  limit)
+              : recipeService.findRecipesPage(
+                  vegetarian,
+                  servings,
+                  includeIngredients,
+                  excludeIngredients,
+                  searchText,
+                  ingredientMatch,
+                  cursor,
+                  limit);
+      List<RecipeResponse> recipes = page.recipes();
+      if (selectedFields != null) {
+        // Ranked search loads whole recipes; trim them so serialization omits the rest
+        recipes = recipes.stream().map(recipe -> selectFields(recipe, selectedFields)).toList();
+      }
+      return pageResponse(recipes, page.nextCursor());
+    }
+
     // If no filters provided, return all recipes
     if (vegetarian == null
         && servings == null
         && (includeIngredients == null || includeIngredients.isEmpty())
         && (excludeIngredients == null || excludeIngredients.isEmpty())
         && (searchText == null || searchText.isEmpty())) {
-      log.info("Fetching all recipes");
       List<RecipeResponse> recipes = recipeService.getAllRecipes();
-      log.info("Retrieved {} recipes", recipes.size());
       return ResponseEntity.ok(recipes);
     }
 
     // Otherwise, apply filters
-    log.info(
-        "Filtering recipes with criteria - vegetarian: {}, servings: {}, includeIngredients: {},"
-            + " excludeIngredients: {}, searchText: {}",
-        vegetarian,
-        servings,
-        includeIngredients,
-        excludeIngredients,
-        searchText);
     List<RecipeResponse> recipes =
         recipeService.filterRecipes(
-            vegetarian, servings, includeIngredients, excludeIngredients, searchText);
-    log.info("Found {} recipes matching the filter criteria", recipes.size());
+            vegetarian,
+            servings,
+            includeIngredients,
+            excludeIngredients,
+            searchText,
+            ingredientMatch);
     return ResponseEntity.ok(recipes);
   }
+
+  private static ResponseEntity<List<RecipeResponse>> pageResponse(
+      List<RecipeResponse> recipes, String nextCursor) {
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+    if (nextCursor != null) {
+      builder.header(NEXT_CURSOR_HEADER, nextCursor);
+    }
+    return builder.body(recipes);
+  }
+
+  private static RecipeResponse selectFields(RecipeResponse recipe, Set<RecipeField> fields) {
+    return new RecipeResponse(
+        recipe.getId(),
+        fields.contains(RecipeField.NAME) ? recipe.getName() : null,
+        fields.contains(RecipeField.VEGETARIAN) ? recipe.getVegetarian() : null,
+        fields.contains(RecipeField.SERVINGS) ? recipe.getServings() : null,
+        fields.contains(RecipeField.INSTRUCTIONS) ? recipe.getInstructions() : null,
+        fields.contains(RecipeField.INGREDIENTS) ? recipe.getIngredients() : null,
+        null);
+  }
 }
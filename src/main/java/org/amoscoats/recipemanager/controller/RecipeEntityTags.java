@@ -0,0 +1,92 @@
+package org.amoscoats.recipemanager.controller;
+
+import org.amoscoats.recipemanager.exception.RecipeVersionMismatchException;
+
+/**
+ * Strong entity tags of recipe resources. A tag only has to tell the versions of one recipe apart,
+ * so it is the quoted recipe version.
+ */
+final class RecipeEntityTags {
+
+  private static final String ANY = "*";
+
+  private static final String WEAK_PREFIX = "W/";
+
+  private RecipeEntityTags() {}
+
+  /**
+   * Returns the entity tag of a recipe version.
+   *
+   * @param version recipe version
+   * @return quoted strong entity tag
+   */
+  static String of(long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Tells whether an {@code If-None-Match} header matches a recipe version. The comparison is weak,
+   * so {@code W/"3"} matches version 3 as well.
+   *
+   * @param ifNoneMatch header value, may be {@code null}
+   * @param version current recipe version
+   * @return true if the client already holds this version
+   */
+  static boolean noneMatchHit(String ifNoneMatch, long version) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    String current = of(version);
+    for (String tag : ifNoneMatch.split(",")) {
+      String trimmed = tag.trim();
+      if (trimmed.equals(ANY)
+          || trimmed.equals(current)
+          || trimmed.equals(WEAK_PREFIX + current)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the recipe version an {@code If-Match} header requires. The comparison is strong, so
+   * weak tags never match.
+   *
+   * @param ifMatch header value, may be {@code null}
+   * @return the required version, or {@code null} if any version is acceptable
+   * @throws RecipeVersionMismatchException if no listed tag can match a recipe version
+   * @throws IllegalArgumentException if several versions are listed
+   */
+  static Long requiredVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(ANY)) {
+      return null;
+    }
+    Long required = null;
+    for (String tag : ifMatch.split(",")) {
+      Long version = parseStrong(tag.trim());
+      if (version != null && required != null && !required.equals(version)) {
+        throw new IllegalArgumentException("If-Match must name a single recipe version");
+      }
+      if (version != null) {
+        required = version;
+      }
+    }
+    if (required == null) {
+      throw new RecipeVersionMismatchException(
+          "If-Match does not name a version of the recipe: " + ifMatch);
+    }
+    return required;
+  }
+
+  /** Returns the version of a strong tag issued by {@link #of}, or {@code null} for any other. */
+  private static Long parseStrong(String tag) {
+    if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+      return null;
+    }
+    try {
+      return Long.parseLong(tag.substring(1, tag.length() - 1));
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package org.amoscoats.recipemanager.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.dto.RecipeImportResponse;
+import org.amoscoats.recipemanager.service.RecipeImportService;
+import org.amoscoats.recipemanager.service.RecipeImportService.Format;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** REST controller for bulk recipe imports. */
+@Slf4j
+@RestController
+@RequestMapping("/api/recipes/import")
+@RequiredArgsConstructor
+@Tag(name = "Recipe Import", description = "APIs for bulk loading recipes")
+public class RecipeImportController {
+
+  /** Media type accepted for CSV imports. */
+  public static final String TEXT_CSV_VALUE = "text/csv";
+
+  private final RecipeImportService recipeImportService;
+
+  /**
+   * Import recipes from newline-delimited JSON POST /api/recipes/import.
+   *
+   * @param body request body with one recipe request per line
+   * @return import summary
+   * @throws IOException if the request body cannot be read
+   */
+  @Operation(
+      summary = "Bulk import recipes from NDJSON",
+      description =
+          "Imports one recipe per line in batches. Invalid rows are skipped and reported in the"
+              + " response together with per-batch progress")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import processed",
+            content = @Content(schema = @Schema(implementation = RecipeImportResponse.class)))
+      })
+  @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<RecipeImportResponse> importNdjson(InputStream body) throws IOException {
+    return importRecipes(body, Format.NDJSON);
+  }
+
+  /**
+   * Import recipes from CSV POST /api/recipes/import.
+   *
+   * @param body request body with a header row followed by one recipe per line
+   * @return import summary
+   * @throws IOException if the request body cannot be read
+   */
+  @Operation(
+      summary = "Bulk import recipes from CSV",
+      description =
+          "Imports recipes from CSV with the header name,vegetarian,servings,instructions,"
+              + "ingredients where ingredients are separated by '|'. Invalid rows are skipped and"
+              + " reported in the response together with per-batch progress")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import processed",
+            content = @Content(schema = @Schema(implementation = RecipeImportResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Missing or invalid CSV header")
+      })
+  @PostMapping(consumes = TEXT_CSV_VALUE)
+  public ResponseEntity<RecipeImportResponse> importCsv(InputStream body) throws IOException {
+    return importRecipes(body, Format.CSV);
+  }
+
+  private ResponseEntity<RecipeImportResponse> importRecipes(InputStream body, Format format)
+      throws IOException {
+    log.info("Received {} recipe import", format);
+    RecipeImportResponse response =
+        recipeImportService.importRecipes(
+            new InputStreamReader(body, StandardCharsets.UTF_8), format);
+    log.info("Imported {} of {} recipes", response.getImportedRows(), response.getTotalRows());
+    return ResponseEntity.ok(response);
+  }
+}
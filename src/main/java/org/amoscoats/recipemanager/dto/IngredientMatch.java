@@ -0,0 +1,16 @@
+package org.amoscoats.recipemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/** How the include and exclude ingredient filters of a recipe query are matched. */
+@Schema(description = "How ingredient filters are matched")
+public enum IngredientMatch {
+  /** Case-insensitive substring match: {@code tomato} matches {@code cherry tomatoes}. */
+  CONTAINS,
+
+  /**
+   * Case-insensitive match of the whole, trimmed ingredient name, answered from the indexed
+   * {@code ingredient_terms} array.
+   */
+  EXACT
+}
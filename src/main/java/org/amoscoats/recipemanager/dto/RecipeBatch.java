@@ -0,0 +1,11 @@
+package org.amoscoats.recipemanager.dto;
+
+import java.util.List;
+
+/**
+ * Recipes fetched by id in a single batch request.
+ *
+ * @param recipes recipes found, in the order their ids were requested
+ * @param missingIds requested ids with no recipe, in request order
+ */
+public record RecipeBatch(List<RecipeResponse> recipes, List<Long> missingIds) {}
@@ -0,0 +1,33 @@
+package org.amoscoats.recipemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Bulk recipe mutation request DTO. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ordered list of recipe operations applied in one request")
+public class RecipeBulkRequest {
+
+  /** How failures of individual operations affect the rest of the request. */
+  public enum Mode {
+    /** Any failed operation rolls back every operation of the request. */
+    ALL_OR_NOTHING,
+    /** Operations are committed in chunks; failed operations are reported and skipped. */
+    BEST_EFFORT
+  }
+
+  @Schema(description = "How failed operations are handled", example = "BEST_EFFORT")
+  @NotNull(message = "Mode is required")
+  private Mode mode = Mode.ALL_OR_NOTHING;
+
+  @Schema(description = "Operations, applied in order", required = true)
+  @NotEmpty(message = "At least one operation is required")
+  private List<RecipeOperation> operations;
+}
@@ -0,0 +1,41 @@
+package org.amoscoats.recipemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Bulk recipe mutation result DTO. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk recipe mutation result")
+public class RecipeBulkResponse {
+
+  @Schema(description = "Number of operations that were committed", example = "998")
+  private int succeeded;
+
+  @Schema(description = "Number of operations that were not applied", example = "2")
+  private int failed;
+
+  @Schema(description = "Outcome of every operation, in request order")
+  private List<OperationResult> results = new ArrayList<>();
+
+  /**
+   * Outcome of a single operation. Statuses follow the HTTP status of the equivalent single
+   * request: 201 created, 200 updated, 204 deleted, 400 invalid, 404 not found and 409 rejected by
+   * the database. 424 marks operations that were valid but rolled back because another operation
+   * of an all-or-nothing request failed.
+   *
+   * @param index position of the operation in the request, starting at 0
+   * @param type kind of operation
+   * @param id id of the affected recipe, if known
+   * @param status HTTP style status of the operation
+   * @param error why the operation was not applied, or {@code null} if it was
+   */
+  @Schema(description = "Outcome of a single operation")
+  public record OperationResult(
+      int index, RecipeOperation.Type type, Long id, int status, String error) {}
+}
@@ -0,0 +1,58 @@
+package org.amoscoats.recipemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/** A field of {@link RecipeResponse} that can be selected with the {@code fields} parameter. */
+@Schema(description = "Recipe response field")
+public enum RecipeField {
+  ID("id"),
+  NAME("name"),
+  VEGETARIAN("vegetarian"),
+  SERVINGS("servings"),
+  INSTRUCTIONS("instructions"),
+  INGREDIENTS("ingredients");
+
+  private final String property;
+
+  RecipeField(String property) {
+    this.property = property;
+  }
+
+  /**
+   * Returns the name of the field in the response, which is also the entity attribute it is read
+   * from.
+   *
+   * @return the property name
+   */
+  public String property() {
+    return property;
+  }
+
+  /**
+   * Parses requested field names, ignoring case and surrounding whitespace. The id is always
+   * included so clients can refer back to the recipe.
+   *
+   * @param names requested field names
+   * @return the requested fields plus {@link #ID}
+   * @throws IllegalArgumentException if a name is not a recipe field
+   */
+  public static Set<RecipeField> parse(Collection<String> names) {
+    Set<RecipeField> fields = EnumSet.of(ID);
+    for (String name : names) {
+      String trimmed = name.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      try {
+        fields.add(valueOf(trimmed.toUpperCase(Locale.ROOT)));
+      } catch (IllegalArgumentException ex) {
+        throw new IllegalArgumentException("Unknown recipe field: " + trimmed, ex);
+      }
+    }
+    return fields;
+  }
+}
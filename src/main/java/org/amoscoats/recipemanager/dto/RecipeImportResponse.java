@@ -0,0 +1,48 @@
+package org.amoscoats.recipemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Bulk recipe import result DTO. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk recipe import result")
+public class RecipeImportResponse {
+
+  @Schema(description = "Number of data rows read from the input", example = "1000")
+  private long totalRows;
+
+  @Schema(description = "Number of recipes written to the database", example = "998")
+  private long importedRows;
+
+  @Schema(description = "Per-batch progress in the order the batches were written")
+  private List<BatchProgress> batches = new ArrayList<>();
+
+  @Schema(description = "Rows that were not imported and why")
+  private List<RejectedRow> rejectedRows = new ArrayList<>();
+
+  /**
+   * Progress of a single import batch.
+   *
+   * @param batch batch number, starting at 1
+   * @param rows number of recipes in the batch
+   * @param durationMillis time taken to write the batch
+   * @param committed whether the batch was committed
+   */
+  @Schema(description = "Progress of a single import batch")
+  public record BatchProgress(int batch, int rows, long durationMillis, boolean committed) {}
+
+  /**
+   * An input row that was rejected.
+   *
+   * @param line line number in the input, starting at 1
+   * @param reason why the row was rejected
+   */
+  @Schema(description = "An input row that was rejected")
+  public record RejectedRow(long line, String reason) {}
+}
@@ -0,0 +1,30 @@
+package org.amoscoats.recipemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A single create, update or delete within a bulk request. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A single operation within a bulk request")
+public class RecipeOperation {
+
+  /** Kind of operation. */
+  public enum Type {
+    CREATE,
+    UPDATE,
+    DELETE
+  }
+
+  @Schema(description = "Kind of operation", example = "UPDATE", required = true)
+  private Type type;
+
+  @Schema(description = "ID of the recipe to update or delete", example = "1")
+  private Long id;
+
+  @Schema(description = "Recipe details for creates and updates")
+  private RecipeRequest recipe;
+}
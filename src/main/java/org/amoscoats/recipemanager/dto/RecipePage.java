@@ -0,0 +1,11 @@
+package org.amoscoats.recipemanager.dto;
+
+import java.util.List;
+
+/**
+ * A single page of recipes produced by cursor pagination.
+ *
+ * @param recipes recipes on this page, ordered by id or, for full-text search, by relevance
+ * @param nextCursor cursor for the following page, or {@code null} when this is the last page
+ */
+public record RecipePage(List<RecipeResponse> recipes, String nextCursor) {}
@@ -0,0 +1,49 @@
+package org.amoscoats.recipemanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Recipe partial update request DTO, read from a JSON Merge Patch (RFC 7396) document.
+ *
+ * <p>Absent members are left unchanged. Every recipe field is required, so a member set to {@code
+ * null}, which would remove it under merge patch semantics, is rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Recipe partial update request; omitted fields are left unchanged")
+public class RecipePatchRequest {
+
+  @Schema(description = "Name of the recipe", example = "Vegetarian Pasta")
+  @JsonSetter(nulls = Nulls.FAIL)
+  @Pattern(regexp = "(?s).*\\S.*", message = "Recipe name must not be blank")
+  private String name;
+
+  @Schema(description = "Whether the recipe is vegetarian", example = "true")
+  @JsonSetter(nulls = Nulls.FAIL)
+  private Boolean vegetarian;
+
+  @Schema(description = "Number of servings", example = "4", minimum = "1")
+  @JsonSetter(nulls = Nulls.FAIL)
+  @Min(value = 1, message = "Servings must be at least 1")
+  private Integer servings;
+
+  @Schema(description = "Cooking instructions", example = "Boil pasta. Add sauce. Bake in oven.")
+  @JsonSetter(nulls = Nulls.FAIL)
+  @Pattern(regexp = "(?s).*\\S.*", message = "Instructions must not be blank")
+  private String instructions;
+
+  @Schema(
+      description = "Replacement list of ingredients",
+      example = "[\"pasta\", \"tomato sauce\", \"garlic\"]")
+  @JsonSetter(nulls = Nulls.FAIL)
+  private Set<String> ingredients;
+}
@@ -1,13 +1,18 @@
 package org.amoscoats.recipemanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-/** Recipe response DTO. */
+/**
+ * Recipe response DTO. Fields left out with the {@code fields} parameter are {@code null} and
+ * omitted from the JSON.
+ */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Recipe response")
@@ -34,4 +39,9 @@ public class RecipeResponse {
       description = "List of ingredients",
       example = "[\"pasta\", \"tomato sauce\", \"garlic\"]")
   private Set<String> ingredients;
+
+  @Schema(
+      description = "Version of the recipe, incremented by every change; also sent as its ETag",
+      example = "3")
+  private Long version;
 }
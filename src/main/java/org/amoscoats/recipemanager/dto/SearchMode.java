@@ -0,0 +1,16 @@
+package org.amoscoats.recipemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/** How the {@code searchText} filter of a recipe query is matched. */
+@Schema(description = "How searchText is matched")
+public enum SearchMode {
+  /** Case-insensitive substring match on the instructions; results ordered by id. */
+  SUBSTRING,
+
+  /**
+   * PostgreSQL full-text search over name, ingredients and instructions with web search syntax;
+   * results ordered by relevance.
+   */
+  FULL_TEXT
+}
@@ -0,0 +1,29 @@
+package org.amoscoats.recipemanager.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+import org.amoscoats.recipemanager.index.IngredientDictionary;
+
+/**
+ * Stores ingredient names as ids of the {@code ingredients} dictionary table. Instantiated by
+ * Hibernate through the Spring bean container so the shared dictionary can be injected. Only looks
+ * names up: writers {@link IngredientDictionary#register register} them before the flush, so no
+ * statement runs on another connection while Hibernate flushes.
+ */
+@Converter
+@RequiredArgsConstructor
+public class IngredientNameConverter implements AttributeConverter<String, Integer> {
+
+  private final IngredientDictionary ingredientDictionary;
+
+  @Override
+  public Integer convertToDatabaseColumn(String name) {
+    return name == null ? null : ingredientDictionary.idOf(name);
+  }
+
+  @Override
+  public String convertToEntityAttribute(Integer id) {
+    return id == null ? null : ingredientDictionary.nameOf(id);
+  }
+}
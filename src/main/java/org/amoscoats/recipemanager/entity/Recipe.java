@@ -2,6 +2,7 @@ package org.amoscoats.recipemanager.entity;
 
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -9,23 +10,50 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
-/** Recipe entity. */
+/**
+ * Recipe entity.
+ *
+ * <p>Updates only write the columns that changed, so editing the servings does not resend the
+ * instructions text.
+ */
 @Entity
 @Table(name = "recipes")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Recipe {
 
+  /**
+   * Number of ids reserved per call to {@code recipes_seq}. Must match the sequence increment so
+   * every writer interprets a sequence value as the upper bound of the same block.
+   */
+  public static final int ID_ALLOCATION_SIZE = 50;
+
+  /**
+   * Number of recipes whose ingredients are loaded by one {@code IN (...)} query when the first
+   * uninitialized collection is accessed. Covers the largest API page in one round trip.
+   */
+  public static final int INGREDIENT_BATCH_SIZE = 100;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipes_seq")
+  @SequenceGenerator(
+      name = "recipes_seq",
+      sequenceName = "recipes_seq",
+      allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @Column(nullable = false)
@@ -40,8 +68,88 @@ public class Recipe {
   @Column(nullable = false, columnDefinition = "TEXT")
   private String instructions;
 
-  @ElementCollection(fetch = FetchType.EAGER)
-  @CollectionTable(name = "recipe_ingredients", joinColumns = @JoinColumn(name = "recipe_id"))
-  @Column(name = "ingredient", nullable = false)
+  /**
+   * Ingredient names, stored as ids of the {@code ingredients} dictionary table. Loaded names are
+   * the shared instances held by the dictionary.
+   */
+  @ElementCollection(fetch = FetchType.LAZY)
+  @BatchSize(size = INGREDIENT_BATCH_SIZE)
+  @CollectionTable(name = "recipe_ingredient_ids", joinColumns = @JoinColumn(name = "recipe_id"))
+  @Column(name = "ingredient_id", nullable = false)
+  @Convert(converter = IngredientNameConverter.class)
   private Set<String> ingredients = new HashSet<>();
+
+  /**
+   * Sorted, de-duplicated {@link #normalizeIngredient normalized} ingredient names, denormalized
+   * from {@link #ingredients} for exact-match containment filters on a GIN index. Kept in sync by
+   * {@link #refreshIngredientTerms()}, which writers must call after changing the ingredients of a
+   * persistent recipe.
+   */
+  @Column(name = "ingredient_terms", nullable = false)
+  private String[] ingredientTerms = new String[0];
+
+  /**
+   * Optimistic lock version, incremented by every update of the recipe or its ingredients. Also
+   * the entity tag of the recipe resource, so clients can revalidate and update conditionally.
+   */
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
+  public Recipe(
+      Long id,
+      String name,
+      Boolean vegetarian,
+      Integer servings,
+      String instructions,
+      Set<String> ingredients) {
+    this.id = id;
+    this.name = name;
+    this.vegetarian = vegetarian;
+    this.servings = servings;
+    this.instructions = instructions;
+    this.ingredients = ingredients;
+    refreshIngredientTerms();
+  }
+
+  /**
+   * Normalizes an ingredient name for exact matching: trimmed and lower-cased.
+   *
+   * @param ingredient ingredient name
+   * @return normalized name
+   */
+  public static String normalizeIngredient(String ingredient) {
+    return ingredient.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Replaces the ingredients in place with the given ones. Hibernate then deletes only the removed
+   * and inserts only the added rows instead of recreating the whole collection.
+   *
+   * @param updated the new ingredients
+   */
+  public void updateIngredients(Set<String> updated) {
+    ingredients.retainAll(updated);
+    ingredients.addAll(updated);
+    refreshIngredientTerms();
+  }
+
+  /**
+   * Recomputes {@link #ingredientTerms} from the current ingredients. The array is only replaced
+   * when its contents change, so an unchanged recipe stays clean.
+   */
+  @PrePersist
+  public void refreshIngredientTerms() {
+    String[] terms =
+        ingredients == null
+            ? new String[0]
+            : ingredients.stream()
+                .map(Recipe::normalizeIngredient)
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+    if (!Arrays.equals(terms, ingredientTerms)) {
+      ingredientTerms = terms;
+    }
+  }
 }
@@ -0,0 +1,42 @@
+package org.amoscoats.recipemanager.event;
+
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+
+/**
+ * Application event published whenever a recipe is created, updated or deleted.
+ *
+ * <p>Listeners that keep derived state (indexes, caches) should consume it after the publishing
+ * transaction commits.
+ *
+ * @param type kind of change
+ * @param id id of the affected recipe
+ * @param recipe current state of the recipe, or {@code null} when it was deleted
+ */
+public record RecipeChangedEvent(Type type, Long id, RecipeResponse recipe) {
+
+  /** Kind of change. */
+  public enum Type {
+    SAVED,
+    DELETED
+  }
+
+  /**
+   * Creates an event for a created or updated recipe.
+   *
+   * @param recipe the saved recipe
+   * @return the event
+   */
+  public static RecipeChangedEvent saved(RecipeResponse recipe) {
+    return new RecipeChangedEvent(Type.SAVED, recipe.getId(), recipe);
+  }
+
+  /**
+   * Creates an event for a deleted recipe.
+   *
+   * @param id id of the deleted recipe
+   * @return the event
+   */
+  public static RecipeChangedEvent deleted(Long id) {
+    return new RecipeChangedEvent(Type.DELETED, id, null);
+  }
+}
@@ -0,0 +1,18 @@
+package org.amoscoats.recipemanager.event;
+
+import java.util.List;
+
+/**
+ * Application event published once for a batch of recipe changes made in one transaction.
+ *
+ * <p>Bulk writes publish this instead of one {@link RecipeChangedEvent} per recipe, so listeners
+ * that invalidate or lock derived state do so once per batch rather than once per row.
+ *
+ * @param changes the individual changes, in the order they were made
+ */
+public record RecipesChangedEvent(List<RecipeChangedEvent> changes) {
+
+  public RecipesChangedEvent {
+    changes = List.copyOf(changes);
+  }
+}
@@ -5,11 +5,17 @@ import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
+import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
 
 /** Global exception handler for REST API. */
 @Slf4j
@@ -17,17 +23,147 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 public class GlobalExceptionHandler {
 
   /**
-   * Handles RuntimeException and returns 404 Not Found.
+   * Handles a missing recipe and returns 404 Not Found. Missing ids are routine client errors, so
+   * nothing is logged above DEBUG and the exception carries no stack trace.
+   *
+   * @param ex the not found exception
+   * @return error response entity
+   */
+  @ExceptionHandler(RecipeNotFoundException.class)
+  public ResponseEntity<ErrorResponse> handleRecipeNotFoundException(RecipeNotFoundException ex) {
+    log.debug("Recipe not found with id: {}", ex.getId());
+    ErrorResponse error =
+        new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage(), LocalDateTime.now());
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+  }
+
+  /**
+   * Handles any other RuntimeException, which indicates a bug or an infrastructure failure, and
+   * returns 500 Internal Server Error. The exception is logged with its stack trace; its message is
+   * not sent to the client.
    *
    * @param ex the runtime exception
    * @return error response entity
    */
   @ExceptionHandler(RuntimeException.class)
   public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
-    log.error("Runtime exception occurred: {}", ex.getMessage(), ex);
+    log.error("Unexpected runtime exception: {}", ex.getMessage(), ex);
     ErrorResponse error =
-        new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage(), LocalDateTime.now());
-    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        new ErrorResponse(
+            HttpStatus.INTERNAL_SERVER_ERROR.value(),
+            "Internal server error",
+            LocalDateTime.now());
+    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+  }
+
+  /**
+   * Handles IllegalArgumentException (e.g. a malformed pagination cursor) and returns 400 Bad
+   * Request.
+   *
+   * @param ex the illegal argument exception
+   * @return error response entity
+   */
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
+      IllegalArgumentException ex) {
+    log.warn("Invalid request argument: {}", ex.getMessage());
+    ErrorResponse error =
+        new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage(), LocalDateTime.now());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+  }
+
+  /**
+   * Handles a path or query parameter that cannot be converted to its declared type (e.g. a
+   * non-numeric id) and returns 400 Bad Request. This is a client error, so it is not logged with a
+   * stack trace.
+   *
+   * @param ex the type mismatch exception
+   * @return error response entity
+   */
+  @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+  public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+      MethodArgumentTypeMismatchException ex) {
+    log.warn("Invalid value for request parameter '{}': {}", ex.getName(), ex.getMessage());
+    ErrorResponse error =
+        new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Invalid value for parameter '" + ex.getName() + "'",
+            LocalDateTime.now());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+  }
+
+  /**
+   * Handles exceptions that carry their own HTTP status, such as a {@link ResponseStatusException}
+   * for an unacceptable media type, and returns that status. They are raised on purpose, so they
+   * are not logged with a stack trace.
+   *
+   * @param ex the exception with a status
+   * @return error response entity
+   */
+  @ExceptionHandler({ResponseStatusException.class, ErrorResponseException.class})
+  public ResponseEntity<ErrorResponse> handleErrorResponseException(
+      org.springframework.web.ErrorResponse ex) {
+    HttpStatusCode status = ex.getStatusCode();
+    String detail = ex.getBody().getDetail();
+    if (detail == null) {
+      HttpStatus known = HttpStatus.resolve(status.value());
+      detail = known == null ? String.valueOf(status.value()) : known.getReasonPhrase();
+    }
+    log.warn("Request failed with status {}: {}", status.value(), detail);
+    ErrorResponse error = new ErrorResponse(status.value(), detail, LocalDateTime.now());
+    return ResponseEntity.status(status).body(error);
+  }
+
+  /**
+   * Handles unreadable request bodies (malformed JSON, wrong types, or null members in a merge
+   * patch) and returns 400 Bad Request.
+   *
+   * @param ex the message not readable exception
+   * @return error response entity
+   */
+  @ExceptionHandler(HttpMessageNotReadableException.class)
+  public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(
+      HttpMessageNotReadableException ex) {
+    log.warn("Unreadable request body: {}", ex.getMessage());
+    ErrorResponse error =
+        new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(), "Malformed request body", LocalDateTime.now());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+  }
+
+  /**
+   * Handles conditional writes against a changed recipe and returns 412 Precondition Failed.
+   *
+   * @param ex the version mismatch exception
+   * @return error response entity
+   */
+  @ExceptionHandler(RecipeVersionMismatchException.class)
+  public ResponseEntity<ErrorResponse> handleRecipeVersionMismatchException(
+      RecipeVersionMismatchException ex) {
+    log.warn("Precondition failed: {}", ex.getMessage());
+    ErrorResponse error =
+        new ErrorResponse(
+            HttpStatus.PRECONDITION_FAILED.value(), ex.getMessage(), LocalDateTime.now());
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+  }
+
+  /**
+   * Handles a write that lost a race with a concurrent update of the same recipe and returns 409
+   * Conflict.
+   *
+   * @param ex the optimistic locking failure
+   * @return error response entity
+   */
+  @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+  public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+      ObjectOptimisticLockingFailureException ex) {
+    log.warn("Concurrent modification: {}", ex.getMessage());
+    ErrorResponse error =
+        new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "Recipe was modified concurrently, please retry",
+            LocalDateTime.now());
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
   }
 
   /**
@@ -0,0 +1,31 @@
+package org.amoscoats.recipemanager.exception;
+
+/**
+ * Thrown when no recipe exists with the requested id.
+ *
+ * <p>Missing ids are ordinary client errors, often requested in bulk by crawlers, so the exception
+ * captures no stack trace and only builds its message when asked for it.
+ */
+public class RecipeNotFoundException extends RuntimeException {
+
+  private final Long id;
+
+  public RecipeNotFoundException(Long id) {
+    super(null, null, false, false);
+    this.id = id;
+  }
+
+  /**
+   * Returns the id that was not found.
+   *
+   * @return recipe id
+   */
+  public Long getId() {
+    return id;
+  }
+
+  @Override
+  public String getMessage() {
+    return "Recipe not found with id: " + id;
+  }
+}
@@ -0,0 +1,12 @@
+package org.amoscoats.recipemanager.exception;
+
+/**
+ * Thrown when a conditional write names a recipe version other than the current one, so the
+ * client would overwrite changes it has not seen.
+ */
+public class RecipeVersionMismatchException extends RuntimeException {
+
+  public RecipeVersionMismatchException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,250 @@
+package org.amoscoats.recipemanager.index;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.specification.RecipeSpecification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory, interned view of the {@code ingredients} dictionary table.
+ *
+ * <p>Recipes reference ingredients by the integer id of their dictionary row. This class maps
+ * names to ids when recipes are written and ids back to names when they are read; every recipe
+ * using an ingredient shares the same {@link String} instance. Full-text searches resolve their
+ * substring terms to ids once per query, so the recipe query itself only compares integers.
+ *
+ * <p>Writers {@link #register} the names of the recipes they save before those are flushed. The
+ * rows are inserted on the writer's own connection and transaction, so a write never needs a
+ * second connection. Until that transaction commits, its new ids are only visible to it; they are
+ * shared once it commits and dropped if it rolls back, so a shared id always refers to an
+ * existing row. The whole table is loaded on first use; ids registered by other instances
+ * afterwards are read on demand.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IngredientDictionary {
+
+  /** Names inserted or looked up per statement by {@link #register}. */
+  static final int REGISTER_BATCH_SIZE = 500;
+
+  private static final String SELECT_ALL_SQL = "SELECT id, name FROM ingredients";
+
+  private static final String SELECT_NAME_SQL = "SELECT name FROM ingredients WHERE id = ?";
+
+  private static final String SELECT_ID_SQL = "SELECT id FROM ingredients WHERE name = ?";
+
+  private static final String SELECT_IDS_SQL =
+      "SELECT id, name FROM ingredients WHERE name IN (%s)";
+
+  private static final String INSERT_SQL =
+      "INSERT INTO ingredients (name) VALUES (?) ON CONFLICT DO NOTHING";
+
+  private static final String SELECT_CONTAINING_SQL =
+      "SELECT id, name FROM ingredients WHERE lower(name) LIKE ? ESCAPE '\\'";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final ConcurrentMap<String, Integer> idsByName = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Integer, String> namesById = new ConcurrentHashMap<>();
+
+  // A lock rather than a monitor: a virtual thread blocked on JDBC while holding a monitor pins
+  // its carrier thread
+  private final Lock loadLock = new ReentrantLock();
+
+  private volatile boolean loaded;
+
+  /**
+   * Adds the names that are not in the dictionary yet, with one batched {@code INSERT ... ON
+   * CONFLICT DO NOTHING} on the current transaction's connection. Must be called before recipes
+   * using the names are flushed, since {@link #idOf} only looks names up.
+   *
+   * @param names ingredient names, matched exactly
+   */
+  public void register(Collection<String> names) {
+    List<String> missing = names.stream().filter(this::isUnknown).distinct().toList();
+    if (missing.isEmpty()) {
+      return;
+    }
+    ensureLoaded();
+    missing = missing.stream().filter(this::isUnknown).toList();
+    if (missing.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        INSERT_SQL, missing, REGISTER_BATCH_SIZE, (ps, name) -> ps.setString(1, name));
+    Map<String, Integer> registered = registeredIds();
+    for (int from = 0; from < missing.size(); from += REGISTER_BATCH_SIZE) {
+      List<String> chunk =
+          missing.subList(from, Math.min(from + REGISTER_BATCH_SIZE, missing.size()));
+      jdbcTemplate.query(
+          SELECT_IDS_SQL.formatted(String.join(",", Collections.nCopies(chunk.size(), "?"))),
+          rs -> {
+            registered.put(rs.getString(2), rs.getInt(1));
+          },
+          chunk.toArray());
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      // Auto-committed, so the ids can be shared right away
+      registered.forEach((name, id) -> remember(id, name));
+    }
+    log.debug("Registered {} ingredients", missing.size());
+  }
+
+  /**
+   * Returns the id of an ingredient name. Names registered by the current transaction are found
+   * before it commits.
+   *
+   * @param name ingredient name, matched exactly
+   * @return dictionary id
+   * @throws IllegalStateException if the name has not been {@link #register registered}
+   */
+  public int idOf(String name) {
+    Integer id = idsByName.get(name);
+    if (id != null) {
+      return id;
+    }
+    id = pendingIds().get(name);
+    if (id != null) {
+      return id;
+    }
+    ensureLoaded();
+    id = idsByName.get(name);
+    if (id != null) {
+      return id;
+    }
+    // Registered and committed by another instance since the dictionary was loaded
+    List<Integer> ids = jdbcTemplate.queryForList(SELECT_ID_SQL, Integer.class, name);
+    if (ids.isEmpty()) {
+      throw new IllegalStateException("Ingredient '" + name + "' has not been registered");
+    }
+    return remember(ids.get(0), name);
+  }
+
+  /**
+   * Returns the name of a dictionary id.
+   *
+   * @param id dictionary id
+   * @return the shared name instance
+   * @throws org.springframework.dao.EmptyResultDataAccessException if the id does not exist
+   */
+  public String nameOf(int id) {
+    String name = namesById.get(id);
+    if (name != null) {
+      return name;
+    }
+    ensureLoaded();
+    name = namesById.get(id);
+    if (name != null) {
+      return name;
+    }
+    for (Map.Entry<String, Integer> pending : pendingIds().entrySet()) {
+      if (pending.getValue() == id) {
+        return pending.getKey();
+      }
+    }
+    remember(id, jdbcTemplate.queryForObject(SELECT_NAME_SQL, String.class, id));
+    return namesById.get(id);
+  }
+
+  /**
+   * Finds the ingredients whose name contains the term, ignoring case. The lookup runs against the
+   * dictionary table, so names registered by other instances are included.
+   *
+   * @param term substring to look for; {@code %} and {@code _} match literally
+   * @return matching names keyed by id, empty if none match
+   */
+  public Map<Integer, String> containing(String term) {
+    Map<Integer, String> matches = new LinkedHashMap<>();
+    jdbcTemplate.query(
+        SELECT_CONTAINING_SQL,
+        rs -> {
+          int id = rs.getInt(1);
+          remember(id, rs.getString(2));
+          matches.put(id, namesById.get(id));
+        },
+        RecipeSpecification.containsPattern(term));
+    return matches;
+  }
+
+  private boolean isUnknown(String name) {
+    return !idsByName.containsKey(name) && !pendingIds().containsKey(name);
+  }
+
+  /** Returns the ids registered by the current transaction and not shared yet. */
+  @SuppressWarnings("unchecked")
+  private Map<String, Integer> pendingIds() {
+    Object pending = TransactionSynchronizationManager.getResource(this);
+    return pending == null ? Map.of() : (Map<String, Integer>) pending;
+  }
+
+  /**
+   * Returns the map collecting the ids registered by the current transaction, which are shared
+   * once it commits. Without transaction synchronization a fresh map is returned on every call.
+   */
+  private Map<String, Integer> registeredIds() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return new HashMap<>();
+    }
+    Map<String, Integer> pending = pendingIds();
+    if (!TransactionSynchronizationManager.hasResource(this)) {
+      Map<String, Integer> newPending = new HashMap<>();
+      TransactionSynchronizationManager.bindResource(this, newPending);
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              newPending.forEach((name, id) -> remember(id, name));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+              TransactionSynchronizationManager.unbindResourceIfPossible(
+                  IngredientDictionary.this);
+            }
+          });
+      pending = newPending;
+    }
+    return pending;
+  }
+
+  private void ensureLoaded() {
+    if (loaded) {
+      return;
+    }
+    loadLock.lock();
+    try {
+      if (!loaded) {
+        jdbcTemplate.query(
+            SELECT_ALL_SQL,
+            rs -> {
+              remember(rs.getInt(1), rs.getString(2));
+            });
+        loaded = true;
+        log.info("Loaded {} ingredients into the dictionary", namesById.size());
+      }
+    } finally {
+      loadLock.unlock();
+    }
+  }
+
+  /** Records a mapping, keeping the first name instance seen for an id. */
+  private int remember(int id, String name) {
+    String shared = namesById.computeIfAbsent(id, key -> name);
+    idsByName.putIfAbsent(shared, id);
+    return id;
+  }
+}
@@ -0,0 +1,408 @@
+package org.amoscoats.recipemanager.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.event.RecipeChangedEvent;
+import org.amoscoats.recipemanager.event.RecipesChangedEvent;
+import org.amoscoats.recipemanager.repository.RecipeRepository;
+import org.amoscoats.recipemanager.specification.RecipeSpecification;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Optional in-memory inverted index over recipe filter attributes.
+ *
+ * <p>Maps every lower-cased ingredient name to a compressed bitmap of the ids of the recipes that
+ * use it, and keeps bitmaps for the vegetarian flag and each servings value. Include/exclude
+ * filters then become bitmap AND/ANDNOT operations and the database is only queried to load the
+ * recipes that are actually returned. Ingredient filters keep the semantics of {@link
+ * RecipeSpecification}: in substring mode a term is lower-cased but not trimmed, as in {@link
+ * RecipeSpecification#containsPattern}, and matches every indexed name containing it; in exact
+ * mode it is {@link Recipe#normalizeIngredient normalized} and looked up among the names with the
+ * same normalized form.
+ *
+ * <p>The index is enabled with {@code recipe.index.enabled}, rebuilt when the application starts
+ * and kept current from {@link RecipeChangedEvent}s after each transaction commits. A change
+ * only touches the bitmaps the recipe was previously indexed in, and a save older than the
+ * indexed version is ignored, since events of concurrent transactions can arrive out of order.
+ * Until the first rebuild has finished {@link #match} returns empty and callers fall back to
+ * the database. Bitmaps hold 32-bit values, so once a recipe id above {@link Integer#MAX_VALUE}
+ * is seen the index stops answering queries as well until it is rebuilt without such ids.
+ */
+@Slf4j
+@Component
+public class IngredientIndex {
+
+  private static final int REBUILD_FETCH_SIZE = 1000;
+
+  private final RecipeRepository recipeRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final boolean enabled;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Current index contents; guarded by {@link #lock}. */
+  private Bitmaps bitmaps = new Bitmaps();
+
+  /** Changes committed while a rebuild is running; non-null only during a rebuild. */
+  private List<RecipeChangedEvent> changesDuringRebuild;
+
+  private volatile boolean ready;
+
+  public IngredientIndex(
+      RecipeRepository recipeRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${recipe.index.enabled:false}") boolean enabled) {
+    this.recipeRepository = recipeRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.enabled = enabled;
+  }
+
+  /** Builds the index once the application has started, if it is enabled. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (enabled) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Rebuilds the index from the database. Changes committed while the rebuild runs are replayed
+   * onto the new index before it replaces the current one.
+   */
+  public void rebuild() {
+    long start = System.nanoTime();
+    lock.writeLock().lock();
+    try {
+      changesDuringRebuild = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    Bitmaps rebuilt = new Bitmaps();
+    try {
+      readOnlyTransaction.executeWithoutResult(
+          status ->
+              recipeRepository.forEachRecipe(
+                  (root, query, criteriaBuilder) -> null, REBUILD_FETCH_SIZE, rebuilt::add));
+    } catch (RuntimeException ex) {
+      lock.writeLock().lock();
+      try {
+        changesDuringRebuild = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw ex;
+    }
+
+    lock.writeLock().lock();
+    try {
+      changesDuringRebuild.forEach(rebuilt::apply);
+      changesDuringRebuild = null;
+      rebuilt.optimize();
+      bitmaps = rebuilt;
+      ready = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info(
+        "Rebuilt ingredient index with {} recipes and {} ingredients in {} ms",
+        rebuilt.all.getCardinality(),
+        rebuilt.ingredients.size(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Applies a committed recipe change to the index.
+   *
+   * @param event the recipe change
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onRecipeChanged(RecipeChangedEvent event) {
+    apply(List.of(event));
+  }
+
+  /**
+   * Applies a committed batch of recipe changes to the index under a single write lock.
+   *
+   * @param event the recipe changes
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onRecipesChanged(RecipesChangedEvent event) {
+    apply(event.changes());
+  }
+
+  private void apply(List<RecipeChangedEvent> changes) {
+    if (!enabled || changes.isEmpty()) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      changes.forEach(bitmaps::apply);
+      if (changesDuringRebuild != null) {
+        changesDuringRebuild.addAll(changes);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Whether the index is enabled and has been built.
+   *
+   * @return true once the first rebuild has finished
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Computes the ids of the recipes matching the given criteria. Every returned id fits in an
+   * {@code int}.
+   *
+   * @param vegetarian filter by vegetarian status
+   * @param servings filter by number of servings
+   * @param includeIngredients ingredients that must be present
+   * @param excludeIngredients ingredients that must not be present
+   * @param ingredientMatch how ingredient filters are matched
+   * @return bitmap of matching recipe ids, or empty if the index is not ready or holds recipe ids
+   *     it cannot represent
+   */
+  public Optional<RoaringBitmap> match(
+      Boolean vegetarian,
+      Integer servings,
+      Set<String> includeIngredients,
+      Set<String> excludeIngredients,
+      IngredientMatch ingredientMatch) {
+    if (!ready) {
+      return Optional.empty();
+    }
+    lock.readLock().lock();
+    try {
+      if (bitmaps.idOutOfRange) {
+        return Optional.empty();
+      }
+      RoaringBitmap result = bitmaps.all.clone();
+      if (vegetarian != null) {
+        if (vegetarian) {
+          result.and(bitmaps.vegetarian);
+        } else {
+          result.andNot(bitmaps.vegetarian);
+        }
+      }
+      if (servings != null) {
+        result.and(bitmaps.servings.getOrDefault(servings, new RoaringBitmap()));
+      }
+      if (includeIngredients != null) {
+        for (String ingredient : includeIngredients) {
+          result.and(bitmaps.matching(ingredient, ingredientMatch));
+        }
+      }
+      if (excludeIngredients != null) {
+        for (String ingredient : excludeIngredients) {
+          result.andNot(bitmaps.matching(ingredient, ingredientMatch));
+        }
+      }
+      return Optional.of(result);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Bitmaps making up one version of the index. Not thread-safe on its own. */
+  private static final class Bitmaps {
+
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap vegetarian = new RoaringBitmap();
+    private final Map<Integer, RoaringBitmap> servings = new HashMap<>();
+    /** Recipes per ingredient name, keyed by the lower-cased but untrimmed name. */
+    private final Map<String, RoaringBitmap> ingredients = new HashMap<>();
+
+    /** Keys of {@link #ingredients} per normalized ingredient term, for exact matching. */
+    private final Map<String, Set<String>> names = new HashMap<>();
+
+    /** What was indexed for each recipe, so a change only touches the recipe's own bitmaps. */
+    private final Map<Integer, Indexed> indexed = new HashMap<>();
+
+    /** Ids of deleted recipes, so a save delivered after the delete cannot resurrect them. */
+    private final RoaringBitmap deleted = new RoaringBitmap();
+
+    /** Whether a recipe id above {@link Integer#MAX_VALUE} was added; it is not indexed. */
+    private boolean idOutOfRange;
+
+    void add(Recipe recipe) {
+      add(
+          recipe.getId(),
+          recipe.getVersion(),
+          recipe.getVegetarian(),
+          recipe.getServings(),
+          recipe.getIngredients());
+    }
+
+    /**
+     * Applies a committed change. Events of concurrent transactions can arrive out of order, so a
+     * save older than the indexed version of the recipe, or of a deleted recipe, is ignored.
+     */
+    void apply(RecipeChangedEvent event) {
+      Long id = event.id();
+      if (id > Integer.MAX_VALUE) {
+        if (event.type() == RecipeChangedEvent.Type.SAVED) {
+          add(id, null, null, null, null);
+        }
+        return;
+      }
+      int key = id.intValue();
+      if (event.type() == RecipeChangedEvent.Type.DELETED) {
+        remove(key);
+        deleted.add(key);
+        return;
+      }
+      RecipeResponse recipe = event.recipe();
+      if (deleted.contains(key) || !isNewer(indexed.get(key), recipe.getVersion())) {
+        return;
+      }
+      remove(key);
+      add(
+          id,
+          recipe.getVersion(),
+          recipe.getVegetarian(),
+          recipe.getServings(),
+          recipe.getIngredients());
+    }
+
+    private static boolean isNewer(Indexed current, Long version) {
+      return current == null
+          || current.version() == null
+          || version == null
+          || version > current.version();
+    }
+
+    void add(
+        Long id,
+        Long version,
+        Boolean isVegetarian,
+        Integer servingCount,
+        Collection<String> recipeNames) {
+      if (id > Integer.MAX_VALUE) {
+        if (!idOutOfRange) {
+          log.warn("Recipe id {} exceeds the ingredient index range; using the database", id);
+          idOutOfRange = true;
+        }
+        return;
+      }
+      int key = id.intValue();
+      all.add(key);
+      if (Boolean.TRUE.equals(isVegetarian)) {
+        vegetarian.add(key);
+      }
+      if (servingCount != null) {
+        servings.computeIfAbsent(servingCount, count -> new RoaringBitmap()).add(key);
+      }
+      Set<String> recipeKeys = new HashSet<>();
+      if (recipeNames != null) {
+        for (String recipeName : recipeNames) {
+          String name = RecipeSpecification.foldCase(recipeName);
+          recipeKeys.add(name);
+          ingredients.computeIfAbsent(name, newName -> new RoaringBitmap()).add(key);
+          names
+              .computeIfAbsent(Recipe.normalizeIngredient(name), term -> new HashSet<>())
+              .add(name);
+        }
+      }
+      indexed.put(key, new Indexed(version, servingCount, recipeKeys));
+    }
+
+    /** Removes a recipe from the bitmaps it was added to. */
+    void remove(int key) {
+      Indexed previous = indexed.remove(key);
+      if (previous == null) {
+        return;
+      }
+      all.remove(key);
+      vegetarian.remove(key);
+      if (previous.servings() != null) {
+        RoaringBitmap bitmap = servings.get(previous.servings());
+        if (bitmap != null && bitmap.checkedRemove(key) && bitmap.isEmpty()) {
+          servings.remove(previous.servings());
+        }
+      }
+      previous.names().forEach(name -> removeIngredient(name, key));
+    }
+
+    /** Removes a recipe from the bitmap of one name, dropping the name once no recipe uses it. */
+    private void removeIngredient(String name, int key) {
+      RoaringBitmap bitmap = ingredients.get(name);
+      if (bitmap == null || !bitmap.checkedRemove(key) || !bitmap.isEmpty()) {
+        return;
+      }
+      ingredients.remove(name);
+      String term = Recipe.normalizeIngredient(name);
+      Set<String> termNames = names.get(term);
+      termNames.remove(name);
+      if (termNames.isEmpty()) {
+        names.remove(term);
+      }
+    }
+
+    /** Returns the ids of the recipes with an ingredient matching the term. */
+    RoaringBitmap matching(String ingredient, IngredientMatch ingredientMatch) {
+      if (ingredientMatch == IngredientMatch.EXACT) {
+        return exact(Recipe.normalizeIngredient(ingredient));
+      }
+      return containing(RecipeSpecification.foldCase(ingredient));
+    }
+
+    /** Returns the union of the bitmaps of every ingredient name normalizing to the term. */
+    RoaringBitmap exact(String term) {
+      Set<String> termNames = names.getOrDefault(term, Set.of());
+      if (termNames.size() == 1) {
+        return ingredients.get(termNames.iterator().next());
+      }
+      RoaringBitmap union = new RoaringBitmap();
+      termNames.forEach(name -> union.or(ingredients.get(name)));
+      return union;
+    }
+
+    /** Returns the union of the bitmaps of every ingredient containing the term. */
+    RoaringBitmap containing(String term) {
+      RoaringBitmap union = new RoaringBitmap();
+      for (Map.Entry<String, RoaringBitmap> entry : ingredients.entrySet()) {
+        if (entry.getKey().contains(term)) {
+          union.or(entry.getValue());
+        }
+      }
+      return union;
+    }
+
+    void optimize() {
+      all.runOptimize();
+      vegetarian.runOptimize();
+      servings.values().forEach(RoaringBitmap::runOptimize);
+      ingredients.values().forEach(RoaringBitmap::runOptimize);
+      deleted.runOptimize();
+    }
+  }
+
+  /** Version, servings and folded ingredient names a recipe was indexed with. */
+  private record Indexed(Long version, Integer servings, Set<String> names) {}
+}
@@ -0,0 +1,178 @@
+package org.amoscoats.recipemanager.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Writes one structured access event per sampled request.
+ *
+ * <p>Events go to the {@value #LOGGER_NAME} logger with the request attributes as key-value
+ * pairs, so structured log formats render them as fields. Requests are sampled per endpoint once
+ * they complete; server errors and requests slower than the slow threshold are always logged. A
+ * request that is not sampled costs two map lookups and a random number. Async requests, such as
+ * streamed exports, are logged when their async processing completes rather than at handoff.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+  /** Name of the logger access events are written to. */
+  public static final String LOGGER_NAME = "recipe.access";
+
+  /** Route logged for requests that no handler mapping matched. */
+  static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+  private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+
+  private final double defaultSampleRate;
+  private final long slowThresholdNanos;
+
+  // Route pattern first, so the lookup needs no concatenated key
+  private final Map<String, Map<String, Double>> sampleRates = new HashMap<>();
+
+  public AccessLogFilter(AccessLogProperties properties) {
+    this.defaultSampleRate = properties.defaultSampleRate();
+    this.slowThresholdNanos = properties.slowThreshold().toNanos();
+    properties
+        .sampleRates()
+        .forEach(
+            (endpoint, rate) -> {
+              int space = endpoint.indexOf(' ');
+              if (space < 0) {
+                throw new IllegalArgumentException(
+                    "Access log endpoint must be '<METHOD> <route>': " + endpoint);
+              }
+              sampleRates
+                  .computeIfAbsent(endpoint.substring(space + 1).trim(), route -> new HashMap<>())
+                  .put(endpoint.substring(0, space), rate);
+            });
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    long start = System.nanoTime();
+    int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+    boolean asyncStarted = false;
+    try {
+      filterChain.doFilter(request, response);
+      status = response.getStatus();
+      asyncStarted = request.isAsyncStarted();
+    } finally {
+      String route = route(request);
+      if (asyncStarted) {
+        // The handler has only handed the response off; log it once async processing completes
+        request
+            .getAsyncContext()
+            .addListener(new CompletionListener(route, request, response, start));
+      } else {
+        record(request.getMethod(), route, request, status, System.nanoTime() - start);
+      }
+    }
+  }
+
+  private static String route(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern == null ? UNMATCHED_ROUTE : pattern.toString();
+  }
+
+  /**
+   * Logs a completed request if it is sampled.
+   *
+   * @param method HTTP method
+   * @param route matched route pattern, e.g. {@code /api/recipes/{id}}
+   * @param request the request, read only if the event is logged
+   * @param status response status
+   * @param durationNanos time spent handling the request
+   */
+  public void record(
+      String method, String route, HttpServletRequest request, int status, long durationNanos) {
+    if (!shouldLog(method, route, status, durationNanos, ThreadLocalRandom.current().nextDouble())
+        || !accessLog.isInfoEnabled()) {
+      return;
+    }
+    accessLog
+        .atInfo()
+        .addKeyValue("http.method", method)
+        .addKeyValue("http.route", route)
+        .addKeyValue("url.path", request.getRequestURI())
+        .addKeyValue("http.status", status)
+        .addKeyValue("duration.ms", TimeUnit.NANOSECONDS.toMillis(durationNanos))
+        .log("request completed");
+  }
+
+  /**
+   * Decides whether a completed request is logged.
+   *
+   * @param random uniformly distributed value in {@code [0, 1)}
+   */
+  boolean shouldLog(String method, String route, int status, long durationNanos, double random) {
+    if (status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+        || durationNanos >= slowThresholdNanos) {
+      return true;
+    }
+    return random < sampleRate(method, route);
+  }
+
+  double sampleRate(String method, String route) {
+    Map<String, Double> ratesByMethod = sampleRates.get(route);
+    Double rate = ratesByMethod == null ? null : ratesByMethod.get(method);
+    return rate == null ? defaultSampleRate : rate;
+  }
+
+  /**
+   * Logs an async request when its processing completes, with the final status and the time
+   * since the request arrived. A request that timed out or failed is logged as a server error
+   * even if its status was already committed.
+   */
+  private final class CompletionListener implements AsyncListener {
+
+    private final String route;
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final long start;
+    private volatile int failureStatus;
+
+    CompletionListener(
+        String route, HttpServletRequest request, HttpServletResponse response, long start) {
+      this.route = route;
+      this.request = request;
+      this.response = response;
+      this.start = start;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      int status = failureStatus != 0 ? failureStatus : response.getStatus();
+      record(request.getMethod(), route, request, status, System.nanoTime() - start);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      failureStatus = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      failureStatus = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      // Processing restarted; keep listening on the new async cycle
+      event.getAsyncContext().addListener(this);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package org.amoscoats.recipemanager.logging;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the per-request access log.
+ *
+ * @param enabled whether access events are written at all
+ * @param defaultSampleRate share of requests logged for endpoints without their own rate, from 0
+ *     to 1
+ * @param sampleRates share of requests logged per endpoint, keyed by method and route pattern,
+ *     e.g. {@code GET /api/recipes/{id}}
+ * @param slowThreshold requests taking at least this long are always logged
+ */
+@ConfigurationProperties("recipe.access-log")
+public record AccessLogProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1.0") double defaultSampleRate,
+    @DefaultValue Map<String, Double> sampleRates,
+    @DefaultValue("1s") Duration slowThreshold) {}
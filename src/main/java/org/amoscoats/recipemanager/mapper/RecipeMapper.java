@@ -1,5 +1,6 @@
 package org.amoscoats.recipemanager.mapper;
 
+import org.amoscoats.recipemanager.dto.RecipePatchRequest;
 import org.amoscoats.recipemanager.dto.RecipeRequest;
 import org.amoscoats.recipemanager.dto.RecipeResponse;
 import org.amoscoats.recipemanager.entity.Recipe;
@@ -28,15 +29,21 @@ public interface RecipeMapper {
    * @return the recipe entity
    */
   @Mapping(target = "id", ignore = true)
+  @Mapping(target = "ingredientTerms", ignore = true)
+  @Mapping(target = "version", ignore = true)
   Recipe toEntity(RecipeRequest request);
 
   /**
-   * Updates an existing Recipe entity from RecipeRequest DTO.
+   * Applies the fields present in a partial update to an existing Recipe entity. Ingredients are
+   * left to {@link Recipe#updateIngredients} so the collection is diffed rather than replaced.
    *
-   * @param request the recipe request DTO
+   * @param request the recipe patch request DTO
    * @param recipe the existing recipe entity to update
    */
   @Mapping(target = "id", ignore = true)
+  @Mapping(target = "ingredients", ignore = true)
+  @Mapping(target = "ingredientTerms", ignore = true)
+  @Mapping(target = "version", ignore = true)
   @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
-  void updateEntity(RecipeRequest request, @MappingTarget Recipe recipe);
+  void updateEntity(RecipePatchRequest request, @MappingTarget Recipe recipe);
 }
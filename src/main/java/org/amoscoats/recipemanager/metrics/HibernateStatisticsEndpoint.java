@@ -0,0 +1,58 @@
+package org.amoscoats.recipemanager.metrics;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.amoscoats.recipemanager.metrics.RequestStatisticsInterceptor.RequestTypeStatistics;
+import org.amoscoats.recipemanager.metrics.SlowQueryLog.SlowQuery;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/hibernate}) reporting SQL and Hibernate activity per request
+ * type together with the most recent slow queries. A request type whose statements per request
+ * grow with its result size points to an N+1 regression. {@code DELETE} resets both.
+ */
+@Component
+@Endpoint(id = "hibernate")
+@RequiredArgsConstructor
+public class HibernateStatisticsEndpoint {
+
+  private final RequestStatisticsInterceptor requestStatistics;
+  private final SlowQueryLog slowQueryLog;
+
+  /**
+   * Hibernate activity report.
+   *
+   * @param requestTypes statistics keyed by request type, e.g. {@code GET /api/recipes
+   *     filterRecipes}
+   * @param slowQueryThresholdMillis execution time from which statements are recorded as slow
+   * @param slowQueries most recent slow statements, newest first
+   */
+  public record HibernateStatisticsReport(
+      Map<String, RequestTypeStatistics> requestTypes,
+      long slowQueryThresholdMillis,
+      List<SlowQuery> slowQueries) {}
+
+  /**
+   * Returns the statistics collected since startup or the last reset.
+   *
+   * @return request type totals and slow queries
+   */
+  @ReadOperation
+  public HibernateStatisticsReport statistics() {
+    return new HibernateStatisticsReport(
+        requestStatistics.snapshot(),
+        slowQueryLog.threshold().toMillis(),
+        slowQueryLog.recent());
+  }
+
+  /** Discards the request type totals and the slow queries. */
+  @DeleteOperation
+  public void reset() {
+    requestStatistics.reset();
+    slowQueryLog.clear();
+  }
+}
@@ -0,0 +1,183 @@
+package org.amoscoats.recipemanager.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+
+/**
+ * Wraps a {@link DataSource} so every statement execution is counted for the current request and
+ * executions slower than the {@link SlowQueryLog} threshold are recorded there.
+ *
+ * <p>Connections and statements are wrapped in JDK proxies that delegate every call. Prepared
+ * statements remember the type of each bind parameter, not its value. {@code unwrap} still
+ * returns the driver objects, so driver-specific APIs such as PostgreSQL's COPY keep working but
+ * are not counted.
+ */
+public class JdbcStatementRecorder {
+
+  private static final Set<String> EXECUTE_METHODS =
+      Set.of(
+          "execute",
+          "executeQuery",
+          "executeUpdate",
+          "executeLargeUpdate",
+          "executeBatch",
+          "executeLargeBatch");
+
+  private static final String NULL_PARAMETER = "NULL";
+
+  private final Supplier<SlowQueryLog> slowQueryLog;
+
+  /**
+   * Creates the recorder.
+   *
+   * @param slowQueryLog log receiving slow executions, resolved on first use
+   */
+  public JdbcStatementRecorder(Supplier<SlowQueryLog> slowQueryLog) {
+    this.slowQueryLog = slowQueryLog;
+  }
+
+  /**
+   * Wraps a data source.
+   *
+   * @param dataSource data source to wrap
+   * @return data source recording the statements of its connections; it also implements {@link
+   *     AutoCloseable} if the wrapped one does, so the pool is still closed on shutdown
+   */
+  public DataSource wrap(DataSource dataSource) {
+    Class<?>[] interfaces =
+        dataSource instanceof AutoCloseable
+            ? new Class<?>[] {DataSource.class, AutoCloseable.class}
+            : new Class<?>[] {DataSource.class};
+    return (DataSource)
+        Proxy.newProxyInstance(
+            JdbcStatementRecorder.class.getClassLoader(),
+            interfaces,
+            (proxy, method, args) -> {
+              if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+              }
+              Object result = invoke(dataSource, method, args);
+              return result instanceof Connection connection ? wrap(connection) : result;
+            });
+  }
+
+  private Connection wrap(Connection connection) {
+    return proxy(
+        Connection.class,
+        (proxy, method, args) -> {
+          if (isIdentityMethod(method)) {
+            return identity(proxy, method, args);
+          }
+          Object result = invoke(connection, method, args);
+          if (result instanceof Statement statement
+              && Statement.class.isAssignableFrom(method.getReturnType())) {
+            String sql =
+                args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            return proxy(method.getReturnType(), new StatementHandler(statement, sql));
+          }
+          return result;
+        });
+  }
+
+  private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+    return type.cast(
+        Proxy.newProxyInstance(
+            JdbcStatementRecorder.class.getClassLoader(), new Class<?>[] {type}, handler));
+  }
+
+  // Proxies are compared by identity; Spring and Hibernate key resources by these objects
+  private static boolean isIdentityMethod(Method method) {
+    return method.getDeclaringClass() == Object.class && !method.getName().equals("toString");
+  }
+
+  private static Object identity(Object proxy, Method method, Object[] args) {
+    return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  /** Tracks the SQL and bind parameter types of one statement and times its executions. */
+  private final class StatementHandler implements InvocationHandler {
+
+    private final Statement statement;
+    private final String sql;
+    private final List<String> parameters = new ArrayList<>();
+    private int batchSize;
+
+    StatementHandler(Statement statement, String sql) {
+      this.statement = statement;
+      this.sql = sql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (isIdentityMethod(method)) {
+        return identity(proxy, method, args);
+      }
+      String name = method.getName();
+      if (EXECUTE_METHODS.contains(name)) {
+        return execute(method, args);
+      }
+      if (name.startsWith("set")
+          && args != null
+          && args.length >= 2
+          && args[0] instanceof Integer index) {
+        bind(index, name.equals("setNull") || args[1] == null ? NULL_PARAMETER : typeOf(args[1]));
+      } else if (name.equals("clearParameters")) {
+        parameters.clear();
+      } else if (name.equals("addBatch")) {
+        batchSize++;
+      } else if (name.equals("clearBatch")) {
+        batchSize = 0;
+      }
+      return JdbcStatementRecorder.invoke(statement, method, args);
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+      long start = System.nanoTime();
+      try {
+        return JdbcStatementRecorder.invoke(statement, method, args);
+      } finally {
+        long duration = System.nanoTime() - start;
+        RequestStatistics.statementExecuted();
+        SlowQueryLog queryLog = slowQueryLog.get();
+        if (queryLog.isSlow(duration)) {
+          // Plain statements pass their SQL to execute, prepared ones to prepareStatement
+          String executedSql =
+              args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+          queryLog.record(executedSql, parameters, Math.max(1, batchSize), duration);
+        }
+        if (method.getName().endsWith("Batch")) {
+          batchSize = 0;
+        }
+      }
+    }
+
+    private void bind(int index, String type) {
+      while (parameters.size() < index) {
+        parameters.add("?");
+      }
+      parameters.set(index - 1, type);
+    }
+
+    private static String typeOf(Object value) {
+      return value instanceof Array ? "Array" : value.getClass().getSimpleName();
+    }
+  }
+}
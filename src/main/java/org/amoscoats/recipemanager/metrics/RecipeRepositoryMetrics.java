@@ -0,0 +1,45 @@
+package org.amoscoats.recipemanager.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+/**
+ * Times repository calls, tagged with the repository, the method and the filters of the {@code
+ * RecipeService} call they were made for (see {@link RecipeServiceMetrics#currentFilters()}).
+ */
+public class RecipeRepositoryMetrics implements RepositoryMethodInvocationListener {
+
+  /** Timer of repository calls. */
+  public static final String TIMER_NAME = "recipe.repository";
+
+  private final Supplier<MeterRegistry> meterRegistry;
+
+  /**
+   * Creates the listener.
+   *
+   * @param meterRegistry registry the timers are registered with, resolved on first use
+   */
+  public RecipeRepositoryMetrics(Supplier<MeterRegistry> meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void afterInvocation(RepositoryMethodInvocation invocation) {
+    RepositoryMethodInvocationResult result = invocation.getResult();
+    Throwable error = result == null ? null : result.getError();
+    String exception = error == null ? RecipeServiceMetrics.NONE : error.getClass().getSimpleName();
+    Timer.builder(TIMER_NAME)
+        .description("Duration of repository calls")
+        .tag("repository", invocation.getRepositoryInterface().getSimpleName())
+        .tag("method", invocation.getMethod().getName())
+        .tag("filters", RecipeServiceMetrics.currentFilters())
+        .tag("state", result == null ? "UNKNOWN" : result.getState().name())
+        .tag("exception", exception)
+        .publishPercentileHistogram()
+        .register(meterRegistry.get())
+        .record(invocation.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+  }
+}
@@ -0,0 +1,190 @@
+package org.amoscoats.recipemanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.amoscoats.recipemanager.dto.RecipeBatch;
+import org.amoscoats.recipemanager.dto.RecipePage;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Times {@code RecipeService} calls and records the number of recipes they return.
+ *
+ * <p>Both meters are tagged with the service method and the filter parameters the call used, so
+ * latency percentiles can be compared per filter combination. The {@code filters} tag lists the
+ * used parameters in declaration order, e.g. {@code vegetarian,includeIngredients}, or {@code
+ * none}. A filter counts as used if it is non-null and, for sets and text, non-empty. The filter
+ * tag of the running call is also available to repository metrics through {@link
+ * #currentFilters()}, and the first method a request calls names its {@link RequestStatistics}
+ * request type.
+ */
+public class RecipeServiceMetrics implements MethodInterceptor {
+
+  /** Timer of service calls. */
+  public static final String TIMER_NAME = "recipe.service";
+
+  /** Distribution of the number of recipes returned, deleted or exported per call. */
+  public static final String RESULTS_NAME = "recipe.service.results";
+
+  /** Tag value for absent filters, matches and exceptions. */
+  public static final String NONE = "none";
+
+  private static final List<String> FILTER_PARAMETERS =
+      List.of("vegetarian", "servings", "includeIngredients", "excludeIngredients", "searchText");
+
+  private static final String MATCH_PARAMETER = "ingredientMatch";
+
+  private static final ThreadLocal<String> currentFilters = new ThreadLocal<>();
+
+  private final Supplier<MeterRegistry> meterRegistry;
+  private final Map<Method, FilterParameters> filterParameters = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the interceptor.
+   *
+   * @param meterRegistry registry the meters are registered with, resolved on first use
+   */
+  public RecipeServiceMetrics(Supplier<MeterRegistry> meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Returns the {@code filters} tag of the service call running on this thread.
+   *
+   * @return used filter parameters, or {@value #NONE} outside a service call
+   */
+  public static String currentFilters() {
+    String filters = currentFilters.get();
+    return filters == null ? NONE : filters;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    Method method = invocation.getMethod();
+    Object[] arguments = invocation.getArguments();
+    FilterParameters parameters = filterParameters.computeIfAbsent(method, FilterParameters::of);
+    String filters = parameters.usedFilters(arguments);
+    String match = parameters.match(arguments);
+
+    RequestStatistics.operation(method.getName());
+    MeterRegistry registry = meterRegistry.get();
+    String previousFilters = currentFilters.get();
+    currentFilters.set(filters);
+    Timer.Sample sample = Timer.start(registry);
+    String exception = NONE;
+    try {
+      Object result = invocation.proceed();
+      long size = resultSize(result);
+      if (size >= 0) {
+        DistributionSummary.builder(RESULTS_NAME)
+            .description("Recipes returned, deleted or exported per RecipeService call")
+            .baseUnit("recipes")
+            .tag("method", method.getName())
+            .tag("filters", filters)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(size);
+      }
+      return result;
+    } catch (Throwable ex) {
+      exception = ex.getClass().getSimpleName();
+      throw ex;
+    } finally {
+      sample.stop(
+          Timer.builder(TIMER_NAME)
+              .description("Duration of RecipeService calls")
+              .tag("method", method.getName())
+              .tag("filters", filters)
+              .tag(MATCH_PARAMETER, match)
+              .tag("exception", exception)
+              .publishPercentileHistogram()
+              .register(registry));
+      if (previousFilters == null) {
+        currentFilters.remove();
+      } else {
+        currentFilters.set(previousFilters);
+      }
+    }
+  }
+
+  /** Returns the number of recipes in a result, or -1 if it does not hold recipes. */
+  static long resultSize(Object result) {
+    return switch (result) {
+      case Collection<?> recipes -> recipes.size();
+      case RecipePage page -> page.recipes().size();
+      case RecipeBatch batch -> batch.recipes().size();
+      case Integer count -> count;
+      case Long count -> count;
+      case null, default -> -1;
+    };
+  }
+
+  private static boolean isUsed(Object argument) {
+    return switch (argument) {
+      case null -> false;
+      case Collection<?> values -> !values.isEmpty();
+      case String text -> !text.isEmpty();
+      default -> true;
+    };
+  }
+
+  /**
+   * Positions of the filter parameters of a method and the tag value of every combination of
+   * them, so tagging a call builds no strings.
+   */
+  private record FilterParameters(int[] positions, String[] tagsByMask, int matchPosition) {
+
+    static FilterParameters of(Method method) {
+      Parameter[] parameters = method.getParameters();
+      List<Integer> positions = new ArrayList<>();
+      List<String> names = new ArrayList<>();
+      int matchPosition = -1;
+      for (int i = 0; i < parameters.length; i++) {
+        String name = parameters[i].getName();
+        if (FILTER_PARAMETERS.contains(name)) {
+          positions.add(i);
+          names.add(name);
+        } else if (MATCH_PARAMETER.equals(name)) {
+          matchPosition = i;
+        }
+      }
+      String[] tagsByMask = new String[1 << names.size()];
+      for (int mask = 0; mask < tagsByMask.length; mask++) {
+        StringJoiner tag = new StringJoiner(",").setEmptyValue(NONE);
+        for (int bit = 0; bit < names.size(); bit++) {
+          if ((mask & 1 << bit) != 0) {
+            tag.add(names.get(bit));
+          }
+        }
+        tagsByMask[mask] = tag.toString();
+      }
+      return new FilterParameters(
+          positions.stream().mapToInt(Integer::intValue).toArray(), tagsByMask, matchPosition);
+    }
+
+    String usedFilters(Object[] arguments) {
+      int mask = 0;
+      for (int bit = 0; bit < positions.length; bit++) {
+        if (isUsed(arguments[positions[bit]])) {
+          mask |= 1 << bit;
+        }
+      }
+      return tagsByMask[mask];
+    }
+
+    String match(Object[] arguments) {
+      Object match = matchPosition < 0 ? null : arguments[matchPosition];
+      return match == null ? NONE : match.toString();
+    }
+  }
+}
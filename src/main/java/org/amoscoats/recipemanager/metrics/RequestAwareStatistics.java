@@ -0,0 +1,40 @@
+package org.amoscoats.recipemanager.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate statistics that also count entity loads, collection fetches and query cache accesses
+ * for the current request (see {@link RequestStatistics}). Hibernate only reports these events
+ * when {@code hibernate.generate_statistics} is enabled.
+ */
+public class RequestAwareStatistics extends StatisticsImpl {
+
+  public RequestAwareStatistics(SessionFactoryImplementor sessionFactory) {
+    super(sessionFactory);
+  }
+
+  @Override
+  public void loadEntity(String entityName) {
+    super.loadEntity(entityName);
+    RequestStatistics.entityLoaded();
+  }
+
+  @Override
+  public void fetchCollection(String role) {
+    super.fetchCollection(role);
+    RequestStatistics.collectionFetched();
+  }
+
+  @Override
+  public void queryCacheHit(String hql, String regionName) {
+    super.queryCacheHit(hql, regionName);
+    RequestStatistics.queryCacheAccessed(true);
+  }
+
+  @Override
+  public void queryCacheMiss(String hql, String regionName) {
+    super.queryCacheMiss(hql, regionName);
+    RequestStatistics.queryCacheAccessed(false);
+  }
+}
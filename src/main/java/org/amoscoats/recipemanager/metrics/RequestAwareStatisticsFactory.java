@@ -0,0 +1,14 @@
+package org.amoscoats.recipemanager.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/** Creates {@link RequestAwareStatistics}; configured through {@code hibernate.stats.factory}. */
+public class RequestAwareStatisticsFactory implements StatisticsFactory {
+
+  @Override
+  public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+    return new RequestAwareStatistics(sessionFactory);
+  }
+}
@@ -0,0 +1,120 @@
+package org.amoscoats.recipemanager.metrics;
+
+/**
+ * JDBC and Hibernate activity of the request handled on the current thread.
+ *
+ * <p>Instances are confined to the request thread, so the counters are plain fields. Activity
+ * outside a request, such as startup work and event listeners, is not counted.
+ */
+public final class RequestStatistics {
+
+  private static final ThreadLocal<RequestStatistics> current = new ThreadLocal<>();
+
+  private final String route;
+  private String operation;
+  private long statements;
+  private long entityLoads;
+  private long collectionFetches;
+  private long queryCacheHits;
+  private long queryCacheMisses;
+
+  private RequestStatistics(String route) {
+    this.route = route;
+  }
+
+  /**
+   * Starts counting for a request on the current thread.
+   *
+   * @param route method and route pattern of the request, e.g. {@code GET /api/recipes}
+   */
+  static void begin(String route) {
+    current.set(new RequestStatistics(route));
+  }
+
+  /**
+   * Stops counting on the current thread.
+   *
+   * @return the counters of the request, or {@code null} if none was started
+   */
+  static RequestStatistics end() {
+    RequestStatistics statistics = current.get();
+    current.remove();
+    return statistics;
+  }
+
+  /**
+   * Returns the request type of the current thread, for attributing slow queries.
+   *
+   * @return route and service operation, or {@code null} outside a request
+   */
+  static String currentRequestType() {
+    RequestStatistics statistics = current.get();
+    return statistics == null ? null : statistics.requestType();
+  }
+
+  /** Records the first service operation of the current request, which names its type. */
+  static void operation(String operation) {
+    RequestStatistics statistics = current.get();
+    if (statistics != null && statistics.operation == null) {
+      statistics.operation = operation;
+    }
+  }
+
+  static void statementExecuted() {
+    RequestStatistics statistics = current.get();
+    if (statistics != null) {
+      statistics.statements++;
+    }
+  }
+
+  static void entityLoaded() {
+    RequestStatistics statistics = current.get();
+    if (statistics != null) {
+      statistics.entityLoads++;
+    }
+  }
+
+  static void collectionFetched() {
+    RequestStatistics statistics = current.get();
+    if (statistics != null) {
+      statistics.collectionFetches++;
+    }
+  }
+
+  static void queryCacheAccessed(boolean hit) {
+    RequestStatistics statistics = current.get();
+    if (statistics == null) {
+      return;
+    }
+    if (hit) {
+      statistics.queryCacheHits++;
+    } else {
+      statistics.queryCacheMisses++;
+    }
+  }
+
+  /** Route followed by the service operation, e.g. {@code GET /api/recipes filterRecipes}. */
+  String requestType() {
+    return operation == null ? route : route + " " + operation;
+  }
+
+  long statements() {
+    return statements;
+  }
+
+  long entityLoads() {
+    return entityLoads;
+  }
+
+  long collectionFetches() {
+    return collectionFetches;
+  }
+
+  long queryCacheHits() {
+    return queryCacheHits;
+  }
+
+  long queryCacheMisses() {
+    return queryCacheMisses;
+  }
+}
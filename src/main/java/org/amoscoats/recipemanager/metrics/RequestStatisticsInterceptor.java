@@ -0,0 +1,139 @@
+package org.amoscoats.recipemanager.metrics;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the JDBC and Hibernate activity of every API request and totals it per request type.
+ *
+ * <p>A request type is the method and route pattern followed by the first {@code RecipeService}
+ * operation the request called, e.g. {@code GET /api/recipes filterRecipes}, so the list endpoint
+ * is reported separately for each of the service methods behind it. Work done after an async
+ * request has been handed off, such as a streaming export, is not counted, and the async
+ * re-dispatch that completes it does not count as another request.
+ */
+@Component
+public class RequestStatisticsInterceptor implements AsyncHandlerInterceptor {
+
+  private final Map<String, Totals> totals = new ConcurrentHashMap<>();
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (request.getDispatcherType() == DispatcherType.ASYNC) {
+      // The request was counted when it was first dispatched
+      return true;
+    }
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    RequestStatistics.begin(request.getMethod() + " " + (pattern == null ? "UNMATCHED" : pattern));
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    finish();
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (request.getDispatcherType() != DispatcherType.ASYNC) {
+      finish();
+    }
+  }
+
+  /**
+   * Returns the totals of every request type seen since startup or the last reset.
+   *
+   * @return statistics keyed by request type, in request type order
+   */
+  public Map<String, RequestTypeStatistics> snapshot() {
+    Map<String, RequestTypeStatistics> snapshot = new TreeMap<>();
+    totals.forEach((requestType, total) -> snapshot.put(requestType, total.snapshot()));
+    return snapshot;
+  }
+
+  /** Discards all totals. */
+  public void reset() {
+    totals.clear();
+  }
+
+  private void finish() {
+    RequestStatistics statistics = RequestStatistics.end();
+    if (statistics != null) {
+      totals.computeIfAbsent(statistics.requestType(), requestType -> new Totals()).add(statistics);
+    }
+  }
+
+  /**
+   * Activity of one request type.
+   *
+   * @param requests number of requests
+   * @param statements SQL statements executed
+   * @param statementsPerRequest average number of statements per request
+   * @param maxStatements most statements executed by a single request
+   * @param entityLoads entities loaded by Hibernate
+   * @param collectionFetches collections initialized by Hibernate
+   * @param queryCacheHits query cache hits
+   * @param queryCacheMisses query cache misses
+   * @param queryCacheHitRatio share of query cache accesses that hit, {@code null} without any
+   */
+  public record RequestTypeStatistics(
+      long requests,
+      long statements,
+      double statementsPerRequest,
+      long maxStatements,
+      long entityLoads,
+      long collectionFetches,
+      long queryCacheHits,
+      long queryCacheMisses,
+      Double queryCacheHitRatio) {}
+
+  private static final class Totals {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+    private final LongAdder entityLoads = new LongAdder();
+    private final LongAdder collectionFetches = new LongAdder();
+    private final LongAdder queryCacheHits = new LongAdder();
+    private final LongAdder queryCacheMisses = new LongAdder();
+
+    void add(RequestStatistics statistics) {
+      requests.increment();
+      statements.add(statistics.statements());
+      maxStatements.accumulate(statistics.statements());
+      entityLoads.add(statistics.entityLoads());
+      collectionFetches.add(statistics.collectionFetches());
+      queryCacheHits.add(statistics.queryCacheHits());
+      queryCacheMisses.add(statistics.queryCacheMisses());
+    }
+
+    RequestTypeStatistics snapshot() {
+      long requestCount = requests.sum();
+      long statementCount = statements.sum();
+      long hits = queryCacheHits.sum();
+      long misses = queryCacheMisses.sum();
+      return new RequestTypeStatistics(
+          requestCount,
+          statementCount,
+          requestCount == 0 ? 0 : (double) statementCount / requestCount,
+          maxStatements.get(),
+          entityLoads.sum(),
+          collectionFetches.sum(),
+          hits,
+          misses,
+          hits + misses == 0 ? null : (double) hits / (hits + misses));
+    }
+  }
+}
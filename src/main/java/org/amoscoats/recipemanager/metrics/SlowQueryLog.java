@@ -0,0 +1,127 @@
+package org.amoscoats.recipemanager.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ring buffer of the most recent SQL statements that took at least the slow query threshold.
+ *
+ * <p>Statements are kept with their SQL and the types of their bind parameters, never the values,
+ * so the buffer holds no recipe data.
+ */
+@Slf4j
+@Component
+public class SlowQueryLog {
+
+  /**
+   * A statement execution that exceeded the threshold.
+   *
+   * @param executedAt when the execution finished
+   * @param durationMillis execution time in milliseconds
+   * @param requestType request type that issued the statement, {@code null} outside a request
+   * @param sql SQL as sent to the driver
+   * @param parameters types of the bind parameters by position
+   * @param batchSize number of parameter sets, 1 unless the statement was batched
+   */
+  public record SlowQuery(
+      Instant executedAt,
+      long durationMillis,
+      String requestType,
+      String sql,
+      List<String> parameters,
+      int batchSize) {}
+
+  private final long thresholdNanos;
+  private final SlowQuery[] entries;
+  private final Lock lock = new ReentrantLock();
+  private int next;
+  private int size;
+
+  public SlowQueryLog(
+      @Value("${recipe.statistics.slow-query-threshold:200ms}") Duration threshold,
+      @Value("${recipe.statistics.slow-query-capacity:100}") int capacity) {
+    this.thresholdNanos = threshold.toNanos();
+    this.entries = new SlowQuery[capacity];
+  }
+
+  /**
+   * Tells whether an execution time exceeds the threshold.
+   *
+   * @param durationNanos execution time
+   * @return true if the execution should be recorded
+   */
+  public boolean isSlow(long durationNanos) {
+    return durationNanos >= thresholdNanos;
+  }
+
+  /** Returns the slow query threshold. */
+  public Duration threshold() {
+    return Duration.ofNanos(thresholdNanos);
+  }
+
+  /**
+   * Records a slow execution, replacing the oldest one if the buffer is full.
+   *
+   * @param sql statement SQL
+   * @param parameters types of the bind parameters by position
+   * @param batchSize number of parameter sets, 1 unless batched
+   * @param durationNanos execution time
+   */
+  public void record(String sql, List<String> parameters, int batchSize, long durationNanos) {
+    String requestType = RequestStatistics.currentRequestType();
+    long durationMillis = Duration.ofNanos(durationNanos).toMillis();
+    log.warn("Slow query took {} ms for {}: {}", durationMillis, requestType, sql);
+    SlowQuery query =
+        new SlowQuery(
+            Instant.now(), durationMillis, requestType, sql, List.copyOf(parameters), batchSize);
+    if (entries.length == 0) {
+      return;
+    }
+    lock.lock();
+    try {
+      entries[next] = query;
+      next = (next + 1) % entries.length;
+      size = Math.min(size + 1, entries.length);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the recorded executions.
+   *
+   * @return slow executions, most recent first
+   */
+  public List<SlowQuery> recent() {
+    lock.lock();
+    try {
+      List<SlowQuery> recent = new ArrayList<>(size);
+      for (int i = 1; i <= size; i++) {
+        recent.add(entries[(next - i + entries.length) % entries.length]);
+      }
+      return recent;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Discards all recorded executions. */
+  public void clear() {
+    lock.lock();
+    try {
+      Arrays.fill(entries, null);
+      next = 0;
+      size = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -1,11 +1,74 @@
 package org.amoscoats.recipemanager.repository;
 
+import java.util.Collection;
+import java.util.Optional;
 import org.amoscoats.recipemanager.entity.Recipe;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /** Repository interface for Recipe entity. */
 @Repository
 public interface RecipeRepository
-    extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe> {}
+    extends JpaRepository<Recipe, Long>,
+        JpaSpecificationExecutor<Recipe>,
+        RecipeRepositoryCustom {
+
+  /**
+   * Finds a recipe together with its ingredients in a single query.
+   *
+   * @param id recipe ID
+   * @return the recipe with initialized ingredients, if it exists
+   */
+  @EntityGraph(attributePaths = "ingredients")
+  Optional<Recipe> findWithIngredientsById(Long id);
+
+  /**
+   * Reads only the version of a recipe, so a conditional request can be answered without loading
+   * the recipe and its ingredients.
+   *
+   * @param id recipe ID
+   * @return the recipe version, if the recipe exists
+   */
+  @Query("select r.version from Recipe r where r.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  /**
+   * Deletes a recipe with a single statement. Ingredient rows are removed by the {@code ON DELETE
+   * CASCADE} of their foreign key, so nothing is loaded first. Pending changes are flushed and the
+   * persistence context is cleared, so no stale copy of the recipe survives the statement.
+   *
+   * @param id recipe ID
+   * @return number of deleted recipes, {@code 0} if it did not exist
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(value = "DELETE FROM recipes WHERE id = :id", nativeQuery = true)
+  int deleteRecipeById(@Param("id") Long id);
+
+  /**
+   * Deletes a recipe with a single statement if it is still at the given version.
+   *
+   * @param id recipe ID
+   * @param version expected version
+   * @return number of deleted recipes, {@code 0} if it did not exist or has another version
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      value = "DELETE FROM recipes WHERE id = :id AND version = :version",
+      nativeQuery = true)
+  int deleteRecipeByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+  /**
+   * Deletes several recipes with a single statement, cascading to their ingredient rows.
+   *
+   * @param ids recipe IDs; unknown ones are ignored
+   * @return number of deleted recipes
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(value = "DELETE FROM recipes WHERE id IN (:ids)", nativeQuery = true)
+  int deleteRecipesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,100 @@
+package org.amoscoats.recipemanager.repository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.dto.RecipeField;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.entity.Recipe;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Custom repository operations that need direct access to the persistence context. */
+public interface RecipeRepositoryCustom {
+
+  /**
+   * Feeds every recipe matching the specification, ordered by id, to the given action.
+   *
+   * <p>Rows are read through a forward-only JDBC cursor with the given fetch size. Entities are
+   * handed to the action in chunks of {@link Recipe#INGREDIENT_BATCH_SIZE}, so lazily loaded
+   * ingredients are fetched once per chunk, and detached afterwards, so memory use stays constant
+   * regardless of the number of matching rows. Must be called within a transaction.
+   *
+   * @param spec filter specification
+   * @param fetchSize number of rows fetched from the database per round trip
+   * @param action callback invoked for each recipe
+   * @return number of recipes processed
+   */
+  long forEachRecipe(Specification<Recipe> spec, int fetchSize, Consumer<Recipe> action);
+
+  /**
+   * Inserts new recipes and their ingredients in bulk.
+   *
+   * <p>On PostgreSQL the rows are written with the {@code COPY} protocol after reserving ids from
+   * the recipe sequence; other databases fall back to persisting each entity. The generated ids
+   * are set on the given recipes. Must be called within a transaction.
+   *
+   * @param recipes new recipes without ids
+   * @return number of recipes inserted
+   */
+  int bulkInsert(List<Recipe> recipes);
+
+  /**
+   * Writes pending changes and detaches every managed entity, so long running bulk writes keep
+   * the persistence context, and the cost of dirty checking it, bounded. Must be called within a
+   * transaction.
+   */
+  void flushAndClear();
+
+  /**
+   * Reads only the requested fields of the recipes matching the specification, ordered by id.
+   *
+   * <p>Scalar fields are read with one query selecting just their columns, so large columns such
+   * as {@code instructions} are not transferred unless asked for. Ingredients, if requested, are
+   * read with one further query by the ids of the returned recipes; otherwise they are not touched.
+   *
+   * @param spec filter specification
+   * @param fields fields to read; the id is always read
+   * @param limit maximum number of recipes to return
+   * @return responses with only the requested fields set
+   */
+  List<RecipeResponse> findProjected(
+      Specification<Recipe> spec, Set<RecipeField> fields, int limit);
+
+  /**
+   * Whether the database provides the {@code search_vector} column used by {@link
+   * #fullTextSearchIds}. Only the PostgreSQL schema has it.
+   *
+   * @return true if full-text search is available
+   */
+  boolean supportsFullTextSearch();
+
+  /**
+   * Finds the ids of the recipes matching a PostgreSQL full-text query, most relevant first.
+   *
+   * <p>The query uses {@code websearch_to_tsquery} syntax (quoted phrases, {@code or}, {@code -}
+   * for negation) against the weighted {@code search_vector} column and is ranked with {@code
+   * ts_rank}; ties are broken by id so pages are stable. The remaining filters have the same
+   * meaning as in {@code RecipeSpecification}.
+   *
+   * @param searchText web search style query
+   * @param vegetarian filter by vegetarian status
+   * @param servings filter by number of servings
+   * @param includeIngredients ingredients that must be present
+   * @param excludeIngredients ingredients that must not be present
+   * @param ingredientMatch how ingredient filters are matched
+   * @param offset number of ranked results to skip
+   * @param limit maximum number of ids to return
+   * @return matching recipe ids in rank order
+   * @see #supportsFullTextSearch()
+   */
+  List<Long> fullTextSearchIds(
+      String searchText,
+      Boolean vegetarian,
+      Integer servings,
+      Set<String> includeIngredients,
+      Set<String> excludeIngredients,
+      IngredientMatch ingredientMatch,
+      long offset,
+      int limit);
+}
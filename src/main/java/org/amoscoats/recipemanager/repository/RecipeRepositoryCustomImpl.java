@@ -0,0 +1,360 @@
+package org.amoscoats.recipemanager.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.dto.RecipeField;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.index.IngredientDictionary;
+import org.amoscoats.recipemanager.specification.RecipeSpecification;
+import org.hibernate.jpa.HibernateHints;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Implementation of {@link RecipeRepositoryCustom} backed by the JPA entity manager. */
+@Slf4j
+@RequiredArgsConstructor
+class RecipeRepositoryCustomImpl implements RecipeRepositoryCustom {
+
+  private static final String RESERVE_ID_BLOCKS_SQL =
+      "SELECT nextval('recipes_seq') FROM generate_series(1, ?)";
+
+  private static final String COPY_RECIPES_SQL =
+      "COPY recipes (id, name, vegetarian, servings, instructions, ingredient_terms)"
+          + " FROM STDIN WITH (FORMAT csv)";
+
+  private static final String COPY_INGREDIENTS_SQL =
+      "COPY recipe_ingredient_ids (recipe_id, ingredient_id) FROM STDIN WITH (FORMAT csv)";
+
+  private static final String WEB_SEARCH_QUERY = "websearch_to_tsquery('english', ?)";
+
+  private static final String INGREDIENT_MATCH_SQL =
+      "EXISTS (SELECT 1 FROM recipe_ingredient_ids ri"
+          + " JOIN ingredients i ON i.id = ri.ingredient_id"
+          + " WHERE ri.recipe_id = r.id AND lower(i.name) LIKE ? ESCAPE '\\')";
+
+  private static final String INGREDIENT_TERMS_INCLUDE_SQL = "r.ingredient_terms @> ?::text[]";
+
+  private static final String INGREDIENT_TERMS_EXCLUDE_SQL =
+      "NOT r.ingredient_terms && ?::text[]";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final IngredientDictionary ingredientDictionary;
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public long forEachRecipe(Specification<Recipe> spec, int fetchSize, Consumer<Recipe> action) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Recipe> query = criteriaBuilder.createQuery(Recipe.class);
+    Root<Recipe> root = query.from(Recipe.class);
+    Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+    long count = 0;
+    List<Recipe> chunk = new ArrayList<>(Recipe.INGREDIENT_BATCH_SIZE);
+    try (Stream<Recipe> recipes =
+        entityManager
+            .createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream()) {
+      Iterator<Recipe> iterator = recipes.iterator();
+      while (iterator.hasNext()) {
+        chunk.add(iterator.next());
+        if (chunk.size() == Recipe.INGREDIENT_BATCH_SIZE || !iterator.hasNext()) {
+          count += processChunk(chunk, action);
+        }
+      }
+    }
+    log.debug("Streamed {} recipes with fetch size {}", count, fetchSize);
+    return count;
+  }
+
+  /**
+   * Hands a chunk of streamed recipes to the action and detaches them. The chunk stays attached
+   * until every recipe is processed, so the first ingredient access batch-loads the ingredients
+   * of the whole chunk instead of one recipe at a time.
+   */
+  private int processChunk(List<Recipe> chunk, Consumer<Recipe> action) {
+    chunk.forEach(action);
+    // Keep the persistence context from growing with the result set
+    chunk.forEach(entityManager::detach);
+    int size = chunk.size();
+    chunk.clear();
+    return size;
+  }
+
+  @Override
+  public int bulkInsert(List<Recipe> recipes) {
+    if (recipes.isEmpty()) {
+      return 0;
+    }
+    ingredientDictionary.register(
+        recipes.stream().flatMap(recipe -> recipe.getIngredients().stream()).toList());
+    if (!isPostgres()) {
+      log.debug("COPY not available, persisting {} recipes individually", recipes.size());
+      recipes.forEach(entityManager::persist);
+      entityManager.flush();
+      return recipes.size();
+    }
+
+    List<Long> ids = reserveIds(recipes.size());
+    StringBuilder recipeRows = new StringBuilder();
+    StringBuilder ingredientRows = new StringBuilder();
+    for (int i = 0; i < recipes.size(); i++) {
+      Recipe recipe = recipes.get(i);
+      recipe.setId(ids.get(i));
+      // COPY leaves the version to its column default
+      recipe.setVersion(0L);
+      recipe.refreshIngredientTerms();
+      recipeRows
+          .append(recipe.getId())
+          .append(',')
+          .append(csvQuote(recipe.getName()))
+          .append(',')
+          .append(recipe.getVegetarian())
+          .append(',')
+          .append(recipe.getServings())
+          .append(',')
+          .append(csvQuote(recipe.getInstructions()))
+          .append(',')
+          .append(csvQuote(arrayLiteral(Arrays.asList(recipe.getIngredientTerms()))))
+          .append('\n');
+      for (String ingredient : recipe.getIngredients()) {
+        ingredientRows
+            .append(recipe.getId())
+            .append(',')
+            .append(ingredientDictionary.idOf(ingredient))
+            .append('\n');
+      }
+    }
+
+    jdbcTemplate.execute(
+        (ConnectionCallback<Void>)
+            connection -> {
+              CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+              try {
+                long recipeCount =
+                    copyManager.copyIn(COPY_RECIPES_SQL, new StringReader(recipeRows.toString()));
+                long ingredientCount =
+                    copyManager.copyIn(
+                        COPY_INGREDIENTS_SQL, new StringReader(ingredientRows.toString()));
+                log.debug("Copied {} recipes and {} ingredients", recipeCount, ingredientCount);
+              } catch (IOException ex) {
+                throw new SQLException("COPY into recipes failed", ex);
+              }
+              return null;
+            });
+    return recipes.size();
+  }
+
+  @Override
+  public List<RecipeResponse> findProjected(
+      Specification<Recipe> spec, Set<RecipeField> fields, int limit) {
+    List<RecipeField> columns =
+        fields.stream()
+            .filter(field -> field != RecipeField.ID && field != RecipeField.INGREDIENTS)
+            .toList();
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+    Root<Recipe> root = query.from(Recipe.class);
+    List<Selection<?>> selections = new ArrayList<>();
+    selections.add(root.get("id"));
+    columns.forEach(field -> selections.add(root.get(field.property())));
+    query.multiselect(selections);
+    Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+    Map<Long, RecipeResponse> responses = new LinkedHashMap<>();
+    for (Tuple tuple : entityManager.createQuery(query).setMaxResults(limit).getResultList()) {
+      RecipeResponse response = new RecipeResponse();
+      response.setId(tuple.get(0, Long.class));
+      for (int i = 0; i < columns.size(); i++) {
+        Object value = tuple.get(i + 1);
+        switch (columns.get(i)) {
+          case NAME -> response.setName((String) value);
+          case VEGETARIAN -> response.setVegetarian((Boolean) value);
+          case SERVINGS -> response.setServings((Integer) value);
+          case INSTRUCTIONS -> response.setInstructions((String) value);
+          default -> throw new IllegalStateException("Not a column: " + columns.get(i));
+        }
+      }
+      responses.put(response.getId(), response);
+    }
+    if (fields.contains(RecipeField.INGREDIENTS) && !responses.isEmpty()) {
+      responses.values().forEach(response -> response.setIngredients(new HashSet<>()));
+      readIngredients(responses);
+    }
+    log.debug("Read fields {} of {} recipes", fields, responses.size());
+    return new ArrayList<>(responses.values());
+  }
+
+  /**
+   * Reads the ingredients of the projected recipes by their ids. The ids are at most one page, and
+   * unlike repeating the filter this cannot pick up recipes that started matching after the first
+   * query.
+   */
+  private void readIngredients(Map<Long, RecipeResponse> responses) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+    Root<Recipe> root = query.from(Recipe.class);
+    Join<Recipe, String> ingredient = root.join("ingredients");
+    query.multiselect(root.get("id"), ingredient);
+    query.where(root.get("id").in(responses.keySet()));
+    for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+      responses.get(tuple.get(0, Long.class)).getIngredients().add(tuple.get(1, String.class));
+    }
+  }
+
+  @Override
+  public void flushAndClear() {
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Override
+  public boolean supportsFullTextSearch() {
+    return isPostgres();
+  }
+
+  @Override
+  public List<Long> fullTextSearchIds(
+      String searchText,
+      Boolean vegetarian,
+      Integer servings,
+      Set<String> includeIngredients,
+      Set<String> excludeIngredients,
+      IngredientMatch ingredientMatch,
+      long offset,
+      int limit) {
+    StringBuilder sql =
+        new StringBuilder("SELECT r.id FROM recipes r WHERE r.search_vector @@ ")
+            .append(WEB_SEARCH_QUERY);
+    List<Object> args = new ArrayList<>();
+    args.add(searchText);
+    if (vegetarian != null) {
+      sql.append(" AND r.vegetarian = ?");
+      args.add(vegetarian);
+    }
+    if (servings != null) {
+      sql.append(" AND r.servings = ?");
+      args.add(servings);
+    }
+    if (ingredientMatch == IngredientMatch.EXACT) {
+      if (includeIngredients != null && !includeIngredients.isEmpty()) {
+        sql.append(" AND ").append(INGREDIENT_TERMS_INCLUDE_SQL);
+        args.add(arrayLiteral(normalizedTerms(includeIngredients)));
+      }
+      if (excludeIngredients != null && !excludeIngredients.isEmpty()) {
+        sql.append(" AND ").append(INGREDIENT_TERMS_EXCLUDE_SQL);
+        args.add(arrayLiteral(normalizedTerms(excludeIngredients)));
+      }
+    } else {
+      appendContainsFilters(sql, args, includeIngredients, excludeIngredients);
+    }
+    sql.append(" ORDER BY ts_rank(r.search_vector, ")
+        .append(WEB_SEARCH_QUERY)
+        .append(") DESC, r.id LIMIT ? OFFSET ?");
+    args.add(searchText);
+    args.add(limit);
+    args.add(offset);
+    return jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+  }
+
+  /**
+   * Appends the substring ingredient filters with the same {@code EXISTS} predicate the
+   * specification path uses ({@code recipe_has_ingredient_like}), so every term is matched in the
+   * search statement itself with a bound pattern.
+   */
+  private static void appendContainsFilters(
+      StringBuilder sql,
+      List<Object> args,
+      Set<String> includeIngredients,
+      Set<String> excludeIngredients) {
+    if (includeIngredients != null) {
+      for (String ingredient : includeIngredients) {
+        sql.append(" AND ").append(INGREDIENT_MATCH_SQL);
+        args.add(RecipeSpecification.containsPattern(ingredient));
+      }
+    }
+    if (excludeIngredients != null) {
+      for (String ingredient : excludeIngredients) {
+        sql.append(" AND NOT ").append(INGREDIENT_MATCH_SQL);
+        args.add(RecipeSpecification.containsPattern(ingredient));
+      }
+    }
+  }
+
+  private static List<String> normalizedTerms(Set<String> ingredients) {
+    return ingredients.stream().map(Recipe::normalizeIngredient).distinct().toList();
+  }
+
+  private boolean isPostgres() {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.execute(
+            (ConnectionCallback<Boolean>)
+                connection -> connection.isWrapperFor(PGConnection.class)));
+  }
+
+  /**
+   * Reserves ids from the pooled recipe sequence. Like Hibernate's pooled optimizer, each
+   * sequence value is treated as the upper bound of a block of {@link Recipe#ID_ALLOCATION_SIZE}
+   * ids, so bulk and JPA inserts never hand out the same id.
+   */
+  private List<Long> reserveIds(int count) {
+    int blocks = (count + Recipe.ID_ALLOCATION_SIZE - 1) / Recipe.ID_ALLOCATION_SIZE;
+    List<Long> blockEnds = jdbcTemplate.queryForList(RESERVE_ID_BLOCKS_SQL, Long.class, blocks);
+    List<Long> ids = new ArrayList<>(blocks * Recipe.ID_ALLOCATION_SIZE);
+    for (Long blockEnd : blockEnds) {
+      for (long id = blockEnd - Recipe.ID_ALLOCATION_SIZE + 1; id <= blockEnd; id++) {
+        ids.add(id);
+      }
+    }
+    return ids;
+  }
+
+  /** Formats values as a PostgreSQL array literal, e.g. {@code {"basil","olive oil"}}. */
+  private static String arrayLiteral(List<String> values) {
+    return values.stream()
+        .map(value -> '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"')
+        .collect(Collectors.joining(",", "{", "}"));
+  }
+
+  private static String csvQuote(String value) {
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
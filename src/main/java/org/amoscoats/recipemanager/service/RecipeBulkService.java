@@ -0,0 +1,341 @@
+package org.amoscoats.recipemanager.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.dto.RecipeBulkRequest;
+import org.amoscoats.recipemanager.dto.RecipeBulkRequest.Mode;
+import org.amoscoats.recipemanager.dto.RecipeBulkResponse;
+import org.amoscoats.recipemanager.dto.RecipeBulkResponse.OperationResult;
+import org.amoscoats.recipemanager.dto.RecipeOperation;
+import org.amoscoats.recipemanager.dto.RecipeRequest;
+import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.event.RecipeChangedEvent;
+import org.amoscoats.recipemanager.event.RecipesChangedEvent;
+import org.amoscoats.recipemanager.index.IngredientDictionary;
+import org.amoscoats.recipemanager.mapper.RecipeMapper;
+import org.amoscoats.recipemanager.repository.RecipeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service applying ordered lists of recipe creates, updates and deletes.
+ *
+ * <p>Operations are validated up front and then applied in chunks. Each chunk loads the recipes it
+ * updates or deletes with one query, inserts its new recipes through {@link
+ * RecipeRepository#bulkInsert(List)}, flushes its updates as JDBC batches and removes its deleted
+ * recipes with one statement. In {@link Mode#ALL_OR_NOTHING} all chunks share one transaction
+ * that is rolled back if any operation fails; in {@link Mode#BEST_EFFORT} every chunk commits on
+ * its own and a chunk rejected by the database is retried one operation at a time.
+ */
+@Slf4j
+@Service
+public class RecipeBulkService {
+
+  private static final int CREATED = 201;
+  private static final int UPDATED = 200;
+  private static final int DELETED = 204;
+  private static final int INVALID = 400;
+  private static final int NOT_FOUND = 404;
+  private static final int CONFLICT = 409;
+  private static final int ROLLED_BACK = 424;
+
+  private final RecipeRepository recipeRepository;
+  private final RecipeMapper recipeMapper;
+  private final IngredientDictionary ingredientDictionary;
+  private final Validator validator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+  private final int maxOperations;
+
+  public RecipeBulkService(
+      RecipeRepository recipeRepository,
+      RecipeMapper recipeMapper,
+      IngredientDictionary ingredientDictionary,
+      Validator validator,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      @Value("${recipe.bulk.chunk-size:500}") int chunkSize,
+      @Value("${recipe.bulk.max-operations:10000}") int maxOperations) {
+    this.recipeRepository = recipeRepository;
+    this.recipeMapper = recipeMapper;
+    this.ingredientDictionary = ingredientDictionary;
+    this.validator = validator;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+    this.maxOperations = maxOperations;
+  }
+
+  /**
+   * Applies the operations of a bulk request in order.
+   *
+   * @param request operations and failure mode
+   * @return outcome of every operation
+   * @throws IllegalArgumentException if the request has more operations than allowed
+   */
+  public RecipeBulkResponse apply(RecipeBulkRequest request) {
+    List<RecipeOperation> operations = request.getOperations();
+    if (operations.size() > maxOperations) {
+      throw new IllegalArgumentException(
+          "At most " + maxOperations + " operations can be applied at once");
+    }
+    log.info(
+        "Applying {} recipe operations in {} mode with chunk size {}",
+        operations.size(),
+        request.getMode(),
+        chunkSize);
+    OperationResult[] results = new OperationResult[operations.size()];
+    boolean valid = validate(operations, results);
+
+    if (request.getMode() == Mode.BEST_EFFORT) {
+      for (int from = 0; from < operations.size(); from += chunkSize) {
+        int to = Math.min(from + chunkSize, operations.size());
+        applyChunkCommitting(operations, from, to, results);
+      }
+    } else if (valid) {
+      applyAllOrNothing(operations, results);
+    }
+    if (request.getMode() == Mode.ALL_OR_NOTHING) {
+      markRolledBack(operations, results);
+    }
+
+    RecipeBulkResponse response = new RecipeBulkResponse();
+    response.setResults(List.of(results));
+    for (OperationResult result : results) {
+      if (result.error() == null) {
+        response.setSucceeded(response.getSucceeded() + 1);
+      } else {
+        response.setFailed(response.getFailed() + 1);
+      }
+    }
+    log.info(
+        "Applied recipe operations - succeeded: {}, failed: {}",
+        response.getSucceeded(),
+        response.getFailed());
+    return response;
+  }
+
+  private void applyAllOrNothing(List<RecipeOperation> operations, OperationResult[] results) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            for (int from = 0; from < operations.size(); from += chunkSize) {
+              int to = Math.min(from + chunkSize, operations.size());
+              if (!applyChunk(operations, from, to, results)) {
+                status.setRollbackOnly();
+                return;
+              }
+            }
+          });
+    } catch (DataAccessException ex) {
+      String cause = ex.getMostSpecificCause().getMessage();
+      log.warn("Bulk request rolled back: {}", cause);
+      // The failing statement cannot be attributed to a single operation
+      for (int i = 0; i < results.length; i++) {
+        results[i] = failure(i, operations.get(i), CONFLICT, "Rejected by the database: " + cause);
+      }
+    }
+  }
+
+  /** Applies a chunk in its own transaction, isolating the failing operation if it is rejected. */
+  private void applyChunkCommitting(
+      List<RecipeOperation> operations, int from, int to, OperationResult[] results) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> applyChunk(operations, from, to, results));
+    } catch (DataAccessException ex) {
+      if (to - from == 1) {
+        String cause = ex.getMostSpecificCause().getMessage();
+        results[from] =
+            failure(from, operations.get(from), CONFLICT, "Rejected by the database: " + cause);
+        return;
+      }
+      log.warn("Bulk chunk {}-{} rejected, retrying its operations one at a time", from, to - 1);
+      for (int i = from; i < to; i++) {
+        if (results[i] == null || results[i].error() == null) {
+          results[i] = null;
+          applyChunkCommitting(operations, i, i + 1, results);
+        }
+      }
+    }
+  }
+
+  /**
+   * Applies the valid operations of {@code [from, to)} in the current transaction.
+   *
+   * @return false if an operation failed
+   */
+  private boolean applyChunk(
+      List<RecipeOperation> operations, int from, int to, OperationResult[] results) {
+    Set<Long> targetIds = new LinkedHashSet<>();
+    for (int i = from; i < to; i++) {
+      RecipeOperation operation = operations.get(i);
+      if (results[i] == null && operation.getType() != RecipeOperation.Type.CREATE) {
+        targetIds.add(operation.getId());
+      }
+    }
+    Map<Long, Recipe> existing = new HashMap<>();
+    for (Recipe recipe : recipeRepository.findAllById(targetIds)) {
+      existing.put(recipe.getId(), recipe);
+    }
+
+    boolean succeeded = true;
+    Map<Integer, Recipe> created = new LinkedHashMap<>();
+    Map<Long, Recipe> updated = new LinkedHashMap<>();
+    Set<Long> deletedIds = new LinkedHashSet<>();
+    for (int i = from; i < to; i++) {
+      if (results[i] != null) {
+        continue;
+      }
+      RecipeOperation operation = operations.get(i);
+      switch (operation.getType()) {
+        case CREATE -> created.put(i, recipeMapper.toEntity(operation.getRecipe()));
+        case UPDATE -> {
+          Recipe recipe = existing.get(operation.getId());
+          if (recipe == null) {
+            results[i] = notFound(i, operation);
+            succeeded = false;
+          } else {
+            RecipeRequest request = operation.getRecipe();
+            recipe.setName(request.getName());
+            recipe.setVegetarian(request.getVegetarian());
+            recipe.setServings(request.getServings());
+            recipe.setInstructions(request.getInstructions());
+            ingredientDictionary.register(request.getIngredients());
+            recipe.updateIngredients(request.getIngredients());
+            updated.put(recipe.getId(), recipe);
+            results[i] = new OperationResult(i, operation.getType(), recipe.getId(), UPDATED, null);
+          }
+        }
+        case DELETE -> {
+          if (existing.remove(operation.getId()) == null) {
+            results[i] = notFound(i, operation);
+            succeeded = false;
+          } else {
+            updated.remove(operation.getId());
+            deletedIds.add(operation.getId());
+            results[i] =
+                new OperationResult(i, operation.getType(), operation.getId(), DELETED, null);
+          }
+        }
+      }
+    }
+
+    recipeRepository.bulkInsert(new ArrayList<>(created.values()));
+    created.forEach(
+        (index, recipe) ->
+            results[index] =
+                new OperationResult(
+                    index, RecipeOperation.Type.CREATE, recipe.getId(), CREATED, null));
+    // Flush first so the events carry the incremented versions, and map before the persistence
+    // context is cleared; delivered only if the transaction commits
+    recipeRepository.flush();
+    List<RecipeChangedEvent> events = new ArrayList<>();
+    created.values().forEach(recipe -> events.add(saved(recipe)));
+    updated.values().forEach(recipe -> events.add(saved(recipe)));
+    deletedIds.forEach(id -> events.add(RecipeChangedEvent.deleted(id)));
+
+    recipeRepository.flushAndClear();
+    if (!deletedIds.isEmpty()) {
+      recipeRepository.deleteRecipesByIdIn(deletedIds);
+    }
+    if (!events.isEmpty()) {
+      eventPublisher.publishEvent(new RecipesChangedEvent(events));
+    }
+    log.debug(
+        "Applied bulk chunk {}-{}: {} created, {} updated, {} deleted",
+        from,
+        to - 1,
+        created.size(),
+        updated.size(),
+        deletedIds.size());
+    return succeeded;
+  }
+
+  private RecipeChangedEvent saved(Recipe recipe) {
+    return RecipeChangedEvent.saved(recipeMapper.toResponse(recipe));
+  }
+
+  /** Records a 400 result for every malformed operation. */
+  private boolean validate(List<RecipeOperation> operations, OperationResult[] results) {
+    boolean valid = true;
+    for (int i = 0; i < operations.size(); i++) {
+      String error = describeProblem(operations.get(i));
+      if (error != null) {
+        results[i] = failure(i, operations.get(i), INVALID, error);
+        valid = false;
+      }
+    }
+    return valid;
+  }
+
+  private String describeProblem(RecipeOperation operation) {
+    if (operation == null || operation.getType() == null) {
+      return "Operation type is required";
+    }
+    if (operation.getType() != RecipeOperation.Type.CREATE && operation.getId() == null) {
+      return "Recipe ID is required";
+    }
+    if (operation.getType() == RecipeOperation.Type.DELETE) {
+      return null;
+    }
+    if (operation.getRecipe() == null) {
+      return "Recipe details are required";
+    }
+    Set<ConstraintViolation<RecipeRequest>> violations = validator.validate(operation.getRecipe());
+    return violations.isEmpty() ? null : describe(violations);
+  }
+
+  /** Marks every successful or unprocessed operation of a failed all-or-nothing request. */
+  private static void markRolledBack(
+      List<RecipeOperation> operations, OperationResult[] results) {
+    int firstFailure = -1;
+    for (int i = 0; i < results.length && firstFailure < 0; i++) {
+      if (results[i] != null && results[i].error() != null) {
+        firstFailure = i;
+      }
+    }
+    if (firstFailure < 0) {
+      return;
+    }
+    String reason = "Rolled back because operation " + firstFailure + " failed";
+    for (int i = 0; i < results.length; i++) {
+      if (results[i] == null || results[i].error() == null) {
+        results[i] = failure(i, operations.get(i), ROLLED_BACK, reason);
+      }
+    }
+  }
+
+  private static OperationResult notFound(int index, RecipeOperation operation) {
+    return failure(
+        index, operation, NOT_FOUND, "Recipe not found with id: " + operation.getId());
+  }
+
+  private static OperationResult failure(
+      int index, RecipeOperation operation, int status, String error) {
+    return operation == null
+        ? new OperationResult(index, null, null, status, error)
+        : new OperationResult(index, operation.getType(), operation.getId(), status, error);
+  }
+
+  private static String describe(Set<ConstraintViolation<RecipeRequest>> violations) {
+    return violations.stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+}
@@ -0,0 +1,131 @@
+package org.amoscoats.recipemanager.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.config.CacheConfig;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.event.RecipeChangedEvent;
+import org.amoscoats.recipemanager.event.RecipesChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the recipe cache in line with committed writes.
+ *
+ * <p>Cached entries of updated recipes are replaced with the new state and deleted recipes are
+ * evicted. New recipes are not added, so writes never displace hot entries; they are cached on
+ * their first read. Acting after commit means a rolled back write never reaches the cache.
+ *
+ * <p>Readers cache what they loaded through {@link #cacheLoaded}. Every committed change bumps a
+ * generation first, and a load only reaches the cache if no change committed since it started,
+ * so a read that saw the state before a write cannot re-populate the cache after the write has
+ * been applied. Neither a read nor a refresh replaces a cached entry with an older version.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeCacheListener {
+
+  private final CacheManager cacheManager;
+
+  private final AtomicLong generation = new AtomicLong();
+
+  /**
+   * Returns the current write generation. Read it before loading recipes for {@link
+   * #cacheLoaded}.
+   *
+   * @return generation, incremented by every committed recipe change
+   */
+  public long generation() {
+    return generation.get();
+  }
+
+  /**
+   * Caches a recipe loaded from the database, unless a recipe change has committed since {@code
+   * loadedGeneration} was read or the cache already holds the same or a newer version.
+   *
+   * @param loadedGeneration {@link #generation()} read before the recipe was loaded
+   * @param recipe the loaded recipe
+   */
+  public void cacheLoaded(long loadedGeneration, RecipeResponse recipe) {
+    Cache cache = cacheManager.getCache(CacheConfig.RECIPES_CACHE);
+    if (cache == null) {
+      return;
+    }
+    if (cache instanceof CaffeineCache caffeineCache) {
+      // Check the generation under the entry lock, so the check and the put are atomic with
+      // respect to the refresh or eviction of a committing write
+      caffeineCache
+          .getNativeCache()
+          .asMap()
+          .compute(
+              recipe.getId(),
+              (id, cached) ->
+                  loadedGeneration == generation.get() && !isNewer(cached, recipe)
+                      ? recipe
+                      : cached);
+    } else if (loadedGeneration == generation.get()) {
+      cache.put(recipe.getId(), recipe);
+    }
+  }
+
+  /**
+   * Applies a committed recipe change to the cache.
+   *
+   * @param event the recipe change
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onRecipeChanged(RecipeChangedEvent event) {
+    apply(List.of(event));
+  }
+
+  /**
+   * Applies a committed batch of recipe changes to the cache, bumping the generation once.
+   *
+   * @param event the recipe changes
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onRecipesChanged(RecipesChangedEvent event) {
+    if (!event.changes().isEmpty()) {
+      apply(event.changes());
+    }
+  }
+
+  private void apply(List<RecipeChangedEvent> changes) {
+    // Bump before touching the cache so loads that started earlier can no longer be cached
+    generation.incrementAndGet();
+    Cache cache = cacheManager.getCache(CacheConfig.RECIPES_CACHE);
+    if (cache == null) {
+      return;
+    }
+    for (RecipeChangedEvent change : changes) {
+      if (change.type() == RecipeChangedEvent.Type.SAVED
+          && cache instanceof CaffeineCache caffeineCache) {
+        // Only refresh recipes that are already cached, and never with an older version
+        caffeineCache
+            .getNativeCache()
+            .asMap()
+            .computeIfPresent(
+                change.id(),
+                (id, cached) -> isNewer(cached, change.recipe()) ? cached : change.recipe());
+      } else {
+        cache.evict(change.id());
+      }
+    }
+    log.debug("Applied {} recipe changes to the cache", changes.size());
+  }
+
+  /** Whether the cached value is a version of the recipe at least as recent as the given one. */
+  private static boolean isNewer(Object cached, RecipeResponse recipe) {
+    return cached instanceof RecipeResponse cachedRecipe
+        && cachedRecipe.getVersion() != null
+        && recipe.getVersion() != null
+        && cachedRecipe.getVersion() >= recipe.getVersion();
+  }
+}
@@ -0,0 +1,85 @@
+package org.amoscoats.recipemanager.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque pagination cursors handed out to API clients.
+ *
+ * <p>A cursor wraps the id of the last recipe on a page so the next page can be fetched with a
+ * {@code WHERE id > ?} seek instead of an offset scan. Relevance-ranked full-text results have no
+ * stable seek key, so their cursors wrap a result offset instead; the two kinds are not
+ * interchangeable.
+ */
+public final class RecipeCursor {
+
+  private static final String PREFIX = "id:";
+
+  private static final String OFFSET_PREFIX = "offset:";
+
+  private RecipeCursor() {}
+
+  /**
+   * Encodes a position into an opaque cursor.
+   *
+   * @param position the position (last recipe id) to encode
+   * @return URL-safe cursor string
+   */
+  public static String encode(long position) {
+    return encode(PREFIX, position);
+  }
+
+  /**
+   * Decodes a cursor previously produced by {@link #encode(long)}.
+   *
+   * @param cursor the cursor string
+   * @return the encoded position
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  public static long decode(String cursor) {
+    return decode(PREFIX, cursor);
+  }
+
+  /**
+   * Encodes a result offset into an opaque cursor for ranked results.
+   *
+   * @param offset number of results already returned
+   * @return URL-safe cursor string
+   */
+  public static String encodeOffset(long offset) {
+    return encode(OFFSET_PREFIX, offset);
+  }
+
+  /**
+   * Decodes a cursor previously produced by {@link #encodeOffset(long)}.
+   *
+   * @param cursor the cursor string
+   * @return the encoded offset
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  public static long decodeOffset(String cursor) {
+    long offset = decode(OFFSET_PREFIX, cursor);
+    if (offset < 0) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+    return offset;
+  }
+
+  private static String encode(String prefix, long value) {
+    byte[] raw = (prefix + value).getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+  }
+
+  private static long decode(String prefix, String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      if (!raw.startsWith(prefix)) {
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+      }
+      return Long.parseLong(raw.substring(prefix.length()));
+    } catch (IllegalArgumentException ex) {
+      // NumberFormatException and Base64 decoding errors are both IllegalArgumentExceptions
+      throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package org.amoscoats.recipemanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.event.RecipeChangedEvent;
+import org.amoscoats.recipemanager.event.RecipesChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache of recipe filter results keyed by {@link RecipeFilterKey}.
+ *
+ * <p>Any committed recipe change can alter any filter result, so instead of tracking which
+ * entries a write affects, every write bumps a global version that is part of the cache key and
+ * clears the cache. A query that was already running when the version changed stores its result
+ * under the old version, where no later lookup will find it.
+ *
+ * <p>Entries are weighed by the number of recipes they hold, so {@code
+ * recipe.cache.filter-results.maximum-weight} bounds the total number of cached recipe responses.
+ */
+@Slf4j
+@Component
+public class RecipeFilterCache {
+
+  /** Name under which the cache statistics are published. */
+  public static final String CACHE_NAME = "recipeFilters";
+
+  private final AtomicLong version = new AtomicLong();
+  private final Cache<VersionedKey, List<RecipeResponse>> cache;
+  private final boolean enabled;
+
+  public RecipeFilterCache(
+      MeterRegistry meterRegistry,
+      @Value("${recipe.cache.filter-results.enabled:true}") boolean enabled,
+      @Value("${recipe.cache.filter-results.maximum-weight:100000}") long maximumWeight,
+      @Value("${recipe.cache.filter-results.expire-after-write:5m}") Duration expireAfterWrite) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher(
+                (VersionedKey key, List<RecipeResponse> recipes) -> Math.max(1, recipes.size()))
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    this.enabled = enabled;
+  }
+
+  /**
+   * Returns the cached result for the key, computing and caching it on a miss.
+   *
+   * @param key canonical filter criteria
+   * @param loader computes the result on a miss
+   * @return unmodifiable list of matching recipes
+   */
+  public List<RecipeResponse> get(RecipeFilterKey key, Supplier<List<RecipeResponse>> loader) {
+    if (!enabled) {
+      return List.copyOf(loader.get());
+    }
+    // Read the version before querying so a concurrent write can only make the result unreachable
+    VersionedKey versionedKey = new VersionedKey(version.get(), key);
+    List<RecipeResponse> cached = cache.getIfPresent(versionedKey);
+    if (cached != null) {
+      return cached;
+    }
+    // Query outside the cache's map lock, which would pin a virtual thread's carrier while it
+    // waits on JDBC; concurrent misses for the same key each run the query
+    List<RecipeResponse> result = List.copyOf(loader.get());
+    cache.put(versionedKey, result);
+    return result;
+  }
+
+  /**
+   * Invalidates all cached results once a recipe change has committed.
+   *
+   * @param event the recipe change
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onRecipeChanged(RecipeChangedEvent event) {
+    long newVersion = version.incrementAndGet();
+    cache.invalidateAll();
+    log.debug("Recipe {} changed, filter cache now at version {}", event.id(), newVersion);
+  }
+
+  /**
+   * Invalidates all cached results once, after a batch of recipe changes has committed.
+   *
+   * @param event the recipe changes
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onRecipesChanged(RecipesChangedEvent event) {
+    if (event.changes().isEmpty()) {
+      return;
+    }
+    long newVersion = version.incrementAndGet();
+    cache.invalidateAll();
+    log.debug(
+        "{} recipes changed, filter cache now at version {}", event.changes().size(), newVersion);
+  }
+
+  private record VersionedKey(long version, RecipeFilterKey key) {}
+}
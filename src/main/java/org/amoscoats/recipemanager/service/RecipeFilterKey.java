@@ -0,0 +1,63 @@
+package org.amoscoats.recipemanager.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+
+/**
+ * Canonical form of the criteria of a recipe filter query, used as a cache key.
+ *
+ * <p>Filters are matched case-insensitively and ingredient sets are unordered, so terms are
+ * lower-cased, ingredient lists sorted and de-duplicated, and empty filters normalized to {@code
+ * null}. Queries that are guaranteed to return the same recipes therefore map to equal keys.
+ *
+ * @param vegetarian vegetarian filter
+ * @param servings servings filter
+ * @param includeIngredients sorted lower-cased ingredients that must be present, or null
+ * @param excludeIngredients sorted lower-cased ingredients that must not be present, or null
+ * @param searchText lower-cased instruction search text, or null
+ * @param ingredientMatch how ingredient filters are matched, never null
+ */
+public record RecipeFilterKey(
+    Boolean vegetarian,
+    Integer servings,
+    List<String> includeIngredients,
+    List<String> excludeIngredients,
+    String searchText,
+    IngredientMatch ingredientMatch) {
+
+  /**
+   * Creates the canonical key for the given filter criteria.
+   *
+   * @param vegetarian filter by vegetarian status
+   * @param servings filter by number of servings
+   * @param includeIngredients ingredients that must be present
+   * @param excludeIngredients ingredients that must not be present
+   * @param searchText text to search in instructions
+   * @param ingredientMatch how ingredient filters are matched, {@code null} for the default
+   * @return canonical key
+   */
+  public static RecipeFilterKey of(
+      Boolean vegetarian,
+      Integer servings,
+      Set<String> includeIngredients,
+      Set<String> excludeIngredients,
+      String searchText,
+      IngredientMatch ingredientMatch) {
+    return new RecipeFilterKey(
+        vegetarian,
+        servings,
+        canonical(includeIngredients),
+        canonical(excludeIngredients),
+        searchText == null || searchText.isEmpty() ? null : searchText.toLowerCase(Locale.ROOT),
+        ingredientMatch == null ? IngredientMatch.CONTAINS : ingredientMatch);
+  }
+
+  private static List<String> canonical(Set<String> terms) {
+    if (terms == null || terms.isEmpty()) {
+      return null;
+    }
+    return terms.stream().map(term -> term.toLowerCase(Locale.ROOT)).distinct().sorted().toList();
+  }
+}
@@ -0,0 +1,271 @@
+package org.amoscoats.recipemanager.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.dto.RecipeImportResponse;
+import org.amoscoats.recipemanager.dto.RecipeImportResponse.BatchProgress;
+import org.amoscoats.recipemanager.dto.RecipeImportResponse.RejectedRow;
+import org.amoscoats.recipemanager.dto.RecipeRequest;
+import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.event.RecipeChangedEvent;
+import org.amoscoats.recipemanager.event.RecipesChangedEvent;
+import org.amoscoats.recipemanager.mapper.RecipeMapper;
+import org.amoscoats.recipemanager.repository.RecipeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Service for bulk recipe imports.
+ *
+ * <p>Input rows are parsed and validated one at a time and written in bounded batches, each in
+ * its own transaction, through {@link RecipeRepository#bulkInsert(List)}. Invalid rows are
+ * reported back instead of failing the whole import.
+ */
+@Slf4j
+@Service
+public class RecipeImportService {
+
+  /** Supported import formats. */
+  public enum Format {
+    /** One JSON recipe request per line. */
+    NDJSON,
+    /**
+     * Comma-separated values with a header row {@code
+     * name,vegetarian,servings,instructions,ingredients}; ingredients are separated by {@code |}.
+     * Each record must fit on a single line.
+     */
+    CSV
+  }
+
+  static final List<String> CSV_HEADER =
+      List.of("name", "vegetarian", "servings", "instructions", "ingredients");
+
+  private final RecipeRepository recipeRepository;
+  private final RecipeMapper recipeMapper;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public RecipeImportService(
+      RecipeRepository recipeRepository,
+      RecipeMapper recipeMapper,
+      Validator validator,
+      ObjectMapper objectMapper,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      @Value("${recipe.import.batch-size:1000}") int batchSize) {
+    this.recipeRepository = recipeRepository;
+    this.recipeMapper = recipeMapper;
+    this.validator = validator;
+    this.objectMapper = objectMapper;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Imports recipes from the given input.
+   *
+   * @param input NDJSON or CSV input
+   * @param format format of the input
+   * @return import summary with per-batch progress and rejected rows
+   * @throws IOException if the input cannot be read
+   */
+  public RecipeImportResponse importRecipes(Reader input, Format format) throws IOException {
+    log.info("Starting {} recipe import with batch size {}", format, batchSize);
+    RecipeImportResponse result = new RecipeImportResponse();
+    List<Recipe> batch = new ArrayList<>(batchSize);
+    List<Long> batchLines = new ArrayList<>(batchSize);
+
+    BufferedReader reader = new BufferedReader(input);
+    long lineNumber = 0;
+    String line;
+    if (format == Format.CSV) {
+      String header = reader.readLine();
+      lineNumber++;
+      if (header == null || !CSV_HEADER.equals(parseCsvLine(header.trim()))) {
+        throw new IllegalArgumentException("CSV header must be " + String.join(",", CSV_HEADER));
+      }
+    }
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank()) {
+        continue;
+      }
+      result.setTotalRows(result.getTotalRows() + 1);
+      RecipeRequest request;
+      try {
+        request = format == Format.CSV ? parseCsvRecipe(line) : parseNdjsonRecipe(line);
+      } catch (IllegalArgumentException ex) {
+        result.getRejectedRows().add(new RejectedRow(lineNumber, ex.getMessage()));
+        continue;
+      }
+      Set<ConstraintViolation<RecipeRequest>> violations = validator.validate(request);
+      if (!violations.isEmpty()) {
+        result.getRejectedRows().add(new RejectedRow(lineNumber, describe(violations)));
+        continue;
+      }
+      batch.add(recipeMapper.toEntity(request));
+      batchLines.add(lineNumber);
+      if (batch.size() >= batchSize) {
+        writeBatch(batch, batchLines, result);
+      }
+    }
+    writeBatch(batch, batchLines, result);
+
+    log.info(
+        "Finished recipe import - read: {}, imported: {}, rejected: {}",
+        result.getTotalRows(),
+        result.getImportedRows(),
+        result.getRejectedRows().size());
+    return result;
+  }
+
+  private void writeBatch(List<Recipe> batch, List<Long> batchLines, RecipeImportResponse result) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    int batchNumber = result.getBatches().size() + 1;
+    long start = System.nanoTime();
+    boolean committed;
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            recipeRepository.bulkInsert(batch);
+            // Delivered to after-commit listeners only if the batch commits, as one event so
+            // derived state is invalidated once per batch
+            List<RecipeChangedEvent> changes = new ArrayList<>(batch.size());
+            for (Recipe recipe : batch) {
+              changes.add(RecipeChangedEvent.saved(recipeMapper.toResponse(recipe)));
+            }
+            eventPublisher.publishEvent(new RecipesChangedEvent(changes));
+          });
+      result.setImportedRows(result.getImportedRows() + batch.size());
+      committed = true;
+    } catch (DataAccessException ex) {
+      String cause = ex.getMostSpecificCause().getMessage();
+      log.warn("Import batch {} failed: {}", batchNumber, cause);
+      String reason = "Batch " + batchNumber + " failed: " + cause;
+      for (Long line : batchLines) {
+        result.getRejectedRows().add(new RejectedRow(line, reason));
+      }
+      committed = false;
+    }
+    long durationMillis = (System.nanoTime() - start) / 1_000_000;
+    result
+        .getBatches()
+        .add(new BatchProgress(batchNumber, batch.size(), durationMillis, committed));
+    log.info(
+        "Import batch {} with {} recipes {} in {} ms",
+        batchNumber,
+        batch.size(),
+        committed ? "committed" : "rolled back",
+        durationMillis);
+    batch.clear();
+    batchLines.clear();
+  }
+
+  private RecipeRequest parseNdjsonRecipe(String line) {
+    try {
+      return objectMapper.readValue(line, RecipeRequest.class);
+    } catch (JacksonException ex) {
+      throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage(), ex);
+    }
+  }
+
+  private RecipeRequest parseCsvRecipe(String line) {
+    List<String> fields = parseCsvLine(line);
+    if (fields.size() != CSV_HEADER.size()) {
+      throw new IllegalArgumentException(
+          "Expected " + CSV_HEADER.size() + " fields but found " + fields.size());
+    }
+    RecipeRequest request = new RecipeRequest();
+    request.setName(fields.get(0));
+    request.setVegetarian(parseCsvBoolean(fields.get(1)));
+    request.setServings(parseCsvInteger(fields.get(2)));
+    request.setInstructions(fields.get(3));
+    request.setIngredients(
+        Arrays.stream(fields.get(4).split("\\|"))
+            .map(String::trim)
+            .filter(ingredient -> !ingredient.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new)));
+    return request;
+  }
+
+  private static Boolean parseCsvBoolean(String value) {
+    if ("true".equalsIgnoreCase(value)) {
+      return Boolean.TRUE;
+    }
+    if ("false".equalsIgnoreCase(value)) {
+      return Boolean.FALSE;
+    }
+    throw new IllegalArgumentException("Invalid vegetarian flag: " + value);
+  }
+
+  private static Integer parseCsvInteger(String value) {
+    try {
+      return Integer.valueOf(value.trim());
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException("Invalid servings: " + value, ex);
+    }
+  }
+
+  /**
+   * Splits a single CSV record into fields, honouring double-quoted fields and doubled quotes.
+   */
+  static List<String> parseCsvLine(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("Unterminated quoted field");
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  private static String describe(Set<ConstraintViolation<RecipeRequest>> violations) {
+    return violations.stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+}
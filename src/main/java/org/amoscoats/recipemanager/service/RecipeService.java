@@ -1,18 +1,47 @@
 package org.amoscoats.recipemanager.service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.config.CacheConfig;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.dto.RecipeBatch;
+import org.amoscoats.recipemanager.dto.RecipeField;
+import org.amoscoats.recipemanager.dto.RecipePage;
+import org.amoscoats.recipemanager.dto.RecipePatchRequest;
 import org.amoscoats.recipemanager.dto.RecipeRequest;
 import org.amoscoats.recipemanager.dto.RecipeResponse;
 import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.event.RecipeChangedEvent;
+import org.amoscoats.recipemanager.event.RecipesChangedEvent;
+import org.amoscoats.recipemanager.exception.RecipeNotFoundException;
+import org.amoscoats.recipemanager.exception.RecipeVersionMismatchException;
+import org.amoscoats.recipemanager.index.IngredientDictionary;
+import org.amoscoats.recipemanager.index.IngredientIndex;
 import org.amoscoats.recipemanager.mapper.RecipeMapper;
 import org.amoscoats.recipemanager.repository.RecipeRepository;
 import org.amoscoats.recipemanager.specification.RecipeSpecification;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /** Service for recipe management business logic. */
@@ -22,8 +51,35 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class RecipeService {
 
+  /** Page size used when a paginated request does not specify a limit. */
+  static final int DEFAULT_PAGE_SIZE = 20;
+
+  /** Upper bound on the page size a client may request. */
+  static final int MAX_PAGE_SIZE = 100;
+
+  /** Upper bound on the number of recipes a single bulk delete may name. */
+  public static final int MAX_BULK_DELETE_SIZE = 1000;
+
+  /**
+   * Upper bound on the number of ids a batch get may request. Matches the ingredient batch size so
+   * the ingredients of all missed recipes load in one query.
+   */
+  public static final int MAX_BATCH_GET_SIZE = Recipe.INGREDIENT_BATCH_SIZE;
+
+  /** Rows fetched per database round trip while streaming an export. */
+  static final int EXPORT_FETCH_SIZE = 500;
+
+  /** Ids loaded per query when hydrating recipes matched by the ingredient index. */
+  static final int INDEX_LOAD_CHUNK_SIZE = 1000;
+
   private final RecipeRepository recipeRepository;
   private final RecipeMapper recipeMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final IngredientIndex ingredientIndex;
+  private final IngredientDictionary ingredientDictionary;
+  private final RecipeFilterCache filterCache;
+  private final CacheManager cacheManager;
+  private final RecipeCacheListener recipeCacheListener;
 
   /**
    * Creates a new recipe.
@@ -32,79 +88,258 @@ public class RecipeService {
    * @return created recipe response
    */
   public RecipeResponse createRecipe(RecipeRequest request) {
-    log.info("Creating new recipe with name: {}", request.getName());
-    log.debug("Recipe request details: {}", request);
     Recipe recipe = recipeMapper.toEntity(request);
+    ingredientDictionary.register(recipe.getIngredients());
     Recipe savedRecipe = recipeRepository.save(recipe);
-    log.info("Successfully created recipe with id: {}", savedRecipe.getId());
-    return recipeMapper.toResponse(savedRecipe);
+    log.debug("Created recipe with id: {}", savedRecipe.getId());
+    RecipeResponse response = recipeMapper.toResponse(savedRecipe);
+    eventPublisher.publishEvent(RecipeChangedEvent.saved(response));
+    return response;
   }
 
   /**
    * Updates an existing recipe.
    *
+   * <p>The recipe and its ingredients are read in one query and changed in place: unchanged
+   * columns are not written, the {@code recipes} row is not updated at all when no scalar changed,
+   * and only added or removed ingredients are inserted or deleted. The response is built from the
+   * managed entity without reading it back.
+   *
    * @param id recipe ID
    * @param request recipe update request
+   * @param expectedVersion version the client last saw, or {@code null} to update unconditionally
    * @return updated recipe response
+   * @throws RecipeNotFoundException if the recipe does not exist
+   * @throws RecipeVersionMismatchException if the recipe is not at the expected version
    */
-  public RecipeResponse updateRecipe(Long id, RecipeRequest request) {
-    log.info("Updating recipe with id: {}", id);
-    log.debug("Update request details: {}", request);
+  public RecipeResponse updateRecipe(Long id, RecipeRequest request, Long expectedVersion) {
     Recipe recipe =
         recipeRepository
-            .findById(id)
-            .orElseThrow(() -> {
-              log.error("Recipe not found with id: {}", id);
-              return new RuntimeException("Recipe not found with id: " + id);
-            });
+            .findWithIngredientsById(id)
+            .orElseThrow(() -> new RecipeNotFoundException(id));
+    checkVersion(recipe, expectedVersion);
 
-    // Update all fields
+    // Update all fields; dirty checking flushes only the ones that changed
     recipe.setName(request.getName());
     recipe.setVegetarian(request.getVegetarian());
     recipe.setServings(request.getServings());
     recipe.setInstructions(request.getInstructions());
+    ingredientDictionary.register(request.getIngredients());
+    recipe.updateIngredients(request.getIngredients());
+    // Flush now so the response carries the incremented version
+    recipeRepository.flush();
 
-    // Replace ingredients collection with a new mutable one
-    recipe.setIngredients(new java.util.HashSet<>(request.getIngredients()));
+    log.debug("Updated recipe with id: {}", id);
+    RecipeResponse response = recipeMapper.toResponse(recipe);
+    eventPublisher.publishEvent(RecipeChangedEvent.saved(response));
+    return response;
+  }
+
+  /**
+   * Partially updates an existing recipe. Only the fields present in the patch are changed, and the
+   * ingredient collection is only touched when the patch provides one.
+   *
+   * @param id recipe ID
+   * @param patch fields to change
+   * @param expectedVersion version the client last saw, or {@code null} to patch unconditionally
+   * @return updated recipe response
+   * @throws RecipeNotFoundException if the recipe does not exist
+   * @throws RecipeVersionMismatchException if the recipe is not at the expected version
+   */
+  public RecipeResponse patchRecipe(Long id, RecipePatchRequest patch, Long expectedVersion) {
+    Recipe recipe =
+        recipeRepository
+            .findWithIngredientsById(id)
+            .orElseThrow(() -> new RecipeNotFoundException(id));
+    checkVersion(recipe, expectedVersion);
+
+    recipeMapper.updateEntity(patch, recipe);
+    if (patch.getIngredients() != null) {
+      ingredientDictionary.register(patch.getIngredients());
+      recipe.updateIngredients(patch.getIngredients());
+    }
+    recipeRepository.flush();
 
-    Recipe updatedRecipe = recipeRepository.save(recipe);
-    log.info("Successfully updated recipe with id: {}", id);
-    return recipeMapper.toResponse(updatedRecipe);
+    log.debug("Patched recipe with id: {}", id);
+    RecipeResponse response = recipeMapper.toResponse(recipe);
+    eventPublisher.publishEvent(RecipeChangedEvent.saved(response));
+    return response;
   }
 
   /**
-   * Deletes a recipe by ID.
+   * Deletes a recipe by ID. With an expected version the check and the delete are one statement,
+   * so a concurrent update cannot slip in between.
    *
    * @param id recipe ID to delete
+   * @param expectedVersion version the client last saw, or {@code null} to delete unconditionally
+   * @throws RecipeNotFoundException if the recipe does not exist
+   * @throws RecipeVersionMismatchException if the recipe is not at the expected version
    */
-  public void deleteRecipe(Long id) {
-    log.info("Deleting recipe with id: {}", id);
-    if (!recipeRepository.existsById(id)) {
-      log.error("Cannot delete recipe - not found with id: {}", id);
-      throw new RuntimeException("Recipe not found with id: " + id);
+  public void deleteRecipe(Long id, Long expectedVersion) {
+    int deleted =
+        expectedVersion == null
+            ? recipeRepository.deleteRecipeById(id)
+            : recipeRepository.deleteRecipeByIdAndVersion(id, expectedVersion);
+    if (deleted == 0) {
+      if (expectedVersion != null && recipeRepository.existsById(id)) {
+        log.warn("Cannot delete recipe {} - not at version {}", id, expectedVersion);
+        throw new RecipeVersionMismatchException(
+            "Recipe " + id + " is not at version " + expectedVersion);
+      }
+      throw new RecipeNotFoundException(id);
+    }
+    eventPublisher.publishEvent(RecipeChangedEvent.deleted(id));
+    log.debug("Deleted recipe with id: {}", id);
+  }
+
+  /**
+   * Deletes several recipes with a single statement. Unknown IDs are ignored, so repeating a
+   * cleanup is harmless.
+   *
+   * @param ids recipe IDs to delete, at most {@value #MAX_BULK_DELETE_SIZE}
+   * @return number of recipes actually deleted
+   * @throws IllegalArgumentException if too many IDs are given
+   */
+  public int deleteRecipes(Set<Long> ids) {
+    if (ids.size() > MAX_BULK_DELETE_SIZE) {
+      throw new IllegalArgumentException(
+          "At most " + MAX_BULK_DELETE_SIZE + " recipes can be deleted at once");
+    }
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    int deleted = recipeRepository.deleteRecipesByIdIn(ids);
+    if (deleted > 0) {
+      // Unknown ids are published too; evicting absent entries is a no-op for every listener
+      eventPublisher.publishEvent(
+          new RecipesChangedEvent(ids.stream().map(RecipeChangedEvent::deleted).toList()));
+    }
+    log.debug("Deleted {} of {} recipes", deleted, ids.size());
+    return deleted;
+  }
+
+  private static void checkVersion(Recipe recipe, Long expectedVersion) {
+    if (expectedVersion != null && !expectedVersion.equals(recipe.getVersion())) {
+      log.warn(
+          "Recipe {} is at version {}, not {}",
+          recipe.getId(),
+          recipe.getVersion(),
+          expectedVersion);
+      throw new RecipeVersionMismatchException(
+          "Recipe " + recipe.getId() + " is not at version " + expectedVersion);
     }
-    recipeRepository.deleteById(id);
-    log.info("Successfully deleted recipe with id: {}", id);
   }
 
   /**
    * Retrieves a recipe by ID.
    *
+   * <p>Responses are cached by id; {@link RecipeCacheListener} refreshes or evicts entries once
+   * writes commit and drops loads that raced with a write. A cached response carries the recipe
+   * version, so conditional requests are answered without touching the database. Concurrent
+   * misses for the same id each load the recipe: a synchronized cache load would run the query
+   * inside Caffeine's map lock and pin the carrier of a virtual thread waiting on JDBC.
+   *
    * @param id recipe ID
    * @return recipe response
+   * @throws RecipeNotFoundException if the recipe does not exist
    */
-  @Transactional(readOnly = true)
+  // SUPPORTS: a cache hit must not borrow a connection
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
   public RecipeResponse getRecipeById(Long id) {
-    log.info("Fetching recipe with id: {}", id);
+    Cache cache = cacheManager.getCache(CacheConfig.RECIPES_CACHE);
+    RecipeResponse cached = cache == null ? null : cache.get(id, RecipeResponse.class);
+    if (cached != null) {
+      return cached;
+    }
+    long generation = recipeCacheListener.generation();
     Recipe recipe =
         recipeRepository
             .findById(id)
-            .orElseThrow(() -> {
-              log.error("Recipe not found with id: {}", id);
-              return new RuntimeException("Recipe not found with id: " + id);
-            });
-    log.debug("Retrieved recipe: {}", recipe);
-    return recipeMapper.toResponse(recipe);
+            .orElseThrow(() -> new RecipeNotFoundException(id));
+    RecipeResponse response = recipeMapper.toResponse(recipe);
+    recipeCacheListener.cacheLoaded(generation, response);
+    return response;
+  }
+
+  /**
+   * Returns the current version of a recipe, from the cache if the recipe is cached and otherwise
+   * with a query that reads the version column only. Lets conditional requests be answered
+   * before a recipe is loaded and mapped.
+   *
+   * @param id recipe ID
+   * @return recipe version
+   * @throws RecipeNotFoundException if the recipe does not exist
+   */
+  // SUPPORTS: a cache hit must not borrow a connection
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+  public long getRecipeVersion(Long id) {
+    Cache cache = cacheManager.getCache(CacheConfig.RECIPES_CACHE);
+    RecipeResponse cached = cache == null ? null : cache.get(id, RecipeResponse.class);
+    if (cached != null && cached.getVersion() != null) {
+      return cached.getVersion();
+    }
+    return recipeRepository
+        .findVersionById(id)
+        .orElseThrow(() -> new RecipeNotFoundException(id));
+  }
+
+  /**
+   * Retrieves several recipes by ID in one call.
+   *
+   * <p>Recipes already in the per-id cache are served from it; the rest are loaded with one
+   * {@code IN} query and one batched ingredient fetch, then cached like {@link #getRecipeById}.
+   * Duplicate ids are answered once.
+   *
+   * @param ids recipe IDs, at most {@value #MAX_BATCH_GET_SIZE}
+   * @return the recipes found in request order, and the ids that do not exist
+   * @throws IllegalArgumentException if too many IDs are given
+   */
+  // SUPPORTS: a batch answered entirely from the cache must not borrow a connection
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+  public RecipeBatch getRecipesByIds(List<Long> ids) {
+    Set<Long> requested = new LinkedHashSet<>(ids);
+    if (requested.size() > MAX_BATCH_GET_SIZE) {
+      throw new IllegalArgumentException(
+          "At most " + MAX_BATCH_GET_SIZE + " recipes can be fetched at once");
+    }
+    Cache cache = cacheManager.getCache(CacheConfig.RECIPES_CACHE);
+    Map<Long, RecipeResponse> found = new HashMap<>();
+    List<Long> uncached = new ArrayList<>();
+    for (Long id : requested) {
+      RecipeResponse cached = cache == null ? null : cache.get(id, RecipeResponse.class);
+      if (cached != null) {
+        found.put(id, cached);
+      } else {
+        uncached.add(id);
+      }
+    }
+    if (!uncached.isEmpty()) {
+      long generation = recipeCacheListener.generation();
+      for (Recipe recipe : recipeRepository.findAllById(uncached)) {
+        RecipeResponse response = recipeMapper.toResponse(recipe);
+        found.put(recipe.getId(), response);
+        recipeCacheListener.cacheLoaded(generation, response);
+      }
+    }
+
+    List<RecipeResponse> recipes = new ArrayList<>(found.size());
+    List<Long> missingIds = new ArrayList<>();
+    for (Long id : requested) {
+      RecipeResponse response = found.get(id);
+      if (response != null) {
+        recipes.add(response);
+      } else {
+        missingIds.add(id);
+      }
+    }
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Found {} recipes ({} from cache), {} missing",
+          recipes.size(),
+          requested.size() - uncached.size(),
+          missingIds.size());
+    }
+    return new RecipeBatch(recipes, missingIds);
   }
 
   /**
@@ -114,41 +349,377 @@ public class RecipeService {
    */
   @Transactional(readOnly = true)
   public List<RecipeResponse> getAllRecipes() {
-    log.info("Fetching all recipes");
     List<RecipeResponse> recipes = recipeRepository.findAll().stream()
         .map(recipeMapper::toResponse)
         .collect(Collectors.toList());
-    log.info("Retrieved {} recipes", recipes.size());
+    log.debug("Retrieved {} recipes", recipes.size());
     return recipes;
   }
 
   /**
    * Filters recipes based on multiple criteria.
    *
+   * <p>Results are cached by their canonical criteria in {@link RecipeFilterCache} until the next
+   * committed write.
+   *
    * @param vegetarian filter by vegetarian status
    * @param servings filter by number of servings
    * @param includeIngredients ingredients that must be present
    * @param excludeIngredients ingredients that must not be present
    * @param searchText text to search in instructions
+   * @param ingredientMatch how ingredient filters are matched
    * @return list of filtered recipe responses
    */
-  @Transactional(readOnly = true)
+  // SUPPORTS: a cache hit must not open a transaction and borrow a connection
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
   public List<RecipeResponse> filterRecipes(
       Boolean vegetarian,
       Integer servings,
       Set<String> includeIngredients,
       Set<String> excludeIngredients,
-      String searchText) {
-    log.info("Filtering recipes with criteria - vegetarian: {}, servings: {}, includeIngredients: {}, excludeIngredients: {}, searchText: {}",
-        vegetarian, servings, includeIngredients, excludeIngredients, searchText);
+      String searchText,
+      IngredientMatch ingredientMatch) {
+    RecipeFilterKey key =
+        RecipeFilterKey.of(
+            vegetarian,
+            servings,
+            includeIngredients,
+            excludeIngredients,
+            searchText,
+            ingredientMatch);
+    log.debug("Filtering recipes by {}", key);
+    List<RecipeResponse> recipes =
+        filterCache.get(
+            key,
+            () ->
+                queryFilteredRecipes(
+                    vegetarian,
+                    servings,
+                    includeIngredients,
+                    excludeIngredients,
+                    searchText,
+                    ingredientMatch));
+    log.debug("Found {} recipes matching filter criteria", recipes.size());
+    return recipes;
+  }
+
+  private List<RecipeResponse> queryFilteredRecipes(
+      Boolean vegetarian,
+      Integer servings,
+      Set<String> includeIngredients,
+      Set<String> excludeIngredients,
+      String searchText,
+      IngredientMatch ingredientMatch) {
+    Optional<RoaringBitmap> indexed =
+        matchFromIndex(
+            vegetarian,
+            servings,
+            includeIngredients,
+            excludeIngredients,
+            searchText,
+            ingredientMatch);
+    if (indexed.isPresent()) {
+      log.debug("Answering filter from the ingredient index");
+      return loadInIdOrder(indexed.get().getIntIterator(), Integer.MAX_VALUE).stream()
+          .map(recipeMapper::toResponse)
+          .collect(Collectors.toList());
+    }
+
     Specification<Recipe> spec =
         RecipeSpecification.filterRecipes(
-            vegetarian, servings, includeIngredients, excludeIngredients, searchText);
+            vegetarian,
+            servings,
+            includeIngredients,
+            excludeIngredients,
+            searchText,
+            ingredientMatch);
 
-    List<RecipeResponse> recipes = recipeRepository.findAll(spec).stream()
+    return recipeRepository.findAll(spec).stream()
         .map(recipeMapper::toResponse)
         .collect(Collectors.toList());
-    log.info("Found {} recipes matching filter criteria", recipes.size());
+  }
+
+  /**
+   * Retrieves one page of recipes matching the given criteria using keyset pagination.
+   *
+   * <p>Recipes are ordered by id and the page is located with a {@code WHERE id > ?} seek, so the
+   * cost of fetching a page does not grow with its position in the result set.
+   *
+   * @param vegetarian filter by vegetarian status
+   * @param servings filter by number of servings
+   * @param includeIngredients ingredients that must be present
+   * @param excludeIngredients ingredients that must not be present
+   * @param searchText text to search in instructions
+   * @param ingredientMatch how ingredient filters are matched
+   * @param cursor opaque cursor from a previous page, or {@code null} for the first page
+   * @param limit maximum number of recipes on the page, or {@code null} for the default
+   * @return the requested page and the cursor of the following one
+   */
+  @Transactional(readOnly = true)
+  public RecipePage findRecipesPage(
+      Boolean vegetarian,
+      Integer servings,
+      Set<String> includeIngredients,
+      Set<String> excludeIngredients,
+      String searchText,
+      IngredientMatch ingredientMatch,
+      String cursor,
+      Integer limit) {
+    int pageSize = resolvePageSize(limit);
+    Long afterId = cursor == null || cursor.isEmpty() ? null : RecipeCursor.decode(cursor);
+    log.debug("Fetching recipe page after id: {} with limit: {}", afterId, pageSize);
+
+    // Fetch one extra row to find out whether another page follows
+    List<Recipe> recipes;
+    Optional<RoaringBitmap> indexed =
+        matchFromIndex(
+            vegetarian,
+            servings,
+            includeIngredients,
+            excludeIngredients,
+            searchText,
+            ingredientMatch);
+    if (indexed.isPresent()) {
+      PeekableIntIterator ids = indexed.get().getIntIterator();
+      if (afterId != null && afterId >= Integer.MAX_VALUE) {
+        // Indexed ids fit in an int, so nothing follows
+        recipes = List.of();
+      } else {
+        if (afterId != null && afterId >= 0) {
+          ids.advanceIfNeeded((int) (afterId + 1));
+        }
+        recipes = loadInIdOrder(ids, pageSize + 1);
+      }
+    } else {
+      Specification<Recipe> spec =
+          RecipeSpecification.filterRecipes(
+                  vegetarian,
+                  servings,
+                  includeIngredients,
+                  excludeIngredients,
+                  searchText,
+                  ingredientMatch)
+              .and(RecipeSpecification.idGreaterThan(afterId));
+      recipes =
+          recipeRepository.findBy(
+              spec, query -> query.sortBy(Sort.by("id")).limit(pageSize + 1).all());
+    }
+    boolean hasNext = recipes.size() > pageSize;
+    List<Recipe> pageRecipes = hasNext ? recipes.subList(0, pageSize) : recipes;
+
+    List<RecipeResponse> responses = pageRecipes.stream()
+        .map(recipeMapper::toResponse)
+        .collect(Collectors.toList());
+    String nextCursor =
+        hasNext ? RecipeCursor.encode(pageRecipes.get(pageSize - 1).getId()) : null;
+    log.debug("Retrieved {} recipes, more available: {}", responses.size(), hasNext);
+    return new RecipePage(responses, nextCursor);
+  }
+
+  /**
+   * Retrieves only the requested fields of the recipes matching the given criteria, ordered by id.
+   *
+   * <p>The query selects just the columns of the requested fields and reads ingredients only when
+   * they are requested, so list views that skip {@code instructions} and {@code ingredients} read
+   * a fraction of the data. It always goes to the database, bypassing the filter cache and the
+   * ingredient index, which hold complete recipes.
+   *
+   * @param vegetarian filter by vegetarian status
+   * @param servings filter by number of servings
+   * @param includeIngredients ingredients that must be present
+   * @param excludeIngredients ingredients that must not be present
+   * @param searchText text to search in instructions
+   * @param ingredientMatch how ingredient filters are matched
+   * @param fields fields to return; the id is always returned
+   * @param cursor cursor returned with the previous page, or {@code null}
+   * @param limit page size, or {@code null}; without cursor and limit all recipes are returned
+   * @return the page of projected recipes
+   */
+  @Transactional(readOnly = true)
+  public RecipePage findRecipesProjected(
+      Boolean vegetarian,
+      Integer servings,
+      Set<String> includeIngredients,
+      Set<String> excludeIngredients,
+      String searchText,
+      IngredientMatch ingredientMatch,
+      Set<RecipeField> fields,
+      String cursor,
+      Integer limit) {
+    boolean paged = cursor != null || limit != null;
+    int pageSize = paged ? resolvePageSize(limit) : Integer.MAX_VALUE - 1;
+    Long afterId = cursor == null || cursor.isEmpty() ? null : RecipeCursor.decode(cursor);
+    log.debug("Fetching fields {} of recipes after id: {}", fields, afterId);
+    Specification<Recipe> spec =
+        RecipeSpecification.filterRecipes(
+                vegetarian,
+                servings,
+                includeIngredients,
+                excludeIngredients,
+                searchText,
+                ingredientMatch)
+            .and(RecipeSpecification.idGreaterThan(afterId));
+
+    // Fetch one extra row to find out whether another page follows
+    List<RecipeResponse> recipes = recipeRepository.findProjected(spec, fields, pageSize + 1);
+    boolean hasNext = recipes.size() > pageSize;
+    List<RecipeResponse> pageRecipes = hasNext ? recipes.subList(0, pageSize) : recipes;
+    String nextCursor =
+        hasNext ? RecipeCursor.encode(pageRecipes.get(pageSize - 1).getId()) : null;
+    log.debug("Retrieved {} projected recipes, more available: {}", pageRecipes.size(), hasNext);
+    return new RecipePage(pageRecipes, nextCursor);
+  }
+
+  /**
+   * Retrieves one page of recipes matching a full-text query, most relevant first.
+   *
+   * <p>The search runs against the PostgreSQL {@code search_vector} column and its GIN index.
+   * Ranked results have no seek key, so the cursor carries the offset of the next page.
+   *
+   * @param vegetarian filter by vegetarian status
+   * @param servings filter by number of servings
+   * @param includeIngredients ingredients that must be present
+   * @param excludeIngredients ingredients that must not be present
+   * @param searchText web search style query, e.g. {@code "tomato soup" -cream}
+   * @param ingredientMatch how ingredient filters are matched
+   * @param cursor opaque cursor from a previous page, or {@code null} for the first page
+   * @param limit maximum number of recipes on the page, or {@code null} for the default
+   * @return the requested page and the cursor of the following one
+   */
+  @Transactional(readOnly = true)
+  public RecipePage searchRecipesPage(
+      Boolean vegetarian,
+      Integer servings,
+      Set<String> includeIngredients,
+      Set<String> excludeIngredients,
+      String searchText,
+      IngredientMatch ingredientMatch,
+      String cursor,
+      Integer limit) {
+    if (searchText == null || searchText.isBlank()) {
+      throw new IllegalArgumentException("Full-text search requires searchText");
+    }
+    if (!recipeRepository.supportsFullTextSearch()) {
+      throw new IllegalArgumentException("Full-text search is not supported by this database");
+    }
+    int pageSize = resolvePageSize(limit);
+    long offset = cursor == null || cursor.isEmpty() ? 0 : RecipeCursor.decodeOffset(cursor);
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Full-text search for: {} at offset: {} with limit: {}", searchText, offset, pageSize);
+    }
+
+    // Fetch one extra id to find out whether another page follows
+    List<Long> ids =
+        recipeRepository.fullTextSearchIds(
+            searchText,
+            vegetarian,
+            servings,
+            includeIngredients,
+            excludeIngredients,
+            ingredientMatch,
+            offset,
+            pageSize + 1);
+    boolean hasNext = ids.size() > pageSize;
+    List<Long> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+
+    Map<Long, Recipe> recipesById = recipeRepository.findAllById(pageIds).stream()
+        .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+    List<RecipeResponse> responses = pageIds.stream()
+        .map(recipesById::get)
+        .filter(Objects::nonNull)
+        .map(recipeMapper::toResponse)
+        .collect(Collectors.toList());
+    String nextCursor = hasNext ? RecipeCursor.encodeOffset(offset + pageSize) : null;
+    log.debug("Found {} ranked recipes, more available: {}", responses.size(), hasNext);
+    return new RecipePage(responses, nextCursor);
+  }
+
+  /**
+   * Streams every recipe matching the given criteria to the sink, ordered by id.
+   *
+   * <p>Recipes are read through a forward-only database cursor and handed to the sink one at a
+   * time, so neither the entities nor the responses are ever held in memory as a whole.
+   *
+   * @param vegetarian filter by vegetarian status
+   * @param servings filter by number of servings
+   * @param includeIngredients ingredients that must be present
+   * @param excludeIngredients ingredients that must not be present
+   * @param searchText text to search in instructions
+   * @param ingredientMatch how ingredient filters are matched
+   * @param sink consumer receiving each matching recipe
+   * @return number of exported recipes
+   */
+  @Transactional(readOnly = true)
+  public long exportRecipes(
+      Boolean vegetarian,
+      Integer servings,
+      Set<String> includeIngredients,
+      Set<String> excludeIngredients,
+      String searchText,
+      IngredientMatch ingredientMatch,
+      Consumer<RecipeResponse> sink) {
+    log.debug("Exporting recipes");
+    Specification<Recipe> spec =
+        RecipeSpecification.filterRecipes(
+            vegetarian,
+            servings,
+            includeIngredients,
+            excludeIngredients,
+            searchText,
+            ingredientMatch);
+    long exported =
+        recipeRepository.forEachRecipe(
+            spec, EXPORT_FETCH_SIZE, recipe -> sink.accept(recipeMapper.toResponse(recipe)));
+    log.info("Exported {} recipes", exported);
+    return exported;
+  }
+
+  /**
+   * Answers the non-text criteria from the ingredient index when it is ready. Instruction text
+   * search is not indexed, so requests using it always go to the database.
+   */
+  private Optional<RoaringBitmap> matchFromIndex(
+      Boolean vegetarian,
+      Integer servings,
+      Set<String> includeIngredients,
+      Set<String> excludeIngredients,
+      String searchText,
+      IngredientMatch ingredientMatch) {
+    if (searchText != null && !searchText.isEmpty()) {
+      return Optional.empty();
+    }
+    return ingredientIndex.match(
+        vegetarian, servings, includeIngredients, excludeIngredients, ingredientMatch);
+  }
+
+  /**
+   * Loads up to {@code maxRecipes} recipes for the ids produced by the iterator, ordered by id.
+   * Ids whose recipe no longer exists are skipped.
+   */
+  private List<Recipe> loadInIdOrder(IntIterator ids, int maxRecipes) {
+    List<Recipe> recipes = new ArrayList<>();
+    List<Long> chunk = new ArrayList<>(INDEX_LOAD_CHUNK_SIZE);
+    while (recipes.size() < maxRecipes && ids.hasNext()) {
+      chunk.clear();
+      int wanted = Math.min(INDEX_LOAD_CHUNK_SIZE, maxRecipes - recipes.size());
+      while (chunk.size() < wanted && ids.hasNext()) {
+        chunk.add((long) ids.next());
+      }
+      List<Recipe> loaded = new ArrayList<>(recipeRepository.findAllById(chunk));
+      loaded.sort(Comparator.comparing(Recipe::getId));
+      recipes.addAll(loaded);
+    }
     return recipes;
   }
+
+  private static int resolvePageSize(Integer limit) {
+    if (limit == null) {
+      return DEFAULT_PAGE_SIZE;
+    }
+    if (limit < 1) {
+      throw new IllegalArgumentException("Limit must be at least 1");
+    }
+    return Math.min(limit, MAX_PAGE_SIZE);
+  }
 }
@@ -0,0 +1,39 @@
+package org.amoscoats.recipemanager.specification;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the SQL functions used by {@link RecipeSpecification}; loaded by Hibernate through
+ * {@code META-INF/services}.
+ */
+public class IngredientFunctionContributor implements FunctionContributor {
+
+  /**
+   * {@code recipe_has_ingredient_like(recipeId, pattern)}: whether the recipe has an ingredient
+   * whose lower-cased dictionary name matches the LIKE pattern. The pattern is matched against the
+   * {@code ingredients} table, where PostgreSQL can use the trigram index on {@code lower(name)},
+   * and recipes are joined by integer id. Backslash is the default LIKE escape character on both
+   * PostgreSQL and H2.
+   */
+  public static final String HAS_INGREDIENT_LIKE = "recipe_has_ingredient_like";
+
+  private static final String HAS_INGREDIENT_LIKE_SQL =
+      "exists (select 1 from recipe_ingredient_ids ri"
+          + " join ingredients i on i.id = ri.ingredient_id"
+          + " where ri.recipe_id = ?1 and lower(i.name) like ?2)";
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    functionContributions
+        .getFunctionRegistry()
+        .registerPattern(
+            HAS_INGREDIENT_LIKE,
+            HAS_INGREDIENT_LIKE_SQL,
+            functionContributions
+                .getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN));
+  }
+}
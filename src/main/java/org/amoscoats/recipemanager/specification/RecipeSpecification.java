@@ -1,28 +1,49 @@
 package org.amoscoats.recipemanager.specification;
 
-import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import jakarta.persistence.criteria.Subquery;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
 import org.amoscoats.recipemanager.entity.Recipe;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
-/** Specification builder for Recipe entity queries. */
+/**
+ * Specification builder for Recipe entity queries.
+ *
+ * <p>Substring filters are rendered as {@code lower(column) LIKE '%term%'} on the raw column,
+ * without casts, so that on PostgreSQL they match the {@code pg_trgm} GIN expression indexes on
+ * {@code lower(recipes.instructions)} and {@code lower(ingredients.name)}. Databases without those
+ * indexes evaluate the same predicates with a scan. Substring ingredient terms are matched
+ * against the {@code ingredients} dictionary inside a correlated {@code EXISTS} (see {@link
+ * IngredientFunctionContributor#HAS_INGREDIENT_LIKE}), so each term is a single bound pattern
+ * however many names it matches, and recipes are joined to the matches by integer id.
+ */
 @Slf4j
 public class RecipeSpecification {
 
+  /** Escape character for LIKE patterns built from user input. */
+  private static final char LIKE_ESCAPE = '\\';
+
   /**
    * Creates a specification for filtering recipes based on multiple criteria.
    *
+   * <p>With {@link IngredientMatch#EXACT} the ingredient filters are containment checks on the
+   * {@code ingredient_terms} array ({@code @>} for include, {@code NOT &&} for exclude on
+   * PostgreSQL), one predicate each regardless of the number of ingredients.
+   *
    * @param vegetarian filter by vegetarian status
    * @param servings filter by number of servings
    * @param includeIngredients ingredients that must be present
    * @param excludeIngredients ingredients that must not be present
    * @param searchText text to search in instructions
+   * @param ingredientMatch how ingredient filters are matched
    * @return specification for filtering recipes
    */
   public static Specification<Recipe> filterRecipes(
@@ -30,9 +51,21 @@ public class RecipeSpecification {
       Integer servings,
       Set<String> includeIngredients,
       Set<String> excludeIngredients,
-      String searchText) {
-    log.debug("Building specification with filters - vegetarian: {}, servings: {}, includeIngredients: {}, excludeIngredients: {}, searchText: {}",
-        vegetarian, servings, includeIngredients, excludeIngredients, searchText);
+      String searchText,
+      IngredientMatch ingredientMatch) {
+    // Built for every filter query; skip the varargs array when DEBUG is off
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Building specification with filters - vegetarian: {}, servings: {}, "
+              + "includeIngredients: {}, excludeIngredients: {}, searchText: {}, "
+              + "ingredientMatch: {}",
+          vegetarian,
+          servings,
+          includeIngredients,
+          excludeIngredients,
+          searchText,
+          ingredientMatch);
+    }
     return (root, query, criteriaBuilder) -> {
       List<Predicate> predicates = new ArrayList<>();
 
@@ -48,36 +81,37 @@ public class RecipeSpecification {
         predicates.add(criteriaBuilder.equal(root.get("servings"), servings));
       }
 
-      // Include specific ingredients
-      if (includeIngredients != null && !includeIngredients.isEmpty()) {
-        log.debug("Adding include ingredients filter: {}", includeIngredients);
-        for (String ingredient : includeIngredients) {
-          Join<Recipe, String> ingredientsJoin = root.join("ingredients");
+      // Exact ingredient matches against the denormalized terms array
+      if (ingredientMatch == IngredientMatch.EXACT) {
+        HibernateCriteriaBuilder hibernateBuilder = (HibernateCriteriaBuilder) criteriaBuilder;
+        Expression<String[]> terms = root.get("ingredientTerms");
+        if (includeIngredients != null && !includeIngredients.isEmpty()) {
+          log.debug("Adding exact include ingredients filter: {}", includeIngredients);
           predicates.add(
-              criteriaBuilder.like(
-                  criteriaBuilder.lower(ingredientsJoin.as(String.class)),
-                  "%" + ingredient.toLowerCase() + "%"));
+              hibernateBuilder.arrayIncludes(terms, normalizedTerms(includeIngredients)));
+        }
+        if (excludeIngredients != null && !excludeIngredients.isEmpty()) {
+          log.debug("Adding exact exclude ingredients filter: {}", excludeIngredients);
+          predicates.add(
+              hibernateBuilder.not(
+                  hibernateBuilder.arrayIntersects(terms, normalizedTerms(excludeIngredients))));
+        }
+      } else {
+        // Include specific ingredients
+        if (includeIngredients != null && !includeIngredients.isEmpty()) {
+          log.debug("Adding include ingredients filter: {}", includeIngredients);
+          for (String ingredient : includeIngredients) {
+            predicates.add(hasIngredientLike(root, criteriaBuilder, ingredient));
+          }
         }
-      }
-
-      // Exclude specific ingredients
-      if (excludeIngredients != null && !excludeIngredients.isEmpty()) {
-        log.debug("Adding exclude ingredients filter: {}", excludeIngredients);
-        for (String ingredient : excludeIngredients) {
-          Subquery<Long> subquery = query.subquery(Long.class);
-          Root<Recipe> subRoot = subquery.from(Recipe.class);
-          Join<Recipe, String> subIngredientJoin = subRoot.join("ingredients");
-
-          subquery
-              .select(subRoot.get("id"))
-              .where(
-                  criteriaBuilder.and(
-                      criteriaBuilder.equal(subRoot.get("id"), root.get("id")),
-                      criteriaBuilder.like(
-                          criteriaBuilder.lower(subIngredientJoin.as(String.class)),
-                          "%" + ingredient.toLowerCase() + "%")));
 
-          predicates.add(criteriaBuilder.not(criteriaBuilder.exists(subquery)));
+        // Exclude specific ingredients
+        if (excludeIngredients != null && !excludeIngredients.isEmpty()) {
+          log.debug("Adding exclude ingredients filter: {}", excludeIngredients);
+          for (String ingredient : excludeIngredients) {
+            predicates.add(
+                criteriaBuilder.not(hasIngredientLike(root, criteriaBuilder, ingredient)));
+          }
         }
       }
 
@@ -87,14 +121,79 @@ public class RecipeSpecification {
         predicates.add(
             criteriaBuilder.like(
                 criteriaBuilder.lower(root.get("instructions")),
-                "%" + searchText.toLowerCase() + "%"));
+                containsPattern(searchText),
+                LIKE_ESCAPE));
       }
 
-      // Make distinct to avoid duplicates from joins
-      query.distinct(true);
-
       log.debug("Built specification with {} predicates", predicates.size());
       return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
     };
   }
+
+  /**
+   * Creates a predicate matching recipes with an ingredient containing the term. Filtering with
+   * {@code EXISTS} instead of a join keeps one row per recipe, so no {@code DISTINCT} is needed
+   * and paging limits apply to recipes rather than ingredient rows. Building it runs no query.
+   *
+   * <p>The pattern is passed with {@link HibernateCriteriaBuilder#value} rather than {@link
+   * CriteriaBuilder#literal}, so it is bound as a parameter: the SQL text stays the same for every
+   * term and user input never appears in it.
+   */
+  private static Predicate hasIngredientLike(
+      Root<Recipe> root, CriteriaBuilder criteriaBuilder, String ingredient) {
+    return criteriaBuilder.isTrue(
+        criteriaBuilder.function(
+            IngredientFunctionContributor.HAS_INGREDIENT_LIKE,
+            Boolean.class,
+            root.get("id"),
+            ((HibernateCriteriaBuilder) criteriaBuilder).value(containsPattern(ingredient))));
+  }
+
+  private static String[] normalizedTerms(Set<String> ingredients) {
+    return ingredients.stream()
+        .map(Recipe::normalizeIngredient)
+        .distinct()
+        .toArray(String[]::new);
+  }
+
+  /**
+   * Creates a keyset specification that only matches recipes with an id greater than the given
+   * one. Combined with ordering by id this lets pages be fetched with an index seek instead of an
+   * offset scan.
+   *
+   * @param afterId id of the last recipe already returned, or {@code null} to start from the
+   *     beginning
+   * @return specification restricting the recipe id
+   */
+  public static Specification<Recipe> idGreaterThan(Long afterId) {
+    return (root, query, criteriaBuilder) ->
+        afterId == null ? null : criteriaBuilder.greaterThan(root.get("id"), afterId);
+  }
+
+  /**
+   * Builds a case-insensitive "contains" LIKE pattern, escaping the wildcards in the term so that
+   * {@code %} and {@code _} are matched literally.
+   *
+   * @param term user supplied search term
+   * @return lower-cased pattern for use with a backslash LIKE escape
+   */
+  public static String containsPattern(String term) {
+    String escaped =
+        foldCase(term)
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    return "%" + escaped + "%";
+  }
+
+  /**
+   * Lower-cases a term or ingredient name the way substring filters compare them. Unlike {@link
+   * Recipe#normalizeIngredient} it does not trim, matching {@code lower(column)} in SQL.
+   *
+   * @param term term or name to fold
+   * @return lower-cased value
+   */
+  public static String foldCase(String term) {
+    return term.toLowerCase(Locale.ROOT);
+  }
 }
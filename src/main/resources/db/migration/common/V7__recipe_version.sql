@@ -0,0 +1,2 @@
+-- Optimistic lock version of each recipe, also used as its entity tag
+ALTER TABLE recipes ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- H2 counterpart of postgresql/V2: pooled id sequence used by Hibernate (blocks of 50)
+CREATE SEQUENCE recipes_seq START WITH 1 INCREMENT BY 50;
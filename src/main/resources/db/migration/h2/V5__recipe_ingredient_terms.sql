@@ -0,0 +1,2 @@
+-- H2 counterpart of the PostgreSQL ingredient_terms column, without the GIN index
+ALTER TABLE recipes ADD COLUMN ingredient_terms CHARACTER VARYING ARRAY DEFAULT ARRAY[] NOT NULL;
@@ -0,0 +1,23 @@
+-- H2 counterpart of postgresql/V6: ingredient dictionary and id based join table
+CREATE TABLE ingredients (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name TEXT NOT NULL UNIQUE
+);
+
+CREATE TABLE recipe_ingredient_ids (
+    recipe_id BIGINT NOT NULL REFERENCES recipes(id) ON DELETE CASCADE,
+    ingredient_id INTEGER NOT NULL REFERENCES ingredients(id),
+    PRIMARY KEY (recipe_id, ingredient_id)
+);
+
+CREATE INDEX idx_recipe_ingredient_ids_ingredient ON recipe_ingredient_ids (ingredient_id);
+
+INSERT INTO ingredients (name)
+SELECT DISTINCT ingredient FROM recipe_ingredients;
+
+INSERT INTO recipe_ingredient_ids (recipe_id, ingredient_id)
+SELECT ri.recipe_id, i.id
+FROM recipe_ingredients ri
+JOIN ingredients i ON i.name = ri.ingredient;
+
+DROP TABLE recipe_ingredients;
@@ -0,0 +1,11 @@
+-- Replace the BIGSERIAL default with a sequence that hands out blocks of 50 ids.
+-- Hibernate's pooled optimizer treats each value as the upper bound of a block, so it can
+-- assign ids without a round trip per row and batch the inserts.
+CREATE SEQUENCE recipes_seq INCREMENT BY 50;
+
+-- The first nextval must cover the block right after the highest existing id
+SELECT setval('recipes_seq', COALESCE((SELECT MAX(id) FROM recipes), 0) + 50, false);
+
+ALTER TABLE recipes ALTER COLUMN id SET DEFAULT nextval('recipes_seq');
+ALTER SEQUENCE recipes_seq OWNED BY recipes.id;
+DROP SEQUENCE recipes_id_seq;
@@ -0,0 +1,11 @@
+-- Trigram GIN indexes for the substring filters, which are rendered as lower(column) LIKE '%term%'.
+-- A leading wildcard rules out B-tree indexes; gin_trgm_ops lets the planner answer the LIKE with
+-- a bitmap index scan. The indexed expressions must stay identical to the ones in
+-- RecipeSpecification for the planner to use them.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_recipes_instructions_trgm
+    ON recipes USING gin (lower(instructions) gin_trgm_ops);
+
+CREATE INDEX idx_recipe_ingredients_ingredient_trgm
+    ON recipe_ingredients USING gin (lower(ingredient) gin_trgm_ops);
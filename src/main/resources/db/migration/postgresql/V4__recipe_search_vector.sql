@@ -0,0 +1,57 @@
+-- Full-text search document per recipe: name (weight A), ingredients (B) and instructions (C).
+-- A generated column cannot read recipe_ingredients, so the vector is maintained by triggers on
+-- both tables.
+ALTER TABLE recipes ADD COLUMN search_vector tsvector;
+
+CREATE FUNCTION recipe_search_vector(recipe_name TEXT, recipe_instructions TEXT, recipe_id BIGINT)
+    RETURNS tsvector
+    LANGUAGE sql STABLE AS
+$$
+SELECT setweight(to_tsvector('english', recipe_name), 'A')
+           || setweight(to_tsvector('english', COALESCE(
+                  (SELECT string_agg(ingredient, ' ') FROM recipe_ingredients WHERE recipe_id = $3),
+                  '')), 'B')
+           || setweight(to_tsvector('english', recipe_instructions), 'C')
+$$;
+
+UPDATE recipes SET search_vector = recipe_search_vector(name, instructions, id);
+
+CREATE INDEX idx_recipes_search_vector ON recipes USING gin (search_vector);
+
+-- Recipe rows: recompute when the indexed columns change
+CREATE FUNCTION recipes_search_vector_trigger() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    NEW.search_vector := recipe_search_vector(NEW.name, NEW.instructions, NEW.id);
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER recipes_search_vector_update
+    BEFORE INSERT OR UPDATE OF name, instructions ON recipes
+    FOR EACH ROW EXECUTE FUNCTION recipes_search_vector_trigger();
+
+-- Ingredient rows: recompute once per affected recipe and statement, so bulk COPY imports do not
+-- pay one update per ingredient. Ingredient rows are only ever inserted or deleted (the primary
+-- key covers the whole row), so no UPDATE trigger is needed.
+CREATE FUNCTION recipe_ingredients_search_vector_trigger() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    UPDATE recipes r
+    SET search_vector = recipe_search_vector(r.name, r.instructions, r.id)
+    WHERE r.id IN (SELECT recipe_id FROM changed_rows);
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER recipe_ingredients_search_vector_insert
+    AFTER INSERT ON recipe_ingredients
+    REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION recipe_ingredients_search_vector_trigger();
+
+CREATE TRIGGER recipe_ingredients_search_vector_delete
+    AFTER DELETE ON recipe_ingredients
+    REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION recipe_ingredients_search_vector_trigger();
@@ -0,0 +1,15 @@
+-- Denormalized, normalized (trimmed, lower-cased) ingredient names for exact-match filters.
+-- Include and exclude filters become ingredient_terms @> ARRAY[...] and NOT ingredient_terms &&
+-- ARRAY[...], answered from one GIN index instead of a subquery per ingredient. The column is
+-- maintained by the application next to recipe_ingredients.
+ALTER TABLE recipes ADD COLUMN ingredient_terms TEXT[] NOT NULL DEFAULT '{}';
+
+UPDATE recipes r
+SET ingredient_terms = terms.names
+FROM (SELECT recipe_id,
+             array_agg(DISTINCT lower(trim(ingredient)) ORDER BY lower(trim(ingredient))) AS names
+      FROM recipe_ingredients
+      GROUP BY recipe_id) terms
+WHERE terms.recipe_id = r.id;
+
+CREATE INDEX idx_recipes_ingredient_terms ON recipes USING gin (ingredient_terms);
@@ -0,0 +1,56 @@
+-- Ingredient dictionary: every distinct ingredient name is stored once and recipes reference it by
+-- a 4-byte id. The join table and its primary key shrink to two fixed-width integers per row
+-- instead of repeating the full name for every recipe.
+CREATE TABLE ingredients (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name TEXT NOT NULL UNIQUE
+);
+
+CREATE TABLE recipe_ingredient_ids (
+    recipe_id BIGINT NOT NULL REFERENCES recipes(id) ON DELETE CASCADE,
+    ingredient_id INTEGER NOT NULL REFERENCES ingredients(id),
+    PRIMARY KEY (recipe_id, ingredient_id)
+);
+
+-- Ingredient filters look up recipes by ingredient id
+CREATE INDEX idx_recipe_ingredient_ids_ingredient ON recipe_ingredient_ids (ingredient_id);
+
+INSERT INTO ingredients (name)
+SELECT DISTINCT ingredient FROM recipe_ingredients;
+
+INSERT INTO recipe_ingredient_ids (recipe_id, ingredient_id)
+SELECT ri.recipe_id, i.id
+FROM recipe_ingredients ri
+JOIN ingredients i ON i.name = ri.ingredient;
+
+-- Substring filters now resolve their terms against the dictionary only
+CREATE INDEX idx_ingredients_name_trgm ON ingredients USING gin (lower(name) gin_trgm_ops);
+
+-- Full-text document: read ingredient names through the dictionary
+CREATE OR REPLACE FUNCTION recipe_search_vector(recipe_name TEXT, recipe_instructions TEXT,
+                                                recipe_id BIGINT)
+    RETURNS tsvector
+    LANGUAGE sql STABLE AS
+$$
+SELECT setweight(to_tsvector('english', recipe_name), 'A')
+           || setweight(to_tsvector('english', COALESCE(
+                  (SELECT string_agg(i.name, ' ')
+                   FROM recipe_ingredient_ids ri
+                   JOIN ingredients i ON i.id = ri.ingredient_id
+                   WHERE ri.recipe_id = $3),
+                  '')), 'B')
+           || setweight(to_tsvector('english', recipe_instructions), 'C')
+$$;
+
+CREATE TRIGGER recipe_ingredient_ids_search_vector_insert
+    AFTER INSERT ON recipe_ingredient_ids
+    REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION recipe_ingredients_search_vector_trigger();
+
+CREATE TRIGGER recipe_ingredient_ids_search_vector_delete
+    AFTER DELETE ON recipe_ingredient_ids
+    REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION recipe_ingredients_search_vector_trigger();
+
+-- Drops the old trigram index and search vector triggers along with the table
+DROP TABLE recipe_ingredients;
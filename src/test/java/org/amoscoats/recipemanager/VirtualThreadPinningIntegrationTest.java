@@ -0,0 +1,95 @@
+package org.amoscoats.recipemanager;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.amoscoats.recipemanager.config.CacheConfig;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.dto.RecipeRequest;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.service.RecipeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@DisplayName("Virtual Thread Pinning Integration Tests")
+class VirtualThreadPinningIntegrationTest {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int TASKS = 200;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    @DisplayName("Should not pin carrier threads while recipe operations wait on the database")
+    void shouldNotPinCarrierThreads() throws Exception {
+        // Given
+        RecipeResponse shared = recipeService.createRecipe(request("Shared Recipe", "basil"));
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+
+        // When
+        // A virtual thread that parks inside a monitor, e.g. on JDBC in a synchronized block, is
+        // reported as pinned
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT, pinned::add);
+            recording.startAsync();
+            runOnVirtualThreads(shared.getId());
+            recording.stop();
+        }
+
+        // Then
+        assertThat(pinned)
+                .as("virtual threads pinned while blocking:%n%s", pinned)
+                .isEmpty();
+    }
+
+    private void runOnVirtualThreads(Long sharedId) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < TASKS; i++) {
+                int task = i;
+                futures.add(executor.submit(() -> {
+                    // A new ingredient per task registers a dictionary entry
+                    RecipeResponse created =
+                            recipeService.createRecipe(request("Pinning " + task, "pinning " + task));
+                    cacheManager.getCache(CacheConfig.RECIPES_CACHE).evict(sharedId);
+                    recipeService.getRecipeById(sharedId);
+                    recipeService.filterRecipes(
+                            true, null, Set.of("basil"), null, null, IngredientMatch.CONTAINS);
+                    recipeService.updateRecipe(
+                            created.getId(), request("Updated " + task, "basil"), created.getVersion());
+                    recipeService.deleteRecipe(created.getId(), null);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        }
+    }
+
+    private static RecipeRequest request(String name, String ingredient) {
+        return new RecipeRequest(name, true, 4, "Cook it.", Set.of(ingredient, "salt"));
+    }
+}
@@ -0,0 +1,49 @@
+package org.amoscoats.recipemanager.controller;
+
+import org.amoscoats.recipemanager.dto.RecipeBulkRequest;
+import org.amoscoats.recipemanager.dto.RecipeBulkResponse;
+import org.amoscoats.recipemanager.dto.RecipeOperation;
+import org.amoscoats.recipemanager.service.RecipeBulkService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeBulkController Unit Tests")
+class RecipeBulkControllerTest {
+
+    @Mock
+    private RecipeBulkService recipeBulkService;
+
+    @InjectMocks
+    private RecipeBulkController recipeBulkController;
+
+    @Test
+    @DisplayName("Should apply the operations and return the per-operation results")
+    void shouldApplyOperations() {
+        // Given
+        RecipeBulkRequest request = new RecipeBulkRequest(RecipeBulkRequest.Mode.BEST_EFFORT,
+                List.of(new RecipeOperation(RecipeOperation.Type.DELETE, 1L, null)));
+        RecipeBulkResponse summary = new RecipeBulkResponse();
+        summary.setSucceeded(1);
+        when(recipeBulkService.apply(request)).thenReturn(summary);
+
+        // When
+        ResponseEntity<RecipeBulkResponse> response = recipeBulkController.applyOperations(request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(summary);
+        verify(recipeBulkService).apply(request);
+    }
+}
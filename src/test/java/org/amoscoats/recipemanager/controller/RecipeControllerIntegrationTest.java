@@ -9,6 +9,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -164,6 +165,79 @@ class RecipeControllerIntegrationTest {
                 .andExpect(jsonPath("$.ingredients", hasSize(2)));
     }
 
+    @Test
+    @DisplayName("Should apply a merge patch leaving omitted fields unchanged")
+    void shouldPatchRecipe() throws Exception {
+        Long recipeId = createTestRecipe("Original Recipe", true, 4, "Original instructions",
+                Set.of("ingredient1", "ingredient2"));
+
+        mockMvc.perform(patch("/api/recipes/{id}", recipeId)
+                        .contentType(RecipeController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"servings\": 8}"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Original Recipe"))
+                .andExpect(jsonPath("$.servings").value(8))
+                .andExpect(jsonPath("$.instructions").value("Original instructions"))
+                .andExpect(jsonPath("$.ingredients", containsInAnyOrder("ingredient1", "ingredient2")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when a merge patch removes or invalidates a field")
+    void shouldReturn400ForInvalidPatch() throws Exception {
+        Long recipeId = createTestRecipe("Original Recipe", true, 4, "Original instructions",
+                Set.of("ingredient1"));
+
+        mockMvc.perform(patch("/api/recipes/{id}", recipeId)
+                        .contentType(RecipeController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"instructions\": null}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/recipes/{id}", recipeId)
+                        .contentType(RecipeController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"servings\": 0, \"name\": \" \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.servings").exists())
+                .andExpect(jsonPath("$.errors.name").exists());
+    }
+
+    @Test
+    @DisplayName("Should answer conditional requests from the recipe version ETag")
+    void shouldHonorConditionalRequests() throws Exception {
+        Long recipeId = createTestRecipe("Versioned Recipe", true, 4, "Instructions",
+                Set.of("ingredient1"));
+        RecipeRequest update = new RecipeRequest("Versioned Recipe", true, 6, "Instructions",
+                Set.of("ingredient1"));
+
+        mockMvc.perform(get("/api/recipes/{id}", recipeId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/recipes/{id}", recipeId)
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/api/recipes/{id}", recipeId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(delete("/api/recipes/{id}", recipeId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/recipes/{id}", recipeId)
+                        .header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isNoContent());
+    }
+
     @Test
     @DisplayName("Should delete a recipe")
     void shouldDeleteRecipe() throws Exception {
@@ -181,6 +255,78 @@ class RecipeControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Should batch get recipes in request order and report missing IDs")
+    void shouldGetRecipesByIds() throws Exception {
+        Long firstId = createTestRecipe("Recipe 1", true, 4, "Instructions", Set.of("pasta"));
+        Long secondId = createTestRecipe("Recipe 2", true, 4, "Instructions", Set.of("rice"));
+
+        mockMvc.perform(post("/api/recipes/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + secondId + ", 999999, " + firstId + "]"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes", hasSize(2)))
+                .andExpect(jsonPath("$.recipes[0].id").value(secondId))
+                .andExpect(jsonPath("$.recipes[1].id").value(firstId))
+                .andExpect(jsonPath("$.missingIds", contains(999999)));
+    }
+
+    @Test
+    @DisplayName("Should apply bulk operations in order and report each outcome")
+    void shouldApplyBulkOperations() throws Exception {
+        Long existingId = createTestRecipe("Recipe 1", true, 4, "Instructions", Set.of("pasta"));
+        Long deletedId = createTestRecipe("Recipe 2", true, 4, "Instructions", Set.of("rice"));
+        String body = """
+                {"mode": "BEST_EFFORT", "operations": [
+                  {"type": "CREATE", "recipe": {"name": "Soup", "vegetarian": true, "servings": 2,
+                    "instructions": "Simmer.", "ingredients": ["potatoes"]}},
+                  {"type": "UPDATE", "id": %d, "recipe": {"name": "Renamed", "vegetarian": true,
+                    "servings": 6, "instructions": "Boil.", "ingredients": ["pasta", "basil"]}},
+                  {"type": "DELETE", "id": %d},
+                  {"type": "DELETE", "id": 999999}
+                ]}
+                """.formatted(existingId, deletedId);
+
+        mockMvc.perform(post("/api/recipes/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(3))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[*].status", contains(201, 200, 204, 404)));
+
+        mockMvc.perform(get("/api/recipes"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].name", containsInAnyOrder("Soup", "Renamed")));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when deleting a non-existent recipe")
+    void shouldReturn404WhenDeletingMissingRecipe() throws Exception {
+        mockMvc.perform(delete("/api/recipes/{id}", 999999))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should bulk delete recipes ignoring unknown IDs")
+    void shouldDeleteRecipesInBulk() throws Exception {
+        Long firstId = createTestRecipe("Recipe 1", true, 4, "Instructions", Set.of("pasta"));
+        Long secondId = createTestRecipe("Recipe 2", true, 4, "Instructions", Set.of("rice"));
+        Long keptId = createTestRecipe("Recipe 3", true, 4, "Instructions", Set.of("salmon"));
+
+        mockMvc.perform(delete("/api/recipes")
+                        .param("ids", firstId + "," + secondId + ",999999"))
+                .andDo(print())
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(RecipeController.DELETED_COUNT_HEADER, "2"));
+
+        mockMvc.perform(get("/api/recipes"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(keptId));
+    }
+
     @Test
     @DisplayName("Should filter recipes by vegetarian status")
     void shouldFilterByVegetarian() throws Exception {
@@ -272,6 +418,50 @@ class RecipeControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(2)));
     }
 
+    @Test
+    @DisplayName("Should match LIKE wildcards in search terms literally")
+    void shouldMatchWildcardsLiterally() throws Exception {
+        createTestRecipe("Rice Pudding", true, 4, "Use 100% whole milk and simmer.",
+                Set.of("rice", "whole_milk"));
+        createTestRecipe("Lemon Rice", true, 2, "Use 1000 grains of rice.",
+                Set.of("rice", "whole milk"));
+
+        mockMvc.perform(get("/api/recipes")
+                        .param("searchText", "100%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Rice Pudding"));
+
+        mockMvc.perform(get("/api/recipes")
+                        .param("includeIngredients", "whole_milk"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Rice Pudding"));
+    }
+
+    @Test
+    @DisplayName("Should match whole ingredient names when ingredientMatch is EXACT")
+    void shouldMatchWholeIngredientNames() throws Exception {
+        createTestRecipe("Tomato Salad", true, 2, "Slice and season.",
+                Set.of("Tomato", "basil"));
+        createTestRecipe("Cherry Tomato Pasta", true, 4, "Boil pasta and toss.",
+                Set.of("cherry tomatoes", "pasta"));
+
+        mockMvc.perform(get("/api/recipes")
+                        .param("includeIngredients", "tomato")
+                        .param("ingredientMatch", "EXACT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Tomato Salad"));
+
+        mockMvc.perform(get("/api/recipes")
+                        .param("excludeIngredients", "tomato")
+                        .param("ingredientMatch", "EXACT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Cherry Tomato Pasta"));
+    }
+
     @Test
     @DisplayName("Should filter recipes with multiple criteria combined")
     void shouldFilterWithMultipleCriteria() throws Exception {
@@ -395,6 +585,75 @@ class RecipeControllerIntegrationTest {
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 
+    @Test
+    @DisplayName("Should page through recipes using the next cursor header")
+    void shouldPageThroughRecipesUsingCursor() throws Exception {
+        // Create test data
+        Long firstId = createTestRecipe("Recipe 1", true, 4, "Instructions", Set.of("pasta"));
+        Long secondId = createTestRecipe("Recipe 2", true, 4, "Instructions", Set.of("rice"));
+        Long thirdId = createTestRecipe("Recipe 3", false, 2, "Instructions", Set.of("salmon"));
+
+        MvcResult firstPage = mockMvc.perform(get("/api/recipes")
+                        .param("limit", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(firstId))
+                .andExpect(jsonPath("$[1].id").value(secondId))
+                .andExpect(header().exists(RecipeController.NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        String cursor = firstPage.getResponse().getHeader(RecipeController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/api/recipes")
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(thirdId))
+                .andExpect(header().doesNotExist(RecipeController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should return only the requested fields")
+    void shouldReturnOnlyRequestedFields() throws Exception {
+        Long recipeId = createTestRecipe("Recipe 1", true, 4, "Long instructions", Set.of("pasta"));
+
+        mockMvc.perform(get("/api/recipes").param("fields", "name,servings"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(recipeId))
+                .andExpect(jsonPath("$[0].name").value("Recipe 1"))
+                .andExpect(jsonPath("$[0].servings").value(4))
+                .andExpect(jsonPath("$[0].instructions").doesNotExist())
+                .andExpect(jsonPath("$[0].ingredients").doesNotExist());
+
+        mockMvc.perform(get("/api/recipes").param("fields", "name,calories"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a malformed cursor")
+    void shouldReturn400ForMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/recipes")
+                        .param("cursor", "not a cursor!"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Invalid cursor")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for full-text search on a database without search vectors")
+    void shouldReturn400ForFullTextSearchWithoutSupport() throws Exception {
+        mockMvc.perform(get("/api/recipes")
+                        .param("searchText", "oven")
+                        .param("searchMode", "FULL_TEXT"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("not supported")));
+    }
+
     // Helper method to create test recipes
     private Long createTestRecipe(String name, boolean vegetarian, int servings,
                                    String instructions, Set<String> ingredients) throws Exception {
@@ -1,7 +1,14 @@
 package org.amoscoats.recipemanager.controller;
 
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.dto.RecipeBatch;
+import org.amoscoats.recipemanager.dto.RecipeField;
+import org.amoscoats.recipemanager.dto.RecipePage;
+import org.amoscoats.recipemanager.dto.RecipePatchRequest;
 import org.amoscoats.recipemanager.dto.RecipeRequest;
 import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.dto.SearchMode;
+import org.amoscoats.recipemanager.exception.RecipeVersionMismatchException;
 import org.amoscoats.recipemanager.service.RecipeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,12 +18,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,7 +62,8 @@ class RecipeControllerTest {
                 true,
                 4,
                 "Test instructions",
-                Set.of("ingredient1", "ingredient2")
+                Set.of("ingredient1", "ingredient2"),
+                0L
         );
     }
 
@@ -75,17 +90,35 @@ class RecipeControllerTest {
     void shouldUpdateRecipe() {
         // Given
         Long recipeId = 1L;
-        when(recipeService.updateRecipe(recipeId, recipeRequest)).thenReturn(recipeResponse);
+        when(recipeService.updateRecipe(recipeId, recipeRequest, null)).thenReturn(recipeResponse);
 
         // When
-        ResponseEntity<RecipeResponse> response = recipeController.updateRecipe(recipeId, recipeRequest);
+        ResponseEntity<RecipeResponse> response = recipeController.updateRecipe(recipeId, recipeRequest, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getId()).isEqualTo(1L);
 
-        verify(recipeService).updateRecipe(recipeId, recipeRequest);
+        verify(recipeService).updateRecipe(recipeId, recipeRequest, null);
+    }
+
+    @Test
+    @DisplayName("Should patch recipe and return 200 OK")
+    void shouldPatchRecipe() {
+        // Given
+        RecipePatchRequest patch = new RecipePatchRequest();
+        patch.setServings(8);
+        when(recipeService.patchRecipe(1L, patch, null)).thenReturn(recipeResponse);
+
+        // When
+        ResponseEntity<RecipeResponse> response = recipeController.patchRecipe(1L, patch, null);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(recipeResponse);
+
+        verify(recipeService).patchRecipe(1L, patch, null);
     }
 
     @Test
@@ -93,16 +126,52 @@ class RecipeControllerTest {
     void shouldDeleteRecipe() {
         // Given
         Long recipeId = 1L;
-        doNothing().when(recipeService).deleteRecipe(recipeId);
+        doNothing().when(recipeService).deleteRecipe(recipeId, null);
 
         // When
-        ResponseEntity<Void> response = recipeController.deleteRecipe(recipeId);
+        ResponseEntity<Void> response = recipeController.deleteRecipe(recipeId, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         assertThat(response.getBody()).isNull();
 
-        verify(recipeService).deleteRecipe(recipeId);
+        verify(recipeService).deleteRecipe(recipeId, null);
+    }
+
+    @Test
+    @DisplayName("Should batch get recipes and return 200 OK")
+    void shouldGetRecipesByIds() {
+        // Given
+        List<Long> ids = List.of(1L, 99L);
+        RecipeBatch batch = new RecipeBatch(List.of(recipeResponse), List.of(99L));
+        when(recipeService.getRecipesByIds(ids)).thenReturn(batch);
+
+        // When
+        ResponseEntity<RecipeBatch> response = recipeController.getRecipesByIds(ids);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(batch);
+
+        verify(recipeService).getRecipesByIds(ids);
+    }
+
+    @Test
+    @DisplayName("Should bulk delete recipes and report the deleted count")
+    void shouldDeleteRecipes() {
+        // Given
+        Set<Long> ids = Set.of(1L, 2L);
+        when(recipeService.deleteRecipes(ids)).thenReturn(1);
+
+        // When
+        ResponseEntity<Void> response = recipeController.deleteRecipes(ids);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(response.getHeaders().getFirst(RecipeController.DELETED_COUNT_HEADER))
+                .isEqualTo("1");
+
+        verify(recipeService).deleteRecipes(ids);
     }
 
     @Test
@@ -113,7 +182,7 @@ class RecipeControllerTest {
         when(recipeService.getRecipeById(recipeId)).thenReturn(recipeResponse);
 
         // When
-        ResponseEntity<RecipeResponse> response = recipeController.getRecipeById(recipeId);
+        ResponseEntity<RecipeResponse> response = recipeController.getRecipeById(recipeId, null);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -123,19 +192,58 @@ class RecipeControllerTest {
         verify(recipeService).getRecipeById(recipeId);
     }
 
+    @Test
+    @DisplayName("Should return 304 without a body when If-None-Match names the current version")
+    void shouldReturnNotModifiedForCurrentETag() {
+        // Given
+        when(recipeService.getRecipeVersion(1L)).thenReturn(0L);
+        when(recipeService.getRecipeById(1L)).thenReturn(recipeResponse);
+
+        // When
+        ResponseEntity<RecipeResponse> notModified =
+                recipeController.getRecipeById(1L, "\"7\", W/\"0\"");
+        ResponseEntity<RecipeResponse> modified = recipeController.getRecipeById(1L, "\"7\"");
+
+        // Then
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+        assertThat(notModified.getHeaders().getETag()).isEqualTo("\"0\"");
+        assertThat(modified.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(modified.getBody()).isEqualTo(recipeResponse);
+        verify(recipeService, times(1)).getRecipeById(1L);
+    }
+
+    @Test
+    @DisplayName("Should pass the If-Match version to the service and reject weak tags")
+    void shouldPassIfMatchVersionToService() {
+        // Given
+        when(recipeService.patchRecipe(1L, new RecipePatchRequest(), 0L)).thenReturn(recipeResponse);
+
+        // When
+        ResponseEntity<RecipeResponse> response =
+                recipeController.patchRecipe(1L, new RecipePatchRequest(), "\"0\"");
+
+        // Then
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+        assertThatThrownBy(() -> recipeController.deleteRecipe(1L, "W/\"0\""))
+                .isInstanceOf(RecipeVersionMismatchException.class);
+        verify(recipeService, never()).deleteRecipe(any(), any());
+    }
+
     @Test
     @DisplayName("Should get all recipes when no filters provided")
     void shouldGetAllRecipesWhenNoFiltersProvided() {
         // Given
         RecipeResponse response2 = new RecipeResponse(
-                2L, "Recipe 2", false, 2, "Instructions", Set.of("ingredient3")
+                2L, "Recipe 2", false, 2, "Instructions", Set.of("ingredient3"), 0L
         );
         List<RecipeResponse> recipes = List.of(recipeResponse, response2);
         when(recipeService.getAllRecipes()).thenReturn(recipes);
 
         // When
         ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
-                null, null, null, null, null
+                null, null, null, null, null,
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, null, null, null
         );
 
         // Then
@@ -144,7 +252,7 @@ class RecipeControllerTest {
         assertThat(response.getBody()).hasSize(2);
 
         verify(recipeService).getAllRecipes();
-        verify(recipeService, never()).filterRecipes(any(), any(), any(), any(), any());
+        verify(recipeService, never()).filterRecipes(any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -156,7 +264,8 @@ class RecipeControllerTest {
 
         // When
         ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
-                null, null, Set.of(), Set.of(), ""
+                null, null, Set.of(), Set.of(), "",
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, null, null, null
         );
 
         // Then
@@ -164,7 +273,7 @@ class RecipeControllerTest {
         assertThat(response.getBody()).hasSize(1);
 
         verify(recipeService).getAllRecipes();
-        verify(recipeService, never()).filterRecipes(any(), any(), any(), any(), any());
+        verify(recipeService, never()).filterRecipes(any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -173,19 +282,22 @@ class RecipeControllerTest {
         // Given
         Boolean vegetarian = true;
         List<RecipeResponse> recipes = List.of(recipeResponse);
-        when(recipeService.filterRecipes(vegetarian, null, null, null, null))
+        when(recipeService.filterRecipes(vegetarian, null, null, null, null,
+                IngredientMatch.CONTAINS))
                 .thenReturn(recipes);
 
         // When
         ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
-                vegetarian, null, null, null, null
+                vegetarian, null, null, null, null,
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, null, null, null
         );
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).hasSize(1);
 
-        verify(recipeService).filterRecipes(vegetarian, null, null, null, null);
+        verify(recipeService).filterRecipes(vegetarian, null, null, null, null,
+                IngredientMatch.CONTAINS);
         verify(recipeService, never()).getAllRecipes();
     }
 
@@ -195,19 +307,22 @@ class RecipeControllerTest {
         // Given
         Integer servings = 4;
         List<RecipeResponse> recipes = List.of(recipeResponse);
-        when(recipeService.filterRecipes(null, servings, null, null, null))
+        when(recipeService.filterRecipes(null, servings, null, null, null,
+                IngredientMatch.CONTAINS))
                 .thenReturn(recipes);
 
         // When
         ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
-                null, servings, null, null, null
+                null, servings, null, null, null,
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, null, null, null
         );
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).hasSize(1);
 
-        verify(recipeService).filterRecipes(null, servings, null, null, null);
+        verify(recipeService).filterRecipes(null, servings, null, null, null,
+                IngredientMatch.CONTAINS);
     }
 
     @Test
@@ -216,19 +331,22 @@ class RecipeControllerTest {
         // Given
         Set<String> includeIngredients = Set.of("potatoes");
         List<RecipeResponse> recipes = List.of(recipeResponse);
-        when(recipeService.filterRecipes(null, null, includeIngredients, null, null))
+        when(recipeService.filterRecipes(null, null, includeIngredients, null, null,
+                IngredientMatch.CONTAINS))
                 .thenReturn(recipes);
 
         // When
         ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
-                null, null, includeIngredients, null, null
+                null, null, includeIngredients, null, null,
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, null, null, null
         );
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).hasSize(1);
 
-        verify(recipeService).filterRecipes(null, null, includeIngredients, null, null);
+        verify(recipeService).filterRecipes(null, null, includeIngredients, null, null,
+                IngredientMatch.CONTAINS);
     }
 
     @Test
@@ -237,19 +355,22 @@ class RecipeControllerTest {
         // Given
         Set<String> excludeIngredients = Set.of("salmon");
         List<RecipeResponse> recipes = List.of(recipeResponse);
-        when(recipeService.filterRecipes(null, null, null, excludeIngredients, null))
+        when(recipeService.filterRecipes(null, null, null, excludeIngredients, null,
+                IngredientMatch.CONTAINS))
                 .thenReturn(recipes);
 
         // When
         ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
-                null, null, null, excludeIngredients, null
+                null, null, null, excludeIngredients, null,
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, null, null, null
         );
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).hasSize(1);
 
-        verify(recipeService).filterRecipes(null, null, null, excludeIngredients, null);
+        verify(recipeService).filterRecipes(null, null, null, excludeIngredients, null,
+                IngredientMatch.CONTAINS);
     }
 
     @Test
@@ -258,19 +379,22 @@ class RecipeControllerTest {
         // Given
         String searchText = "oven";
         List<RecipeResponse> recipes = List.of(recipeResponse);
-        when(recipeService.filterRecipes(null, null, null, null, searchText))
+        when(recipeService.filterRecipes(null, null, null, null, searchText,
+                IngredientMatch.CONTAINS))
                 .thenReturn(recipes);
 
         // When
         ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
-                null, null, null, null, searchText
+                null, null, null, null, searchText,
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, null, null, null
         );
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).hasSize(1);
 
-        verify(recipeService).filterRecipes(null, null, null, null, searchText);
+        verify(recipeService).filterRecipes(null, null, null, null, searchText,
+                IngredientMatch.CONTAINS);
     }
 
     @Test
@@ -285,11 +409,12 @@ class RecipeControllerTest {
         List<RecipeResponse> recipes = List.of(recipeResponse);
 
         when(recipeService.filterRecipes(vegetarian, servings, includeIngredients,
-                excludeIngredients, searchText)).thenReturn(recipes);
+                excludeIngredients, searchText, IngredientMatch.CONTAINS)).thenReturn(recipes);
 
         // When
         ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
-                vegetarian, servings, includeIngredients, excludeIngredients, searchText
+                vegetarian, servings, includeIngredients, excludeIngredients, searchText,
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, null, null, null
         );
 
         // Then
@@ -297,25 +422,181 @@ class RecipeControllerTest {
         assertThat(response.getBody()).hasSize(1);
 
         verify(recipeService).filterRecipes(vegetarian, servings, includeIngredients,
-                excludeIngredients, searchText);
+                excludeIngredients, searchText, IngredientMatch.CONTAINS);
     }
 
     @Test
     @DisplayName("Should return empty list when no recipes match filters")
     void shouldReturnEmptyListWhenNoRecipesMatchFilters() {
         // Given
-        when(recipeService.filterRecipes(false, 10, null, null, null))
+        when(recipeService.filterRecipes(false, 10, null, null, null, IngredientMatch.CONTAINS))
                 .thenReturn(List.of());
 
         // When
         ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
-                false, 10, null, null, null
+                false, 10, null, null, null,
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, null, null, null
         );
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEmpty();
 
-        verify(recipeService).filterRecipes(false, 10, null, null, null);
+        verify(recipeService).filterRecipes(false, 10, null, null, null, IngredientMatch.CONTAINS);
+    }
+
+    @Test
+    @DisplayName("Should return a page with next cursor header when limit provided")
+    void shouldReturnPageWithNextCursorWhenLimitProvided() {
+        // Given
+        RecipePage page = new RecipePage(List.of(recipeResponse), "next-cursor");
+        when(recipeService.findRecipesPage(null, null, null, null, null,
+                IngredientMatch.CONTAINS, null, 1))
+                .thenReturn(page);
+
+        // When
+        ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
+                null, null, null, null, null,
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, null, 1, null
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getHeaders().getFirst(RecipeController.NEXT_CURSOR_HEADER))
+                .isEqualTo("next-cursor");
+
+        verify(recipeService).findRecipesPage(null, null, null, null, null,
+                IngredientMatch.CONTAINS, null, 1);
+        verify(recipeService, never()).getAllRecipes();
+    }
+
+    @Test
+    @DisplayName("Should omit next cursor header on the last page")
+    void shouldOmitNextCursorHeaderOnLastPage() {
+        // Given
+        RecipePage page = new RecipePage(List.of(recipeResponse), null);
+        when(recipeService.findRecipesPage(true, null, null, null, null,
+                IngredientMatch.CONTAINS, "cursor", null))
+                .thenReturn(page);
+
+        // When
+        ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
+                true, null, null, null, null,
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, "cursor", null, null
+        );
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getHeaders().containsHeader(RecipeController.NEXT_CURSOR_HEADER))
+                .isFalse();
+
+        verify(recipeService).findRecipesPage(true, null, null, null, null,
+                IngredientMatch.CONTAINS, "cursor", null);
+        verify(recipeService, never()).filterRecipes(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return a ranked page for full-text search without a limit")
+    void shouldReturnRankedPageForFullTextSearch() {
+        // Given
+        RecipePage page = new RecipePage(List.of(recipeResponse), "offset-cursor");
+        when(recipeService.searchRecipesPage(null, null, null, null, "tomato soup",
+                IngredientMatch.CONTAINS, null, null))
+                .thenReturn(page);
+
+        // When
+        ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
+                null, null, null, null, "tomato soup",
+                SearchMode.FULL_TEXT, IngredientMatch.CONTAINS, null, null, null
+        );
+
+        // Then
+        assertThat(response.getBody()).containsExactly(recipeResponse);
+        assertThat(response.getHeaders().getFirst(RecipeController.NEXT_CURSOR_HEADER))
+                .isEqualTo("offset-cursor");
+
+        verify(recipeService, never())
+                .findRecipesPage(any(), any(), any(), any(), any(), any(), any(), any());
+        verify(recipeService, never()).filterRecipes(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fetch a projection when fields are requested")
+    void shouldFetchProjectionForRequestedFields() {
+        // Given
+        RecipeResponse projected = new RecipeResponse(1L, "Test Recipe", null, 4, null, null, null);
+        Set<RecipeField> fields = Set.of(RecipeField.ID, RecipeField.NAME, RecipeField.SERVINGS);
+        when(recipeService.findRecipesProjected(true, null, null, null, null,
+                IngredientMatch.CONTAINS, fields, null, 10))
+                .thenReturn(new RecipePage(List.of(projected), "next"));
+
+        // When
+        ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
+                true, null, null, null, null,
+                SearchMode.SUBSTRING, IngredientMatch.CONTAINS, null, 10, Set.of("name", " SERVINGS")
+        );
+
+        // Then
+        assertThat(response.getBody()).containsExactly(projected);
+        assertThat(response.getHeaders().getFirst(RecipeController.NEXT_CURSOR_HEADER))
+                .isEqualTo("next");
+        verify(recipeService, never())
+                .findRecipesPage(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should trim ranked search results to the requested fields")
+    void shouldTrimFullTextResultsToRequestedFields() {
+        // Given
+        when(recipeService.searchRecipesPage(null, null, null, null, "tomato soup",
+                IngredientMatch.CONTAINS, null, null))
+                .thenReturn(new RecipePage(List.of(recipeResponse), null));
+
+        // When
+        ResponseEntity<List<RecipeResponse>> response = recipeController.getRecipes(
+                null, null, null, null, "tomato soup",
+                SearchMode.FULL_TEXT, IngredientMatch.CONTAINS, null, null, Set.of("name")
+        );
+
+        // Then
+        assertThat(response.getBody()).containsExactly(
+                new RecipeResponse(1L, "Test Recipe", null, null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Should stream filtered recipes as NDJSON")
+    @SuppressWarnings("unchecked")
+    void shouldStreamRecipesAsNdjson() throws Exception {
+        // Given
+        RecipeController controller =
+                new RecipeController(recipeService, JsonMapper.builder().build());
+        RecipeResponse response2 = new RecipeResponse(
+                2L, "Recipe 2", true, 2, "Instructions", Set.of("ingredient3"), 0L
+        );
+        when(recipeService.exportRecipes(eq(true), eq(null), eq(null), eq(null), eq(null),
+                eq(IngredientMatch.CONTAINS), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<RecipeResponse> sink = invocation.getArgument(5);
+                    sink.accept(recipeResponse);
+                    sink.accept(response2);
+                    return 2L;
+                });
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = controller.exportRecipes(
+                true, null, null, null, null
+        );
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":1").contains("\"name\":\"Test Recipe\"");
+        assertThat(lines[1]).contains("\"id\":2");
     }
 }
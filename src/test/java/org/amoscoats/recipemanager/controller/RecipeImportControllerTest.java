@@ -0,0 +1,71 @@
+package org.amoscoats.recipemanager.controller;
+
+import org.amoscoats.recipemanager.dto.RecipeImportResponse;
+import org.amoscoats.recipemanager.service.RecipeImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeImportController Unit Tests")
+class RecipeImportControllerTest {
+
+    @Mock
+    private RecipeImportService recipeImportService;
+
+    @InjectMocks
+    private RecipeImportController recipeImportController;
+
+    @Test
+    @DisplayName("Should import NDJSON body and return the summary")
+    void shouldImportNdjson() throws Exception {
+        // Given
+        RecipeImportResponse summary = new RecipeImportResponse();
+        summary.setTotalRows(1);
+        summary.setImportedRows(1);
+        when(recipeImportService.importRecipes(
+                any(Reader.class), eq(RecipeImportService.Format.NDJSON)))
+                .thenReturn(summary);
+
+        // When
+        ResponseEntity<RecipeImportResponse> response = recipeImportController.importNdjson(
+                new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(summary);
+    }
+
+    @Test
+    @DisplayName("Should import CSV body and return the summary")
+    void shouldImportCsv() throws Exception {
+        // Given
+        RecipeImportResponse summary = new RecipeImportResponse();
+        when(recipeImportService.importRecipes(
+                any(Reader.class), eq(RecipeImportService.Format.CSV)))
+                .thenReturn(summary);
+
+        // When
+        ResponseEntity<RecipeImportResponse> response = recipeImportController.importCsv(
+                new ByteArrayInputStream(new byte[0]));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(recipeImportService).importRecipes(
+                any(Reader.class), eq(RecipeImportService.Format.CSV));
+    }
+}
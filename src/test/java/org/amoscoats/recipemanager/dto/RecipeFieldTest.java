@@ -0,0 +1,29 @@
+package org.amoscoats.recipemanager.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RecipeField Unit Tests")
+class RecipeFieldTest {
+
+    @Test
+    @DisplayName("Should parse field names ignoring case and always include the id")
+    void shouldParseFieldNames() {
+        assertThat(RecipeField.parse(List.of(" Name", "INGREDIENTS", "")))
+                .containsExactly(RecipeField.ID, RecipeField.NAME, RecipeField.INGREDIENTS);
+        assertThat(RecipeField.parse(List.of())).containsExactly(RecipeField.ID);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown field names")
+    void shouldRejectUnknownFields() {
+        assertThatThrownBy(() -> RecipeField.parse(List.of("name", "calories")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown recipe field: calories");
+    }
+}
@@ -20,7 +20,8 @@ class RecipeResponseTest {
                 true,
                 4,
                 "Test instructions",
-                ingredients
+                ingredients,
+                0L
         );
 
         assertThat(response.getId()).isEqualTo(1L);
@@ -91,9 +92,9 @@ class RecipeResponseTest {
     @DisplayName("Should test equals and hashCode")
     void shouldTestEqualsAndHashCode() {
         Set<String> ingredients = Set.of("ingredient1");
-        RecipeResponse response1 = new RecipeResponse(1L, "Recipe", true, 4, "Instructions", ingredients);
-        RecipeResponse response2 = new RecipeResponse(1L, "Recipe", true, 4, "Instructions", ingredients);
-        RecipeResponse response3 = new RecipeResponse(2L, "Other", false, 2, "Other", Set.of("other"));
+        RecipeResponse response1 = new RecipeResponse(1L, "Recipe", true, 4, "Instructions", ingredients, 0L);
+        RecipeResponse response2 = new RecipeResponse(1L, "Recipe", true, 4, "Instructions", ingredients, 0L);
+        RecipeResponse response3 = new RecipeResponse(2L, "Other", false, 2, "Other", Set.of("other"), 0L);
 
         assertThat(response1).isEqualTo(response2);
         assertThat(response1).isNotEqualTo(response3);
@@ -103,7 +104,7 @@ class RecipeResponseTest {
     @Test
     @DisplayName("Should test toString")
     void shouldTestToString() {
-        RecipeResponse response = new RecipeResponse(1L, "Recipe", true, 4, "Instructions", Set.of("ing1"));
+        RecipeResponse response = new RecipeResponse(1L, "Recipe", true, 4, "Instructions", Set.of("ing1"), 0L);
         String toString = response.toString();
         assertThat(toString).contains("Recipe");
         assertThat(toString).contains("1");
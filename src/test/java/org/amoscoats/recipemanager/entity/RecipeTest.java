@@ -33,6 +33,18 @@ class RecipeTest {
         assertThat(recipe.getIngredients()).hasSize(2);
     }
 
+    @Test
+    @DisplayName("Should derive sorted normalized ingredient terms")
+    void shouldRefreshIngredientTerms() {
+        Recipe recipe = new Recipe(1L, "Test Recipe", true, 4, "Instructions",
+                Set.of(" Tomato", "basil", "tomato "));
+        assertThat(recipe.getIngredientTerms()).containsExactly("basil", "tomato");
+
+        recipe.setIngredients(new HashSet<>(Set.of("Salt")));
+        recipe.refreshIngredientTerms();
+        assertThat(recipe.getIngredientTerms()).containsExactly("salt");
+    }
+
     @Test
     @DisplayName("Should set and get id")
     void shouldSetAndGetId() {
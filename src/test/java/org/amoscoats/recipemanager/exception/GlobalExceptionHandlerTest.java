@@ -12,12 +12,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,16 +37,17 @@ class GlobalExceptionHandlerTest {
     private BindingResult bindingResult;
 
     @Test
-    @DisplayName("Should handle RuntimeException and return 404")
-    void shouldHandleRuntimeException() {
+    @DisplayName("Should handle RecipeNotFoundException and return 404")
+    void shouldHandleRecipeNotFoundException() {
         // Given
-        RuntimeException exception = new RuntimeException("Recipe not found with id: 1");
+        RecipeNotFoundException exception = new RecipeNotFoundException(1L);
 
         // When
         ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
-                exceptionHandler.handleRuntimeException(exception);
+                exceptionHandler.handleRecipeNotFoundException(exception);
 
         // Then
+        assertThat(exception.getStackTrace()).isEmpty();
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().status()).isEqualTo(404);
@@ -53,19 +57,99 @@ class GlobalExceptionHandlerTest {
     }
 
     @Test
-    @DisplayName("Should handle RuntimeException with different message")
-    void shouldHandleRuntimeExceptionWithDifferentMessage() {
+    @DisplayName("Should handle RecipeVersionMismatchException and return 412")
+    void shouldHandleRecipeVersionMismatchException() {
         // Given
-        RuntimeException exception = new RuntimeException("Custom error message");
+        RecipeVersionMismatchException exception =
+                new RecipeVersionMismatchException("Recipe 1 is not at version 2");
+
+        // When
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleRecipeVersionMismatchException(exception);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(412);
+        assertThat(response.getBody().message()).isEqualTo("Recipe 1 is not at version 2");
+    }
+
+    @Test
+    @DisplayName("Should handle unexpected RuntimeException and return 500 without its message")
+    void shouldHandleRuntimeException() {
+        // Given
+        RuntimeException exception = new RuntimeException("Connection refused");
 
         // When
         ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
                 exceptionHandler.handleRuntimeException(exception);
 
         // Then
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(500);
+        assertThat(response.getBody().message()).isEqualTo("Internal server error");
+    }
+
+    @Test
+    @DisplayName("Should handle IllegalArgumentException and return 400")
+    void shouldHandleIllegalArgumentException() {
+        // Given
+        IllegalArgumentException exception = new IllegalArgumentException("Invalid cursor: abc");
+
+        // When
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleIllegalArgumentException(exception);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(400);
+        assertThat(response.getBody().message()).isEqualTo("Invalid cursor: abc");
+    }
+
+    @Test
+    @DisplayName("Should handle a mistyped request parameter and return 400 instead of 500")
+    void shouldHandleMethodArgumentTypeMismatchException() {
+        // Given
+        MethodArgumentTypeMismatchException exception =
+                mock(MethodArgumentTypeMismatchException.class);
+        when(exception.getName()).thenReturn("id");
+
+        // When
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleMethodArgumentTypeMismatchException(exception);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().status()).isEqualTo(400);
+        assertThat(response.getBody().message()).isEqualTo("Invalid value for parameter 'id'");
+    }
+
+    @Test
+    @DisplayName("Should keep the status of a ResponseStatusException")
+    void shouldHandleResponseStatusException() {
+        // Given
+        ResponseStatusException withReason =
+                new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "Unsupported format");
+        ResponseStatusException withoutReason =
+                new ResponseStatusException(HttpStatus.BAD_REQUEST);
+
+        // When
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleErrorResponseException(withReason);
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> defaultResponse =
+                exceptionHandler.handleErrorResponseException(withoutReason);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_ACCEPTABLE);
         assertThat(response.getBody()).isNotNull();
-        assertThat(response.getBody().message()).isEqualTo("Custom error message");
+        assertThat(response.getBody().status()).isEqualTo(406);
+        assertThat(response.getBody().message()).isEqualTo("Unsupported format");
+        assertThat(defaultResponse.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(defaultResponse.getBody()).isNotNull();
+        assertThat(defaultResponse.getBody().message()).isEqualTo("Bad Request");
     }
 
     @Test
@@ -0,0 +1,78 @@
+package org.amoscoats.recipemanager.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("IngredientDictionary Integration Tests")
+class IngredientDictionaryIntegrationTest {
+
+    @Autowired
+    private IngredientDictionary ingredientDictionary;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should register a name once and resolve its id back to the shared instance")
+    void shouldRegisterAndResolveNames() {
+        // When
+        ingredientDictionary.register(List.of(new String("dictionary saffron")));
+        int id = ingredientDictionary.idOf(new String("dictionary saffron"));
+        int again = ingredientDictionary.idOf("dictionary saffron");
+        String name = ingredientDictionary.nameOf(id);
+
+        // Then
+        assertThat(again).isEqualTo(id);
+        assertThat(name).isEqualTo("dictionary saffron");
+        assertThat(ingredientDictionary.nameOf(id)).isSameAs(name);
+    }
+
+    @Test
+    @DisplayName("Should resolve substring terms to matching ids ignoring case")
+    void shouldResolveSubstringTerms() {
+        // Given
+        ingredientDictionary.register(
+                List.of("Smoked Paprikadict", "sweet paprikadict", "cumindict"));
+        int smoked = ingredientDictionary.idOf("Smoked Paprikadict");
+        int sweet = ingredientDictionary.idOf("sweet paprikadict");
+
+        // Then
+        assertThat(ingredientDictionary.containing("SMOKED%PAPRIKADICT")).isEmpty();
+        assertThat(ingredientDictionary.containing("PAPRIKADICT"))
+                .containsOnlyKeys(smoked, sweet)
+                .containsEntry(smoked, "Smoked Paprikadict");
+    }
+
+    @Test
+    @DisplayName("Should only share names registered by a transaction once it commits")
+    void shouldShareRegisteredNamesOnCommit() {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // When
+        Integer pendingId = transaction.execute(status -> {
+            ingredientDictionary.register(List.of("dictionary sumac"));
+            int id = ingredientDictionary.idOf("dictionary sumac");
+            status.setRollbackOnly();
+            return id;
+        });
+
+        // Then
+        assertThat(pendingId).isNotNull();
+        assertThatThrownBy(() -> ingredientDictionary.idOf("dictionary sumac"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("dictionary sumac");
+    }
+}
@@ -0,0 +1,214 @@
+package org.amoscoats.recipemanager.index;
+
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.event.RecipeChangedEvent;
+import org.amoscoats.recipemanager.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IngredientIndex Unit Tests")
+class IngredientIndexTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IngredientIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IngredientIndex(recipeRepository, transactionManager, true);
+    }
+
+    private static Recipe recipe(long id, boolean vegetarian, int servings, String... ingredients) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setVegetarian(vegetarian);
+        recipe.setServings(servings);
+        recipe.setIngredients(Set.of(ingredients));
+        return recipe;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuildWith(Recipe... recipes) {
+        when(recipeRepository.forEachRecipe(any(Specification.class), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<Recipe> action = invocation.getArgument(2);
+                    List.of(recipes).forEach(action);
+                    return (long) recipes.length;
+                });
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should not answer queries before the first rebuild")
+    void shouldNotMatchBeforeRebuild() {
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.match(true, null, null, null, IngredientMatch.CONTAINS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should combine vegetarian, servings and ingredient filters")
+    void shouldCombineFilters() {
+        // Given
+        rebuildWith(
+                recipe(1, true, 4, "Tomato", "pasta"),
+                recipe(2, false, 4, "cherry tomatoes", "salmon"),
+                recipe(3, true, 2, "potatoes"),
+                recipe(4, true, 4, "tomato", "basil"));
+
+        // Then
+        assertThat(index.match(true, null, null, null, IngredientMatch.CONTAINS))
+                .contains(RoaringBitmap.bitmapOf(1, 3, 4));
+        assertThat(index.match(null, 4, Set.of("tomato"), null, IngredientMatch.CONTAINS))
+                .contains(RoaringBitmap.bitmapOf(1, 2, 4));
+        assertThat(index.match(
+                true, 4, Set.of("TOMATO"), Set.of("basil"), IngredientMatch.CONTAINS))
+                .contains(RoaringBitmap.bitmapOf(1));
+        assertThat(index.match(false, null, Set.of("potato"), null, IngredientMatch.CONTAINS))
+                .contains(new RoaringBitmap());
+    }
+
+    @Test
+    @DisplayName("Should match whole ingredient names in exact mode")
+    void shouldMatchExactIngredients() {
+        // Given
+        rebuildWith(
+                recipe(1, true, 4, "Tomato", "pasta"),
+                recipe(2, false, 4, "cherry tomatoes", "salmon"),
+                recipe(3, true, 4, "tomato", "basil"));
+
+        // Then
+        assertThat(index.match(null, null, Set.of(" TOMATO "), null, IngredientMatch.EXACT))
+                .contains(RoaringBitmap.bitmapOf(1, 3));
+        assertThat(index.match(null, null, null, Set.of("tomato"), IngredientMatch.EXACT))
+                .contains(RoaringBitmap.bitmapOf(2));
+        assertThat(index.match(null, null, Set.of("tomatoes"), null, IngredientMatch.EXACT))
+                .contains(new RoaringBitmap());
+    }
+
+    @Test
+    @DisplayName("Should lower-case but not trim substring terms, like the database query")
+    void shouldNotTrimContainsTerms() {
+        // Given
+        rebuildWith(
+                recipe(1, true, 4, "Sea Salt"),
+                recipe(2, true, 4, " salt"),
+                recipe(3, true, 4, "salt"));
+
+        // Then
+        assertThat(index.match(null, null, Set.of(" SALT"), null, IngredientMatch.CONTAINS))
+                .contains(RoaringBitmap.bitmapOf(1, 2));
+        assertThat(index.match(null, null, Set.of("salt"), null, IngredientMatch.EXACT))
+                .contains(RoaringBitmap.bitmapOf(2, 3));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database once a recipe id exceeds the int range")
+    void shouldNotMatchWithIdsBeyondIntRange() {
+        // Given
+        rebuildWith(recipe(1, true, 4, "tomato"));
+        RecipeResponse large = new RecipeResponse();
+        large.setId(Integer.MAX_VALUE + 1L);
+        large.setVegetarian(true);
+        large.setServings(4);
+        large.setIngredients(Set.of("tomato"));
+
+        // When
+        index.onRecipeChanged(RecipeChangedEvent.saved(large));
+
+        // Then
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.match(true, null, null, null, IngredientMatch.CONTAINS)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply committed saves and deletes")
+    void shouldApplyRecipeChanges() {
+        // Given
+        rebuildWith(recipe(1, true, 4, "tomato"), recipe(2, true, 4, "tomato"));
+        RecipeResponse updated = new RecipeResponse();
+        updated.setId(1L);
+        updated.setVegetarian(false);
+        updated.setServings(2);
+        updated.setIngredients(Set.of("beef"));
+
+        // When
+        index.onRecipeChanged(RecipeChangedEvent.saved(updated));
+        index.onRecipeChanged(RecipeChangedEvent.deleted(2L));
+
+        // Then
+        assertThat(index.match(null, null, Set.of("tomato"), null, IngredientMatch.CONTAINS))
+                .contains(new RoaringBitmap());
+        assertThat(index.match(false, 2, Set.of("beef"), null, IngredientMatch.CONTAINS))
+                .contains(RoaringBitmap.bitmapOf(1));
+    }
+
+    @Test
+    @DisplayName("Should ignore saves older than the indexed version or of deleted recipes")
+    void shouldIgnoreOutOfOrderChanges() {
+        // Given
+        Recipe indexed = recipe(1, true, 4, "tomato");
+        indexed.setVersion(3L);
+        rebuildWith(indexed, recipe(2, true, 4, "tomato"));
+        RecipeResponse older = new RecipeResponse();
+        older.setId(1L);
+        older.setVersion(2L);
+        older.setVegetarian(false);
+        older.setServings(2);
+        older.setIngredients(Set.of("beef"));
+        RecipeResponse beforeDelete = new RecipeResponse();
+        beforeDelete.setId(2L);
+        beforeDelete.setVersion(5L);
+        beforeDelete.setVegetarian(true);
+        beforeDelete.setServings(4);
+        beforeDelete.setIngredients(Set.of("tomato"));
+
+        // When
+        index.onRecipeChanged(RecipeChangedEvent.saved(older));
+        index.onRecipeChanged(RecipeChangedEvent.deleted(2L));
+        index.onRecipeChanged(RecipeChangedEvent.saved(beforeDelete));
+
+        // Then
+        assertThat(index.match(true, 4, Set.of("tomato"), null, IngredientMatch.CONTAINS))
+                .contains(RoaringBitmap.bitmapOf(1));
+        assertThat(index.match(null, null, Set.of("beef"), null, IngredientMatch.CONTAINS))
+                .contains(new RoaringBitmap());
+    }
+
+    @Test
+    @DisplayName("Should ignore changes and never report ready when disabled")
+    void shouldStayIdleWhenDisabled() {
+        // Given
+        IngredientIndex disabled = new IngredientIndex(recipeRepository, transactionManager, false);
+
+        // When
+        disabled.onApplicationReady();
+        disabled.onRecipeChanged(RecipeChangedEvent.deleted(1L));
+
+        // Then
+        assertThat(disabled.isReady()).isFalse();
+        verifyNoInteractions(recipeRepository);
+    }
+}
@@ -0,0 +1,112 @@
+package org.amoscoats.recipemanager.logging;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("AccessLogFilter Unit Tests")
+class AccessLogFilterTest {
+
+    private static final long SLOW_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final AccessLogFilter filter = new AccessLogFilter(new AccessLogProperties(
+            true,
+            0.5,
+            Map.of("GET /api/recipes/{id}", 0.01, "DELETE /api/recipes/{id}", 1.0),
+            Duration.ofSeconds(1)));
+
+    @Test
+    @DisplayName("Should use the rate of the endpoint and the default for other endpoints")
+    void shouldResolveSampleRatePerEndpoint() {
+        assertThat(filter.sampleRate("GET", "/api/recipes/{id}")).isEqualTo(0.01);
+        assertThat(filter.sampleRate("DELETE", "/api/recipes/{id}")).isEqualTo(1.0);
+        assertThat(filter.sampleRate("PUT", "/api/recipes/{id}")).isEqualTo(0.5);
+        assertThat(filter.sampleRate("GET", AccessLogFilter.UNMATCHED_ROUTE)).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should sample successful requests by the endpoint rate")
+    void shouldSampleSuccessfulRequests() {
+        assertThat(filter.shouldLog("GET", "/api/recipes/{id}", 200, 1_000, 0.005)).isTrue();
+        assertThat(filter.shouldLog("GET", "/api/recipes/{id}", 404, 1_000, 0.02)).isFalse();
+        assertThat(filter.shouldLog("GET", "/api/recipes", 200, 1_000, 0.49)).isTrue();
+        assertThat(filter.shouldLog("GET", "/api/recipes", 200, 1_000, 0.51)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should always log server errors and slow requests")
+    void shouldAlwaysLogServerErrorsAndSlowRequests() {
+        assertThat(filter.shouldLog("GET", "/api/recipes/{id}", 500, 1_000, 0.99)).isTrue();
+        assertThat(filter.shouldLog("GET", "/api/recipes/{id}", 200, SLOW_NANOS, 0.99)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject sample rate keys without a method")
+    void shouldRejectMalformedEndpoint() {
+        AccessLogProperties properties = new AccessLogProperties(
+                true, 1.0, Map.of("/api/recipes", 0.1), Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> new AccessLogFilter(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("/api/recipes");
+    }
+
+    @Test
+    @DisplayName("Should pass requests through to the rest of the chain")
+    void shouldPassRequestsThrough() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recipes/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When & Then
+        assertThatCode(() -> filter.doFilter(request, response, chain)).doesNotThrowAnyException();
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    @DisplayName("Should log async requests when they complete, not at handoff")
+    void shouldLogAsyncRequestsOnCompletion() throws Exception {
+        // Given
+        AccessLogFilter spyFilter = spy(filter);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recipes/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                req.startAsync();
+            }
+        });
+
+        // When
+        spyFilter.doFilter(request, response, chain);
+        verify(spyFilter, never()).record(any(), any(), any(), anyInt(), anyLong());
+        response.setStatus(500);
+        request.getAsyncContext().complete();
+
+        // Then
+        verify(spyFilter).record(eq("GET"), eq(AccessLogFilter.UNMATCHED_ROUTE), same(request),
+                eq(500), anyLong());
+    }
+}
@@ -0,0 +1,85 @@
+package org.amoscoats.recipemanager.metrics;
+
+import org.amoscoats.recipemanager.metrics.SlowQueryLog.SlowQuery;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JdbcStatementRecorder Unit Tests")
+class JdbcStatementRecorderTest {
+
+    private SlowQueryLog slowQueryLog;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:statement-recorder;DB_CLOSE_DELAY=-1");
+        slowQueryLog = new SlowQueryLog(Duration.ZERO, 10);
+        dataSource = new JdbcStatementRecorder(() -> slowQueryLog).wrap(h2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestStatistics.end();
+    }
+
+    @Test
+    @DisplayName("Should count statements of the current request and record bind parameter types")
+    void shouldRecordStatements() throws Exception {
+        // Given
+        RequestStatistics.begin("GET /api/recipes");
+        RequestStatistics.operation("filterRecipes");
+
+        // When
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS items (id BIGINT, name VARCHAR(20))");
+            try (PreparedStatement insert =
+                    connection.prepareStatement("INSERT INTO items VALUES (?, ?)")) {
+                insert.setLong(1, 1L);
+                insert.setString(2, "salt");
+                insert.addBatch();
+                insert.setLong(1, 2L);
+                insert.setNull(2, Types.VARCHAR);
+                insert.addBatch();
+                insert.executeBatch();
+            }
+        }
+
+        // Then
+        RequestStatistics statistics = RequestStatistics.end();
+        assertThat(statistics.requestType()).isEqualTo("GET /api/recipes filterRecipes");
+        assertThat(statistics.statements()).isEqualTo(2);
+        SlowQuery insert = slowQueryLog.recent().getFirst();
+        assertThat(insert.sql()).isEqualTo("INSERT INTO items VALUES (?, ?)");
+        assertThat(insert.parameters()).containsExactly("Long", "NULL");
+        assertThat(insert.batchSize()).isEqualTo(2);
+        assertThat(insert.requestType()).isEqualTo("GET /api/recipes filterRecipes");
+        assertThat(slowQueryLog.recent().get(1).sql()).startsWith("CREATE TABLE");
+    }
+
+    @Test
+    @DisplayName("Should compare proxies by identity and still unwrap to the driver")
+    void shouldKeepIdentityAndUnwrap() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+                Connection other = dataSource.getConnection()) {
+            assertThat(connection).isEqualTo(connection).isNotEqualTo(other);
+            assertThat(connection.unwrap(JdbcConnection.class)).isNotNull();
+        }
+        assertThat(dataSource).isEqualTo(dataSource);
+        assertThat(dataSource.hashCode()).isEqualTo(System.identityHashCode(dataSource));
+    }
+}
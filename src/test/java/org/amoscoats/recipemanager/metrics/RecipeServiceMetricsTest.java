@@ -0,0 +1,105 @@
+package org.amoscoats.recipemanager.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RecipeServiceMetrics Unit Tests")
+class RecipeServiceMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private FakeRecipeService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ProxyFactory proxyFactory = new ProxyFactory(new FakeRecipeService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new RecipeServiceMetrics(() -> meterRegistry));
+        service = (FakeRecipeService) proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Should time calls and record result sizes tagged by the filters used")
+    void shouldTagByUsedFilters() {
+        // When
+        service.filterRecipes(true, null, Set.of("salt"), Set.of(), "", IngredientMatch.EXACT);
+        service.filterRecipes(true, null, Set.of("basil"), null, null, IngredientMatch.EXACT);
+
+        // Then
+        assertThat(meterRegistry.get(RecipeServiceMetrics.TIMER_NAME)
+                .tag("method", "filterRecipes")
+                .tag("filters", "vegetarian,includeIngredients")
+                .tag("ingredientMatch", "EXACT")
+                .tag("exception", "none")
+                .timer()
+                .count()).isEqualTo(2);
+        assertThat(meterRegistry.get(RecipeServiceMetrics.RESULTS_NAME)
+                .tag("filters", "vegetarian,includeIngredients")
+                .summary()
+                .totalAmount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should expose the filters of the running call to repository metrics")
+    void shouldExposeCurrentFilters() {
+        // When
+        List<String> seen = service.filterRecipes(null, 4, null, null, "oven", null);
+
+        // Then
+        assertThat(seen).containsExactly("servings,searchText", "none");
+        assertThat(RecipeServiceMetrics.currentFilters()).isEqualTo("none");
+    }
+
+    @Test
+    @DisplayName("Should tag failed calls with the exception and not record a result size")
+    void shouldTagExceptions() {
+        // When & Then
+        assertThatThrownBy(() -> service.getRecipeById(1L))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get(RecipeServiceMetrics.TIMER_NAME)
+                .tag("method", "getRecipeById")
+                .tag("filters", "none")
+                .tag("ingredientMatch", "none")
+                .tag("exception", "IllegalStateException")
+                .timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.find(RecipeServiceMetrics.RESULTS_NAME).summary()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should count recipes in lists and counts only")
+    void shouldMeasureResultSizes() {
+        assertThat(RecipeServiceMetrics.resultSize(List.of(1, 2, 3))).isEqualTo(3);
+        assertThat(RecipeServiceMetrics.resultSize(7)).isEqualTo(7);
+        assertThat(RecipeServiceMetrics.resultSize(12L)).isEqualTo(12);
+        assertThat(RecipeServiceMetrics.resultSize("recipe")).isEqualTo(-1);
+        assertThat(RecipeServiceMetrics.resultSize(null)).isEqualTo(-1);
+    }
+
+    static class FakeRecipeService {
+
+        public List<String> filterRecipes(
+                Boolean vegetarian,
+                Integer servings,
+                Set<String> includeIngredients,
+                Set<String> excludeIngredients,
+                String searchText,
+                IngredientMatch ingredientMatch) {
+            return List.of(RecipeServiceMetrics.currentFilters(), "none");
+        }
+
+        public String getRecipeById(Long id) {
+            throw new IllegalStateException("Recipe " + id + " is unavailable");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.amoscoats.recipemanager.metrics;
+
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestStatisticsInterceptor Unit Tests")
+class RequestStatisticsInterceptorTest {
+
+    private final RequestStatisticsInterceptor interceptor = new RequestStatisticsInterceptor();
+
+    @AfterEach
+    void tearDown() {
+        RequestStatistics.end();
+    }
+
+    @Test
+    @DisplayName("Should count an async request once, not again on its async re-dispatch")
+    void shouldCountAsyncRequestOnce() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recipes/export");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/recipes/export");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        interceptor.preHandle(request, response, null);
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Then
+        assertThat(interceptor.snapshot())
+                .containsOnlyKeys("GET /api/recipes/export")
+                .allSatisfy((requestType, statistics) ->
+                        assertThat(statistics.requests()).isEqualTo(1));
+    }
+}
@@ -0,0 +1,53 @@
+package org.amoscoats.recipemanager.metrics;
+
+import org.amoscoats.recipemanager.metrics.SlowQueryLog.SlowQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("SlowQueryLog Unit Tests")
+class SlowQueryLogTest {
+
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(100), 2);
+
+    @Test
+    @DisplayName("Should treat executions from the threshold on as slow")
+    void shouldCompareWithThreshold() {
+        assertThat(slowQueryLog.isSlow(Duration.ofMillis(99).toNanos())).isFalse();
+        assertThat(slowQueryLog.isSlow(Duration.ofMillis(100).toNanos())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the most recent slow queries, newest first")
+    void shouldKeepMostRecentQueries() {
+        // When
+        slowQueryLog.record("select 1", List.of(), 1, Duration.ofMillis(150).toNanos());
+        slowQueryLog.record("select 2", List.of("Long"), 1, Duration.ofMillis(250).toNanos());
+        slowQueryLog.record(
+                "select 3", List.of("String", "NULL"), 3, Duration.ofMillis(350).toNanos());
+
+        // Then
+        assertThat(slowQueryLog.recent())
+                .extracting(SlowQuery::sql, SlowQuery::durationMillis, SlowQuery::batchSize)
+                .containsExactly(tuple("select 3", 350L, 3), tuple("select 2", 250L, 1));
+        assertThat(slowQueryLog.recent().getFirst().parameters()).containsExactly("String", "NULL");
+    }
+
+    @Test
+    @DisplayName("Should discard all slow queries on clear")
+    void shouldClear() {
+        // Given
+        slowQueryLog.record("select 1", List.of(), 1, Duration.ofMillis(150).toNanos());
+
+        // When
+        slowQueryLog.clear();
+
+        // Then
+        assertThat(slowQueryLog.recent()).isEmpty();
+    }
+}
@@ -0,0 +1,229 @@
+package org.amoscoats.recipemanager.service;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.amoscoats.recipemanager.dto.RecipeBulkRequest;
+import org.amoscoats.recipemanager.dto.RecipeBulkRequest.Mode;
+import org.amoscoats.recipemanager.dto.RecipeBulkResponse;
+import org.amoscoats.recipemanager.dto.RecipeBulkResponse.OperationResult;
+import org.amoscoats.recipemanager.dto.RecipeOperation;
+import org.amoscoats.recipemanager.dto.RecipeOperation.Type;
+import org.amoscoats.recipemanager.dto.RecipeRequest;
+import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.event.RecipeChangedEvent;
+import org.amoscoats.recipemanager.event.RecipesChangedEvent;
+import org.amoscoats.recipemanager.index.IngredientDictionary;
+import org.amoscoats.recipemanager.mapper.RecipeMapper;
+import org.amoscoats.recipemanager.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeBulkService Unit Tests")
+class RecipeBulkServiceTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private IngredientDictionary ingredientDictionary;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecipeBulkService bulkService;
+
+    private final SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+
+    private final AtomicLong nextId = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        bulkService = new RecipeBulkService(
+                recipeRepository,
+                Mappers.getMapper(RecipeMapper.class),
+                ingredientDictionary,
+                validator,
+                eventPublisher,
+                transactionManager,
+                2,
+                10
+        );
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        lenient().when(recipeRepository.bulkInsert(anyList())).thenAnswer(invocation -> {
+            List<Recipe> recipes = invocation.getArgument(0);
+            recipes.forEach(recipe -> recipe.setId(nextId.getAndIncrement()));
+            return recipes.size();
+        });
+    }
+
+    private static RecipeRequest recipe(String name) {
+        return new RecipeRequest(name, true, 4, "Cook it.", Set.of("salt"));
+    }
+
+    private static Recipe existingRecipe(Long id) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setName("Existing " + id);
+        recipe.setVegetarian(false);
+        recipe.setServings(2);
+        recipe.setInstructions("Instructions");
+        recipe.setIngredients(new HashSet<>(Set.of("pepper")));
+        return recipe;
+    }
+
+    private static List<Integer> statuses(RecipeBulkResponse response) {
+        return response.getResults().stream().map(OperationResult::status).toList();
+    }
+
+    @Test
+    @DisplayName("Should apply valid operations and report failed ones in best effort mode")
+    void shouldApplyBestEffort() {
+        // Given
+        Recipe existing = existingRecipe(5L);
+        when(recipeRepository.findAllById(any())).thenReturn(List.of(existing));
+        RecipeBulkRequest request = new RecipeBulkRequest(Mode.BEST_EFFORT, List.of(
+                new RecipeOperation(Type.CREATE, null, recipe("Soup")),
+                new RecipeOperation(Type.UPDATE, 9L, recipe("Missing")),
+                new RecipeOperation(Type.UPDATE, 5L, recipe("Renamed")),
+                new RecipeOperation(Type.CREATE, null, recipe(" ")),
+                new RecipeOperation(Type.DELETE, 5L, null)
+        ));
+
+        // When
+        RecipeBulkResponse response = bulkService.apply(request);
+
+        // Then
+        assertThat(statuses(response)).containsExactly(201, 404, 200, 400, 204);
+        assertThat(response.getResults().get(0).id()).isEqualTo(100L);
+        assertThat(response.getResults().get(3).error()).contains("name");
+        assertThat(response.getSucceeded()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(existing.getName()).isEqualTo("Renamed");
+
+        verify(recipeRepository).deleteRecipesByIdIn(Set.of(5L));
+        verify(recipeRepository, times(3)).flushAndClear();
+        ArgumentCaptor<RecipesChangedEvent> events =
+                ArgumentCaptor.forClass(RecipesChangedEvent.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .flatMap(RecipesChangedEvent::changes)
+                .contains(RecipeChangedEvent.deleted(5L));
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should roll back every operation when one fails in all-or-nothing mode")
+    void shouldRollBackAllOrNothing() {
+        // Given
+        when(recipeRepository.findAllById(any())).thenReturn(List.of());
+        RecipeBulkRequest request = new RecipeBulkRequest(Mode.ALL_OR_NOTHING, List.of(
+                new RecipeOperation(Type.CREATE, null, recipe("Soup")),
+                new RecipeOperation(Type.DELETE, 7L, null),
+                new RecipeOperation(Type.CREATE, null, recipe("Salad"))
+        ));
+
+        // When
+        RecipeBulkResponse response = bulkService.apply(request);
+
+        // Then
+        assertThat(transaction.isRollbackOnly()).isTrue();
+        assertThat(statuses(response)).containsExactly(424, 404, 424);
+        assertThat(response.getResults().get(0).error()).contains("operation 1");
+        assertThat(response.getSucceeded()).isZero();
+        assertThat(response.getFailed()).isEqualTo(3);
+        // Stops at the failing chunk
+        verify(recipeRepository).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when an all-or-nothing request has invalid operations")
+    void shouldRejectInvalidAllOrNothing() {
+        // Given
+        RecipeBulkRequest request = new RecipeBulkRequest(Mode.ALL_OR_NOTHING, List.of(
+                new RecipeOperation(Type.CREATE, null, recipe("Soup")),
+                new RecipeOperation(Type.UPDATE, null, recipe("No id")),
+                new RecipeOperation(null, 1L, null)
+        ));
+
+        // When
+        RecipeBulkResponse response = bulkService.apply(request);
+
+        // Then
+        assertThat(statuses(response)).containsExactly(424, 400, 400);
+        assertThat(response.getResults().get(1).error()).isEqualTo("Recipe ID is required");
+        assertThat(response.getResults().get(2).error()).isEqualTo("Operation type is required");
+        verifyNoInteractions(recipeRepository, transactionManager, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should retry a rejected chunk one operation at a time in best effort mode")
+    void shouldIsolateRejectedOperation() {
+        // Given
+        List<List<String>> attempts = new ArrayList<>();
+        when(recipeRepository.bulkInsert(anyList())).thenAnswer(invocation -> {
+            List<Recipe> recipes = invocation.getArgument(0);
+            attempts.add(recipes.stream().map(Recipe::getName).toList());
+            if (recipes.stream().anyMatch(recipe -> recipe.getName().equals("Duplicate"))) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            recipes.forEach(recipe -> recipe.setId(nextId.getAndIncrement()));
+            return recipes.size();
+        });
+        RecipeBulkRequest request = new RecipeBulkRequest(Mode.BEST_EFFORT, List.of(
+                new RecipeOperation(Type.CREATE, null, recipe("Soup")),
+                new RecipeOperation(Type.CREATE, null, recipe("Duplicate"))
+        ));
+
+        // When
+        RecipeBulkResponse response = bulkService.apply(request);
+
+        // Then
+        assertThat(statuses(response)).containsExactly(201, 409);
+        assertThat(response.getResults().get(1).error()).contains("duplicate key");
+        assertThat(attempts).containsExactly(
+                List.of("Soup", "Duplicate"), List.of("Soup"), List.of("Duplicate"));
+    }
+
+    @Test
+    @DisplayName("Should reject requests with too many operations")
+    void shouldRejectTooManyOperations() {
+        // Given
+        List<RecipeOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            operations.add(new RecipeOperation(Type.DELETE, (long) i, null));
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> bulkService.apply(new RecipeBulkRequest(Mode.BEST_EFFORT, operations)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("At most 10");
+        verifyNoInteractions(recipeRepository);
+    }
+}
@@ -0,0 +1,130 @@
+package org.amoscoats.recipemanager.service;
+
+import org.amoscoats.recipemanager.config.CacheConfig;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.event.RecipeChangedEvent;
+import org.amoscoats.recipemanager.event.RecipesChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecipeCacheListener Unit Tests")
+class RecipeCacheListenerTest {
+
+    private Cache cache;
+    private RecipeCacheListener listener;
+
+    @BeforeEach
+    void setUp() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(100, Duration.ofMinutes(1));
+        cache = cacheManager.getCache(CacheConfig.RECIPES_CACHE);
+        listener = new RecipeCacheListener(cacheManager);
+    }
+
+    private static RecipeResponse recipe(Long id, String name) {
+        RecipeResponse recipe = new RecipeResponse();
+        recipe.setId(id);
+        recipe.setName(name);
+        return recipe;
+    }
+
+    private static RecipeResponse recipe(Long id, String name, Long version) {
+        RecipeResponse recipe = recipe(id, name);
+        recipe.setVersion(version);
+        return recipe;
+    }
+
+    @Test
+    @DisplayName("Should refresh cached recipes when they are saved")
+    void shouldRefreshCachedRecipeOnSave() {
+        // Given
+        cache.put(1L, recipe(1L, "Old name"));
+
+        // When
+        listener.onRecipeChanged(RecipeChangedEvent.saved(recipe(1L, "New name")));
+
+        // Then
+        assertThat(cache.get(1L, RecipeResponse.class).getName()).isEqualTo("New name");
+    }
+
+    @Test
+    @DisplayName("Should not admit recipes that were not cached")
+    void shouldNotCacheNewRecipes() {
+        // When
+        listener.onRecipeChanged(RecipeChangedEvent.saved(recipe(2L, "New recipe")));
+
+        // Then
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not replace a cached recipe with an older version")
+    void shouldNotRefreshWithOlderVersion() {
+        // Given
+        cache.put(1L, recipe(1L, "Newer", 3L));
+
+        // When
+        listener.onRecipeChanged(RecipeChangedEvent.saved(recipe(1L, "Older", 2L)));
+        listener.cacheLoaded(listener.generation(), recipe(1L, "Stale read", 1L));
+
+        // Then
+        assertThat(cache.get(1L, RecipeResponse.class).getName()).isEqualTo("Newer");
+    }
+
+    @Test
+    @DisplayName("Should cache loaded recipes unless a change committed during the load")
+    void shouldDropLoadsRacingWithWrites() {
+        // Given
+        long staleGeneration = listener.generation();
+        listener.onRecipeChanged(RecipeChangedEvent.deleted(4L));
+        long currentGeneration = listener.generation();
+
+        // When
+        listener.cacheLoaded(staleGeneration, recipe(4L, "Deleted meanwhile", 1L));
+        listener.cacheLoaded(currentGeneration, recipe(5L, "Loaded", 1L));
+
+        // Then
+        assertThat(cache.get(4L)).isNull();
+        assertThat(cache.get(5L, RecipeResponse.class).getName()).isEqualTo("Loaded");
+    }
+
+    @Test
+    @DisplayName("Should evict deleted recipes")
+    void shouldEvictDeletedRecipe() {
+        // Given
+        cache.put(3L, recipe(3L, "Doomed"));
+
+        // When
+        listener.onRecipeChanged(RecipeChangedEvent.deleted(3L));
+
+        // Then
+        assertThat(cache.get(3L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should apply a batch of changes with a single generation bump")
+    void shouldApplyBatchOfChanges() {
+        // Given
+        cache.put(1L, recipe(1L, "Old name"));
+        cache.put(3L, recipe(3L, "Doomed"));
+        long generation = listener.generation();
+
+        // When
+        listener.onRecipesChanged(new RecipesChangedEvent(List.of(
+                RecipeChangedEvent.saved(recipe(1L, "New name")),
+                RecipeChangedEvent.deleted(3L)
+        )));
+
+        // Then
+        assertThat(cache.get(1L, RecipeResponse.class).getName()).isEqualTo("New name");
+        assertThat(cache.get(3L)).isNull();
+        assertThat(listener.generation()).isEqualTo(generation + 1);
+    }
+}
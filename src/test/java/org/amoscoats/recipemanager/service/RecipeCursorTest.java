@@ -0,0 +1,50 @@
+package org.amoscoats.recipemanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RecipeCursor Unit Tests")
+class RecipeCursorTest {
+
+    @Test
+    @DisplayName("Should round-trip a position through encode and decode")
+    void shouldRoundTripPosition() {
+        String cursor = RecipeCursor.encode(12345L);
+
+        assertThat(cursor).doesNotContain("12345");
+        assertThat(RecipeCursor.decode(cursor)).isEqualTo(12345L);
+    }
+
+    @Test
+    @DisplayName("Should produce URL-safe cursors")
+    void shouldProduceUrlSafeCursors() {
+        String cursor = RecipeCursor.encode(Long.MAX_VALUE);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    void shouldRejectMalformedCursors() {
+        assertThatThrownBy(() -> RecipeCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+        assertThatThrownBy(() -> RecipeCursor.decode(RecipeCursor.encode(1L) + "x"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep offset cursors apart from id cursors")
+    void shouldRoundTripOffsetCursors() {
+        String cursor = RecipeCursor.encodeOffset(40L);
+
+        assertThat(RecipeCursor.decodeOffset(cursor)).isEqualTo(40L);
+        assertThatThrownBy(() -> RecipeCursor.decode(cursor))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecipeCursor.decodeOffset(RecipeCursor.encode(40L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,43 @@
+package org.amoscoats.recipemanager.service;
+
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecipeFilterKey Unit Tests")
+class RecipeFilterKeyTest {
+
+    @Test
+    @DisplayName("Should map equivalent criteria to equal keys")
+    void shouldCanonicalizeEquivalentCriteria() {
+        RecipeFilterKey first = RecipeFilterKey.of(
+                true, 4, Set.of("Tomato", "basil"), Set.of(), "Oven", IngredientMatch.CONTAINS);
+        RecipeFilterKey second = RecipeFilterKey.of(
+                true, 4, Set.of("BASIL", "tomato"), null, "oven", IngredientMatch.CONTAINS);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.includeIngredients()).containsExactly("basil", "tomato");
+        assertThat(first.excludeIngredients()).isNull();
+        assertThat(first.searchText()).isEqualTo("oven");
+    }
+
+    @Test
+    @DisplayName("Should keep different criteria apart")
+    void shouldDistinguishDifferentCriteria() {
+        assertThat(RecipeFilterKey.of(true, null, null, null, null, null))
+                .isNotEqualTo(RecipeFilterKey.of(false, null, null, null, null, null));
+        assertThat(RecipeFilterKey.of(null, null, Set.of("salt"), null, null, null))
+                .isNotEqualTo(RecipeFilterKey.of(null, null, null, Set.of("salt"), null, null));
+        assertThat(RecipeFilterKey.of(null, null, Set.of("salt"), null, null, null))
+                .isNotEqualTo(RecipeFilterKey.of(
+                        null, null, Set.of("salt"), null, null, IngredientMatch.EXACT));
+        assertThat(RecipeFilterKey.of(null, null, Set.of("a", "b"), null, null, null))
+                .extracting(RecipeFilterKey::includeIngredients, RecipeFilterKey::ingredientMatch)
+                .containsExactly(List.of("a", "b"), IngredientMatch.CONTAINS);
+    }
+}
@@ -0,0 +1,214 @@
+package org.amoscoats.recipemanager.service;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.amoscoats.recipemanager.dto.RecipeImportResponse;
+import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.event.RecipeChangedEvent;
+import org.amoscoats.recipemanager.event.RecipesChangedEvent;
+import org.amoscoats.recipemanager.mapper.RecipeMapper;
+import org.amoscoats.recipemanager.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeImportService Unit Tests")
+class RecipeImportServiceTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecipeImportService importService;
+
+    private final List<List<Recipe>> writtenBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        importService = new RecipeImportService(
+                recipeRepository,
+                Mappers.getMapper(RecipeMapper.class),
+                validator,
+                JsonMapper.builder().build(),
+                eventPublisher,
+                transactionManager,
+                2
+        );
+    }
+
+    private void recordBatches() {
+        when(recipeRepository.bulkInsert(anyList())).thenAnswer(invocation -> {
+            List<Recipe> batch = invocation.getArgument(0);
+            writtenBatches.add(new ArrayList<>(batch));
+            return batch.size();
+        });
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON rows in bounded batches")
+    void shouldImportNdjsonInBatches() throws Exception {
+        // Given
+        recordBatches();
+        String input = """
+                {"name":"Pasta","vegetarian":true,"servings":4,"instructions":"Boil.","ingredients":["pasta"]}
+                {"name":"Salmon","vegetarian":false,"servings":2,"instructions":"Bake.","ingredients":["salmon"]}
+
+                {"name":"Soup","vegetarian":true,"servings":3,"instructions":"Simmer.","ingredients":["potatoes"]}
+                """;
+
+        // When
+        RecipeImportResponse result = importService.importRecipes(
+                new StringReader(input), RecipeImportService.Format.NDJSON);
+
+        // Then
+        assertThat(result.getTotalRows()).isEqualTo(3);
+        assertThat(result.getImportedRows()).isEqualTo(3);
+        assertThat(result.getRejectedRows()).isEmpty();
+        assertThat(result.getBatches()).hasSize(2);
+        assertThat(result.getBatches().get(0).rows()).isEqualTo(2);
+        assertThat(result.getBatches().get(1).rows()).isEqualTo(1);
+        assertThat(result.getBatches()).allMatch(RecipeImportResponse.BatchProgress::committed);
+        assertThat(writtenBatches).hasSize(2);
+        assertThat(writtenBatches.get(1).get(0).getName()).isEqualTo("Soup");
+        verify(eventPublisher, times(2)).publishEvent(any(RecipesChangedEvent.class));
+        verify(eventPublisher, never()).publishEvent(any(RecipeChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed and invalid NDJSON rows with their line numbers")
+    void shouldRejectInvalidNdjsonRows() throws Exception {
+        // Given
+        recordBatches();
+        String input = """
+                {"name":"Pasta","vegetarian":true,"servings":4,"instructions":"Boil.","ingredients":["pasta"]}
+                {not json
+                {"name":"","vegetarian":true,"servings":0,"instructions":"Boil.","ingredients":["pasta"]}
+                """;
+
+        // When
+        RecipeImportResponse result = importService.importRecipes(
+                new StringReader(input), RecipeImportService.Format.NDJSON);
+
+        // Then
+        assertThat(result.getTotalRows()).isEqualTo(3);
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getRejectedRows()).hasSize(2);
+        assertThat(result.getRejectedRows().get(0).line()).isEqualTo(2);
+        assertThat(result.getRejectedRows().get(0).reason()).startsWith("Malformed JSON");
+        assertThat(result.getRejectedRows().get(1).line()).isEqualTo(3);
+        assertThat(result.getRejectedRows().get(1).reason())
+                .contains("name: Recipe name is required")
+                .contains("servings: Servings must be at least 1");
+    }
+
+    @Test
+    @DisplayName("Should import CSV rows with quoted fields and pipe-separated ingredients")
+    void shouldImportCsvRows() throws Exception {
+        // Given
+        recordBatches();
+        String input = """
+                name,vegetarian,servings,instructions,ingredients
+                "Pasta, Baked",true,4,"Boil pasta, then bake ""al forno"".",pasta|tomato sauce
+                Soup,FALSE,2,Simmer.,chicken| broth
+                """;
+
+        // When
+        RecipeImportResponse result = importService.importRecipes(
+                new StringReader(input), RecipeImportService.Format.CSV);
+
+        // Then
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        Recipe pasta = writtenBatches.get(0).get(0);
+        assertThat(pasta.getName()).isEqualTo("Pasta, Baked");
+        assertThat(pasta.getInstructions()).isEqualTo("Boil pasta, then bake \"al forno\".");
+        assertThat(pasta.getIngredients()).containsExactlyInAnyOrder("pasta", "tomato sauce");
+        Recipe soup = writtenBatches.get(0).get(1);
+        assertThat(soup.getVegetarian()).isFalse();
+        assertThat(soup.getIngredients()).containsExactlyInAnyOrder("chicken", "broth");
+    }
+
+    @Test
+    @DisplayName("Should reject CSV rows with invalid values")
+    void shouldRejectInvalidCsvRows() throws Exception {
+        // Given
+        String input = """
+                name,vegetarian,servings,instructions,ingredients
+                Soup,maybe,2,Simmer.,broth
+                Stew,true,many,Simmer.,beans
+                Short,true,2
+                """;
+
+        // When
+        RecipeImportResponse result = importService.importRecipes(
+                new StringReader(input), RecipeImportService.Format.CSV);
+
+        // Then
+        assertThat(result.getImportedRows()).isZero();
+        assertThat(result.getRejectedRows())
+                .extracting(RecipeImportResponse.RejectedRow::line)
+                .containsExactly(2L, 3L, 4L);
+        verify(recipeRepository, never()).bulkInsert(anyList());
+    }
+
+    @Test
+    @DisplayName("Should fail when the CSV header is missing")
+    void shouldFailWhenCsvHeaderIsMissing() {
+        assertThatThrownBy(() -> importService.importRecipes(
+                new StringReader("Soup,true,2,Simmer.,broth\n"), RecipeImportService.Format.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CSV header must be");
+    }
+
+    @Test
+    @DisplayName("Should report every row of a failed batch as rejected and continue")
+    void shouldReportFailedBatchAndContinue() throws Exception {
+        // Given
+        when(recipeRepository.bulkInsert(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenReturn(1);
+        String input = """
+                {"name":"A","vegetarian":true,"servings":1,"instructions":"x","ingredients":["a"]}
+                {"name":"B","vegetarian":true,"servings":1,"instructions":"x","ingredients":["b"]}
+                {"name":"C","vegetarian":true,"servings":1,"instructions":"x","ingredients":["c"]}
+                """;
+
+        // When
+        RecipeImportResponse result = importService.importRecipes(
+                new StringReader(input), RecipeImportService.Format.NDJSON);
+
+        // Then
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getBatches()).hasSize(2);
+        assertThat(result.getBatches().get(0).committed()).isFalse();
+        assertThat(result.getBatches().get(1).committed()).isTrue();
+        assertThat(result.getRejectedRows())
+                .extracting(RecipeImportResponse.RejectedRow::line)
+                .containsExactly(1L, 2L);
+        assertThat(result.getRejectedRows().get(0).reason()).contains("Batch 1 failed");
+    }
+}
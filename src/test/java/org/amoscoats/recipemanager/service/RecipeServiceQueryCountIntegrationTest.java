@@ -0,0 +1,247 @@
+package org.amoscoats.recipemanager.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.dto.RecipeBatch;
+import org.amoscoats.recipemanager.dto.RecipeField;
+import org.amoscoats.recipemanager.dto.RecipePage;
+import org.amoscoats.recipemanager.dto.RecipePatchRequest;
+import org.amoscoats.recipemanager.dto.RecipeRequest;
+import org.amoscoats.recipemanager.dto.RecipeResponse;
+import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.index.IngredientDictionary;
+import org.amoscoats.recipemanager.repository.RecipeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("RecipeService Query Count Integration Tests")
+class RecipeServiceQueryCountIntegrationTest {
+
+    private static final int RECIPE_COUNT = 60;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientDictionary ingredientDictionary;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository.deleteAll();
+        List<Recipe> recipes = new ArrayList<>();
+        for (int i = 0; i < RECIPE_COUNT; i++) {
+            Recipe recipe = new Recipe();
+            recipe.setName("Recipe " + i);
+            recipe.setVegetarian(i % 2 == 0);
+            recipe.setServings(4);
+            recipe.setInstructions("Cook it.");
+            recipe.setIngredients(new HashSet<>(Set.of("garlic", "garlic powder", "salt " + i)));
+            recipes.add(recipe);
+            ingredientDictionary.register(recipe.getIngredients());
+        }
+        recipeRepository.saveAll(recipes);
+
+        // Start from an empty persistence context so every ingredient has to be loaded
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load a page with a constant number of statements regardless of its size")
+    void shouldLoadPageWithConstantStatements() {
+        RecipePage smallPage = recipeService.findRecipesPage(
+                null, null, null, null, null, IngredientMatch.CONTAINS, null, 5);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+
+        RecipePage largePage = recipeService.findRecipesPage(
+                null, null, null, null, null, IngredientMatch.CONTAINS, null, 50);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertThat(smallPage.recipes()).hasSize(5);
+        assertThat(largePage.recipes()).hasSize(50);
+        assertThat(largePage.recipes()).allSatisfy(recipe ->
+                assertThat(recipe.getIngredients()).hasSize(3));
+        // One query for the page and one batched query for all of its ingredients
+        assertThat(smallPageStatements).isEqualTo(2);
+        assertThat(largePageStatements).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should return each recipe once when several ingredients match")
+    void shouldNotDuplicateRecipesMatchingSeveralIngredients() {
+        List<RecipeResponse> recipes = recipeService.filterRecipes(
+                true, null, Set.of("garlic"), null, null, IngredientMatch.CONTAINS);
+
+        assertThat(recipes).hasSize(RECIPE_COUNT / 2);
+        assertThat(recipes).extracting(RecipeResponse::getId).doesNotHaveDuplicates();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should batch ingredient loading when streaming an export")
+    void shouldBatchIngredientLoadingWhenExporting() {
+        List<RecipeResponse> exported = new ArrayList<>();
+
+        long count = recipeService.exportRecipes(
+                null, null, null, null, null, IngredientMatch.CONTAINS, exported::add);
+
+        assertThat(count).isEqualTo(RECIPE_COUNT);
+        assertThat(exported).allSatisfy(recipe ->
+                assertThat(recipe.getIngredients()).hasSize(3));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should write only what changed when updating a recipe")
+    void shouldWriteOnlyChangesOnUpdate() {
+        Recipe recipe = recipeRepository.findAll().get(0);
+        RecipeRequest request = new RecipeRequest(recipe.getName(), recipe.getVegetarian(),
+                recipe.getServings(), recipe.getInstructions(),
+                new HashSet<>(recipe.getIngredients()));
+        entityManager.clear();
+        statistics.clear();
+
+        recipeService.updateRecipe(recipe.getId(), request, null);
+        entityManager.flush();
+        long unchangedStatements = statistics.getPrepareStatementCount();
+        long unchangedRecipeUpdates = statistics.getEntityUpdateCount();
+        entityManager.clear();
+        statistics.clear();
+
+        request.setIngredients(Set.of("garlic", "garlic powder", "black pepper"));
+        recipeService.updateRecipe(recipe.getId(), request, null);
+        entityManager.flush();
+
+        // Only the select of the recipe with its ingredients
+        assertThat(unchangedStatements).isEqualTo(1);
+        assertThat(unchangedRecipeUpdates).isZero();
+        // Select, one ingredient row deleted, one inserted and the ingredient_terms update
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should write only the patched column and leave ingredients alone")
+    void shouldWriteOnlyPatchedColumn() {
+        Long recipeId = recipeRepository.findAll().get(0).getId();
+        RecipePatchRequest patch = new RecipePatchRequest();
+        patch.setServings(99);
+        entityManager.clear();
+        statistics.clear();
+
+        RecipeResponse response = recipeService.patchRecipe(recipeId, patch, null);
+        entityManager.flush();
+
+        assertThat(response.getServings()).isEqualTo(99);
+        assertThat(response.getIngredients()).hasSize(3);
+        // Select of the recipe with its ingredients and the servings update
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionUpdateCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should delete a recipe with a single statement")
+    void shouldDeleteWithSingleStatement() {
+        Long recipeId = recipeRepository.findAll().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        recipeService.deleteRecipe(recipeId, null);
+
+        // The ingredient rows go with the ON DELETE CASCADE
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(recipeRepository.existsById(recipeId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should batch get recipes with one query plus one ingredient fetch, then from cache")
+    void shouldBatchGetWithConstantStatements() {
+        List<Long> ids = new ArrayList<>(recipeRepository.findAll().stream()
+                .map(Recipe::getId)
+                .limit(50)
+                .toList());
+        Collections.reverse(ids);
+        entityManager.clear();
+        statistics.clear();
+
+        RecipeBatch batch = recipeService.getRecipesByIds(ids);
+        long loadStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+
+        RecipeBatch cached = recipeService.getRecipesByIds(ids);
+
+        assertThat(batch.recipes()).extracting(RecipeResponse::getId).containsExactlyElementsOf(ids);
+        assertThat(batch.recipes()).allSatisfy(recipe ->
+                assertThat(recipe.getIngredients()).hasSize(3));
+        assertThat(loadStatements).isEqualTo(2);
+        assertThat(cached.recipes()).isEqualTo(batch.recipes());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should read only the requested columns and skip ingredients unless requested")
+    void shouldReadOnlyRequestedFields() {
+        RecipePage listView = recipeService.findRecipesProjected(
+                true, null, null, null, null, IngredientMatch.CONTAINS,
+                RecipeField.parse(Set.of("name", "servings")), null, 10);
+        long listViewStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        RecipePage withIngredients = recipeService.findRecipesProjected(
+                true, null, null, null, null, IngredientMatch.CONTAINS,
+                RecipeField.parse(Set.of("ingredients")), null, 10);
+
+        assertThat(listView.recipes()).hasSize(10);
+        assertThat(listView.nextCursor()).isNotNull();
+        assertThat(listView.recipes()).allSatisfy(recipe -> {
+            assertThat(recipe.getName()).startsWith("Recipe ");
+            assertThat(recipe.getServings()).isEqualTo(4);
+            assertThat(recipe.getInstructions()).isNull();
+            assertThat(recipe.getIngredients()).isNull();
+        });
+        // A single query selecting id, name and servings
+        assertThat(listViewStatements).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(withIngredients.recipes()).allSatisfy(recipe -> {
+            assertThat(recipe.getName()).isNull();
+            assertThat(recipe.getIngredients()).hasSize(3).contains("garlic");
+        });
+        // The projection and one query for the ingredients of the whole page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -1,8 +1,20 @@
 package org.amoscoats.recipemanager.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.amoscoats.recipemanager.config.CacheConfig;
+import org.amoscoats.recipemanager.dto.IngredientMatch;
+import org.amoscoats.recipemanager.dto.RecipeBatch;
+import org.amoscoats.recipemanager.dto.RecipePage;
+import org.amoscoats.recipemanager.dto.RecipePatchRequest;
 import org.amoscoats.recipemanager.dto.RecipeRequest;
 import org.amoscoats.recipemanager.dto.RecipeResponse;
 import org.amoscoats.recipemanager.entity.Recipe;
+import org.amoscoats.recipemanager.event.RecipeChangedEvent;
+import org.amoscoats.recipemanager.event.RecipesChangedEvent;
+import org.amoscoats.recipemanager.exception.RecipeNotFoundException;
+import org.amoscoats.recipemanager.exception.RecipeVersionMismatchException;
+import org.amoscoats.recipemanager.index.IngredientDictionary;
+import org.amoscoats.recipemanager.index.IngredientIndex;
 import org.amoscoats.recipemanager.mapper.RecipeMapper;
 import org.amoscoats.recipemanager.repository.RecipeRepository;
 import org.amoscoats.recipemanager.specification.RecipeSpecification;
@@ -12,12 +24,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -35,6 +56,25 @@ class RecipeServiceTest {
     @Mock
     private RecipeMapper recipeMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IngredientIndex ingredientIndex;
+
+    @Mock
+    private IngredientDictionary ingredientDictionary;
+
+    @Spy
+    private RecipeFilterCache filterCache =
+            new RecipeFilterCache(new SimpleMeterRegistry(), true, 1000, Duration.ofMinutes(1));
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.RECIPES_CACHE);
+
+    @Spy
+    private RecipeCacheListener recipeCacheListener = new RecipeCacheListener(cacheManager);
+
     @InjectMocks
     private RecipeService recipeService;
 
@@ -58,7 +98,7 @@ class RecipeServiceTest {
         recipe.setVegetarian(true);
         recipe.setServings(4);
         recipe.setInstructions("Test instructions");
-        recipe.setIngredients(Set.of("ingredient1", "ingredient2"));
+        recipe.setIngredients(new HashSet<>(Set.of("ingredient1", "ingredient2")));
 
         recipeResponse = new RecipeResponse(
                 1L,
@@ -66,7 +106,8 @@ class RecipeServiceTest {
                 true,
                 4,
                 "Test instructions",
-                Set.of("ingredient1", "ingredient2")
+                Set.of("ingredient1", "ingredient2"),
+                0L
         );
     }
 
@@ -91,6 +132,7 @@ class RecipeServiceTest {
         verify(recipeMapper).toEntity(recipeRequest);
         verify(recipeRepository).save(recipe);
         verify(recipeMapper).toResponse(recipe);
+        verify(eventPublisher).publishEvent(RecipeChangedEvent.saved(recipeResponse));
     }
 
     @Test
@@ -98,35 +140,106 @@ class RecipeServiceTest {
     void shouldUpdateRecipe() {
         // Given
         Long recipeId = 1L;
-        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(recipe));
-        when(recipeRepository.save(recipe)).thenReturn(recipe);
+        when(recipeRepository.findWithIngredientsById(recipeId)).thenReturn(Optional.of(recipe));
         when(recipeMapper.toResponse(recipe)).thenReturn(recipeResponse);
 
         // When
-        RecipeResponse result = recipeService.updateRecipe(recipeId, recipeRequest);
+        RecipeResponse result = recipeService.updateRecipe(recipeId, recipeRequest, null);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
 
-        verify(recipeRepository).findById(recipeId);
-        verify(recipeRepository).save(recipe);
+        verify(recipeRepository).findWithIngredientsById(recipeId);
+        verify(recipeRepository, never()).save(any());
         verify(recipeMapper).toResponse(recipe);
     }
 
+    @Test
+    @DisplayName("Should change ingredients in place instead of replacing the collection")
+    void shouldDiffIngredientsOnUpdate() {
+        // Given
+        Set<String> ingredients = recipe.getIngredients();
+        recipeRequest.setIngredients(Set.of("ingredient2", "Ingredient3"));
+        when(recipeRepository.findWithIngredientsById(1L)).thenReturn(Optional.of(recipe));
+        when(recipeMapper.toResponse(recipe)).thenReturn(recipeResponse);
+
+        // When
+        recipeService.updateRecipe(1L, recipeRequest, null);
+
+        // Then
+        assertThat(recipe.getIngredients())
+                .isSameAs(ingredients)
+                .containsExactlyInAnyOrder("ingredient2", "Ingredient3");
+        assertThat(recipe.getIngredientTerms()).containsExactly("ingredient2", "ingredient3");
+    }
+
+    @Test
+    @DisplayName("Should reject an update naming a stale version")
+    void shouldRejectUpdateWithStaleVersion() {
+        // Given
+        recipe.setVersion(3L);
+        when(recipeRepository.findWithIngredientsById(1L)).thenReturn(Optional.of(recipe));
+
+        // When & Then
+        assertThatThrownBy(() -> recipeService.updateRecipe(1L, recipeRequest, 2L))
+                .isInstanceOf(RecipeVersionMismatchException.class)
+                .hasMessageContaining("Recipe 1 is not at version 2");
+
+        assertThat(recipe.getName()).isEqualTo("Test Recipe");
+        verify(recipeRepository, never()).flush();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should patch recipe fields without touching omitted ingredients")
+    void shouldPatchRecipeWithoutIngredients() {
+        // Given
+        Set<String> ingredients = new HashSet<>(recipe.getIngredients());
+        RecipePatchRequest patch = new RecipePatchRequest();
+        patch.setServings(8);
+        when(recipeRepository.findWithIngredientsById(1L)).thenReturn(Optional.of(recipe));
+        when(recipeMapper.toResponse(recipe)).thenReturn(recipeResponse);
+
+        // When
+        RecipeResponse result = recipeService.patchRecipe(1L, patch, null);
+
+        // Then
+        assertThat(result).isEqualTo(recipeResponse);
+        assertThat(recipe.getIngredients()).isEqualTo(ingredients);
+
+        verify(recipeMapper).updateEntity(patch, recipe);
+        verify(recipeRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(RecipeChangedEvent.saved(recipeResponse));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when patching non-existent recipe")
+    void shouldThrowExceptionWhenPatchingNonExistentRecipe() {
+        // Given
+        when(recipeRepository.findWithIngredientsById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> recipeService.patchRecipe(999L, new RecipePatchRequest(), null))
+                .isInstanceOf(RecipeNotFoundException.class)
+                .hasMessageContaining("Recipe not found with id: 999");
+
+        verify(recipeMapper, never()).updateEntity(any(), any());
+    }
+
     @Test
     @DisplayName("Should throw exception when updating non-existent recipe")
     void shouldThrowExceptionWhenUpdatingNonExistentRecipe() {
         // Given
         Long recipeId = 999L;
-        when(recipeRepository.findById(recipeId)).thenReturn(Optional.empty());
+        when(recipeRepository.findWithIngredientsById(recipeId)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> recipeService.updateRecipe(recipeId, recipeRequest))
-                .isInstanceOf(RuntimeException.class)
+        assertThatThrownBy(() -> recipeService.updateRecipe(recipeId, recipeRequest, null))
+                .isInstanceOf(RecipeNotFoundException.class)
                 .hasMessageContaining("Recipe not found with id: 999");
 
-        verify(recipeRepository).findById(recipeId);
+        verify(recipeRepository).findWithIngredientsById(recipeId);
         verify(recipeRepository, never()).save(any());
     }
 
@@ -135,15 +248,15 @@ class RecipeServiceTest {
     void shouldDeleteRecipe() {
         // Given
         Long recipeId = 1L;
-        when(recipeRepository.existsById(recipeId)).thenReturn(true);
-        doNothing().when(recipeRepository).deleteById(recipeId);
+        when(recipeRepository.deleteRecipeById(recipeId)).thenReturn(1);
 
         // When
-        recipeService.deleteRecipe(recipeId);
+        recipeService.deleteRecipe(recipeId, null);
 
         // Then
-        verify(recipeRepository).existsById(recipeId);
-        verify(recipeRepository).deleteById(recipeId);
+        verify(recipeRepository).deleteRecipeById(recipeId);
+        verify(recipeRepository, never()).existsById(any());
+        verify(eventPublisher).publishEvent(RecipeChangedEvent.deleted(recipeId));
     }
 
     @Test
@@ -151,15 +264,65 @@ class RecipeServiceTest {
     void shouldThrowExceptionWhenDeletingNonExistentRecipe() {
         // Given
         Long recipeId = 999L;
-        when(recipeRepository.existsById(recipeId)).thenReturn(false);
+        when(recipeRepository.deleteRecipeById(recipeId)).thenReturn(0);
 
         // When & Then
-        assertThatThrownBy(() -> recipeService.deleteRecipe(recipeId))
-                .isInstanceOf(RuntimeException.class)
+        assertThatThrownBy(() -> recipeService.deleteRecipe(recipeId, null))
+                .isInstanceOf(RecipeNotFoundException.class)
                 .hasMessageContaining("Recipe not found with id: 999");
 
-        verify(recipeRepository).existsById(recipeId);
-        verify(recipeRepository, never()).deleteById(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should delete only at the expected version and tell a stale version from a missing recipe")
+    void shouldDeleteRecipeConditionally() {
+        // Given
+        when(recipeRepository.deleteRecipeByIdAndVersion(1L, 3L)).thenReturn(1);
+        when(recipeRepository.deleteRecipeByIdAndVersion(1L, 2L)).thenReturn(0);
+        when(recipeRepository.existsById(1L)).thenReturn(true);
+
+        // When
+        recipeService.deleteRecipe(1L, 3L);
+
+        // Then
+        assertThatThrownBy(() -> recipeService.deleteRecipe(1L, 2L))
+                .isInstanceOf(RecipeVersionMismatchException.class);
+        verify(recipeRepository, never()).deleteRecipeById(any());
+        verify(eventPublisher).publishEvent(RecipeChangedEvent.deleted(1L));
+    }
+
+    @Test
+    @DisplayName("Should delete several recipes in one statement")
+    void shouldDeleteRecipes() {
+        // Given
+        Set<Long> ids = Set.of(1L, 2L, 3L);
+        when(recipeRepository.deleteRecipesByIdIn(ids)).thenReturn(2);
+
+        // When
+        int deleted = recipeService.deleteRecipes(ids);
+
+        // Then
+        assertThat(deleted).isEqualTo(2);
+        verify(recipeRepository).deleteRecipesByIdIn(ids);
+        verify(eventPublisher).publishEvent(any(RecipesChangedEvent.class));
+        verify(eventPublisher, never()).publishEvent(any(RecipeChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject bulk deletes naming too many recipes")
+    void shouldRejectOversizedBulkDelete() {
+        // Given
+        Set<Long> ids = new HashSet<>();
+        for (long id = 1; id <= RecipeService.MAX_BULK_DELETE_SIZE + 1; id++) {
+            ids.add(id);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> recipeService.deleteRecipes(ids))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(recipeRepository, never()).deleteRecipesByIdIn(any());
     }
 
     @Test
@@ -182,6 +345,76 @@ class RecipeServiceTest {
         verify(recipeMapper).toResponse(recipe);
     }
 
+    @Test
+    @DisplayName("Should read the recipe version from the cache or the version column only")
+    void shouldGetRecipeVersion() {
+        // Given
+        cacheManager.getCache(CacheConfig.RECIPES_CACHE).put(2L,
+                new RecipeResponse(2L, "Cached", false, 2, "Instructions", Set.of(), 4L));
+        when(recipeRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(recipeRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThat(recipeService.getRecipeVersion(2L)).isEqualTo(4L);
+        assertThat(recipeService.getRecipeVersion(1L)).isEqualTo(3L);
+        assertThatThrownBy(() -> recipeService.getRecipeVersion(999L))
+                .isInstanceOf(RecipeNotFoundException.class);
+        verify(recipeRepository, never()).findVersionById(2L);
+        verify(recipeRepository, never()).findById(any());
+        verify(recipeMapper, never()).toResponse(any());
+    }
+
+    @Test
+    @DisplayName("Should batch get recipes in request order using the cache and reporting missing ids")
+    void shouldGetRecipesByIds() {
+        // Given
+        RecipeResponse cached = new RecipeResponse(2L, "Cached", false, 2, "Instructions", Set.of(), 0L);
+        cacheManager.getCache(CacheConfig.RECIPES_CACHE).put(2L, cached);
+        when(recipeRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(recipe));
+        when(recipeMapper.toResponse(recipe)).thenReturn(recipeResponse);
+
+        // When
+        RecipeBatch result = recipeService.getRecipesByIds(List.of(2L, 3L, 1L, 2L));
+
+        // Then
+        assertThat(result.recipes()).containsExactly(cached, recipeResponse);
+        assertThat(result.missingIds()).containsExactly(3L);
+        assertThat(cacheManager.getCache(CacheConfig.RECIPES_CACHE).get(1L, RecipeResponse.class))
+                .isEqualTo(recipeResponse);
+        verify(recipeRepository).findAllById(List.of(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should not query the database when every requested recipe is cached")
+    void shouldServeBatchGetFromCache() {
+        // Given
+        cacheManager.getCache(CacheConfig.RECIPES_CACHE).put(1L, recipeResponse);
+
+        // When
+        RecipeBatch result = recipeService.getRecipesByIds(List.of(1L));
+
+        // Then
+        assertThat(result.recipes()).containsExactly(recipeResponse);
+        assertThat(result.missingIds()).isEmpty();
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject batch gets naming too many recipes")
+    void shouldRejectOversizedBatchGet() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= RecipeService.MAX_BATCH_GET_SIZE + 1; id++) {
+            ids.add(id);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> recipeService.getRecipesByIds(ids))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(recipeRepository);
+    }
+
     @Test
     @DisplayName("Should throw exception when getting non-existent recipe by ID")
     void shouldThrowExceptionWhenGettingNonExistentRecipeById() {
@@ -191,7 +424,7 @@ class RecipeServiceTest {
 
         // When & Then
         assertThatThrownBy(() -> recipeService.getRecipeById(recipeId))
-                .isInstanceOf(RuntimeException.class)
+                .isInstanceOf(RecipeNotFoundException.class)
                 .hasMessageContaining("Recipe not found with id: 999");
 
         verify(recipeRepository).findById(recipeId);
@@ -207,7 +440,7 @@ class RecipeServiceTest {
         recipe2.setName("Recipe 2");
 
         RecipeResponse response2 = new RecipeResponse(
-                2L, "Recipe 2", false, 2, "Instructions", Set.of("ingredient3")
+                2L, "Recipe 2", false, 2, "Instructions", Set.of("ingredient3"), 0L
         );
 
         List<Recipe> recipes = List.of(recipe, recipe2);
@@ -259,7 +492,8 @@ class RecipeServiceTest {
 
         // When
         List<RecipeResponse> result = recipeService.filterRecipes(
-                vegetarian, servings, includeIngredients, excludeIngredients, searchText
+                vegetarian, servings, includeIngredients, excludeIngredients, searchText,
+                IngredientMatch.CONTAINS
         );
 
         // Then
@@ -270,6 +504,27 @@ class RecipeServiceTest {
         verify(recipeMapper).toResponse(recipe);
     }
 
+    @Test
+    @DisplayName("Should serve equivalent filters from the cache until a recipe changes")
+    void shouldCacheFilterResultsUntilRecipeChanges() {
+        // Given
+        when(recipeRepository.findAll(any(Specification.class))).thenReturn(List.of(recipe));
+        when(recipeMapper.toResponse(recipe)).thenReturn(recipeResponse);
+
+        // When
+        recipeService.filterRecipes(
+                true, null, Set.of("Potatoes", "onions"), Set.of(), "", IngredientMatch.CONTAINS);
+        List<RecipeResponse> cached = recipeService.filterRecipes(
+                true, null, Set.of("ONIONS", "potatoes"), null, null, IngredientMatch.CONTAINS);
+        filterCache.onRecipeChanged(RecipeChangedEvent.deleted(99L));
+        recipeService.filterRecipes(
+                true, null, Set.of("potatoes", "onions"), null, null, IngredientMatch.CONTAINS);
+
+        // Then
+        assertThat(cached).containsExactly(recipeResponse);
+        verify(recipeRepository, times(2)).findAll(any(Specification.class));
+    }
+
     @Test
     @DisplayName("Should filter recipes with null parameters")
     void shouldFilterRecipesWithNullParameters() {
@@ -280,7 +535,7 @@ class RecipeServiceTest {
 
         // When
         List<RecipeResponse> result = recipeService.filterRecipes(
-                null, null, null, null, null
+                null, null, null, null, null, IngredientMatch.CONTAINS
         );
 
         // Then
@@ -298,7 +553,7 @@ class RecipeServiceTest {
 
         // When
         List<RecipeResponse> result = recipeService.filterRecipes(
-                true, 10, Set.of("ingredient"), Set.of(), "text"
+                true, 10, Set.of("ingredient"), Set.of(), "text", IngredientMatch.CONTAINS
         );
 
         // Then
@@ -307,4 +562,146 @@ class RecipeServiceTest {
         verify(recipeRepository).findAll(any(Specification.class));
         verify(recipeMapper, never()).toResponse(any());
     }
+
+    @Test
+    @DisplayName("Should return a page with next cursor when more recipes exist")
+    void shouldReturnPageWithNextCursor() {
+        // Given
+        Recipe recipe2 = new Recipe();
+        recipe2.setId(2L);
+        recipe2.setName("Recipe 2");
+        when(recipeRepository.findBy(any(Specification.class), any()))
+                .thenReturn(List.of(recipe, recipe2));
+        when(recipeMapper.toResponse(recipe)).thenReturn(recipeResponse);
+
+        // When
+        RecipePage page = recipeService.findRecipesPage(
+                true, null, null, null, null, IngredientMatch.CONTAINS, null, 1
+        );
+
+        // Then
+        assertThat(page.recipes()).containsExactly(recipeResponse);
+        assertThat(page.nextCursor()).isNotNull();
+        assertThat(RecipeCursor.decode(page.nextCursor())).isEqualTo(1L);
+
+        verify(recipeMapper, never()).toResponse(recipe2);
+    }
+
+    @Test
+    @DisplayName("Should return last page without next cursor")
+    void shouldReturnLastPageWithoutNextCursor() {
+        // Given
+        when(recipeRepository.findBy(any(Specification.class), any()))
+                .thenReturn(List.of(recipe));
+        when(recipeMapper.toResponse(recipe)).thenReturn(recipeResponse);
+
+        // When
+        RecipePage page = recipeService.findRecipesPage(
+                null, null, null, null, null, IngredientMatch.CONTAINS, RecipeCursor.encode(0L), 10
+        );
+
+        // Then
+        assertThat(page.recipes()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should page through ingredient index matches without a database filter query")
+    void shouldReturnPageFromIngredientIndex() {
+        // Given
+        Recipe recipe3 = new Recipe();
+        recipe3.setId(3L);
+        Recipe recipe7 = new Recipe();
+        recipe7.setId(7L);
+        when(ingredientIndex.match(true, null, Set.of("tomato"), null, IngredientMatch.CONTAINS))
+                .thenReturn(Optional.of(RoaringBitmap.bitmapOf(1, 3, 7, 9)));
+        when(recipeRepository.findAllById(List.of(3L, 7L))).thenReturn(List.of(recipe7, recipe3));
+        RecipeResponse response3 = new RecipeResponse();
+        response3.setId(3L);
+        when(recipeMapper.toResponse(recipe3)).thenReturn(response3);
+
+        // When
+        RecipePage page = recipeService.findRecipesPage(
+                true, null, Set.of("tomato"), null, null, IngredientMatch.CONTAINS,
+                RecipeCursor.encode(1L), 1
+        );
+
+        // Then
+        assertThat(page.recipes()).containsExactly(response3);
+        assertThat(RecipeCursor.decode(page.nextCursor())).isEqualTo(3L);
+        verify(recipeRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    @DisplayName("Should return full-text matches in rank order with an offset cursor")
+    void shouldReturnFullTextMatchesInRankOrder() {
+        // Given
+        Recipe recipe5 = new Recipe();
+        recipe5.setId(5L);
+        RecipeResponse response5 = new RecipeResponse();
+        response5.setId(5L);
+        when(recipeRepository.supportsFullTextSearch()).thenReturn(true);
+        when(recipeRepository.fullTextSearchIds(
+                "soup", null, null, null, null, IngredientMatch.CONTAINS, 20L, 2))
+                .thenReturn(List.of(5L, 1L));
+        when(recipeRepository.findAllById(List.of(5L))).thenReturn(List.of(recipe5));
+        when(recipeMapper.toResponse(recipe5)).thenReturn(response5);
+
+        // When
+        RecipePage page = recipeService.searchRecipesPage(
+                null, null, null, null, "soup", IngredientMatch.CONTAINS,
+                RecipeCursor.encodeOffset(20L), 1
+        );
+
+        // Then
+        assertThat(page.recipes()).containsExactly(response5);
+        assertThat(RecipeCursor.decodeOffset(page.nextCursor())).isEqualTo(21L);
+    }
+
+    @Test
+    @DisplayName("Should require search text for full-text search")
+    void shouldRequireSearchTextForFullTextSearch() {
+        assertThatThrownBy(() -> recipeService.searchRecipesPage(
+                null, null, null, null, " ", IngredientMatch.CONTAINS, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("requires searchText");
+
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive page limit")
+    void shouldRejectNonPositivePageLimit() {
+        assertThatThrownBy(() -> recipeService.findRecipesPage(
+                null, null, null, null, null, IngredientMatch.CONTAINS, null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Limit must be at least 1");
+
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    @DisplayName("Should export recipes through the streaming repository cursor")
+    @SuppressWarnings("unchecked")
+    void shouldExportRecipes() {
+        // Given
+        when(recipeRepository.forEachRecipe(
+                any(Specification.class), eq(RecipeService.EXPORT_FETCH_SIZE), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<Recipe> action = invocation.getArgument(2);
+                    action.accept(recipe);
+                    return 1L;
+                });
+        when(recipeMapper.toResponse(recipe)).thenReturn(recipeResponse);
+        List<RecipeResponse> exported = new ArrayList<>();
+
+        // When
+        long count = recipeService.exportRecipes(
+                true, null, null, null, null, IngredientMatch.CONTAINS, exported::add);
+
+        // Then
+        assertThat(count).isEqualTo(1L);
+        assertThat(exported).containsExactly(recipeResponse);
+        verify(recipeRepository, never()).findAll(any(Specification.class));
+    }
 }
@@ -0,0 +1,23 @@
+package org.amoscoats.recipemanager.specification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecipeSpecification Unit Tests")
+class RecipeSpecificationTest {
+
+    @Test
+    @DisplayName("Should build a lower-cased contains pattern")
+    void shouldBuildContainsPattern() {
+        assertThat(RecipeSpecification.containsPattern("Oven")).isEqualTo("%oven%");
+    }
+
+    @Test
+    @DisplayName("Should escape LIKE wildcards in search terms")
+    void shouldEscapeLikeWildcards() {
+        assertThat(RecipeSpecification.containsPattern("100%_a\\b"))
+                .isEqualTo("%100\\%\\_a\\\\b%");
+    }
+}